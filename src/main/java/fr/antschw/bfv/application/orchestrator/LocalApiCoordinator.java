@@ -0,0 +1,209 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import com.google.inject.Inject;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.ScanSnapshot;
+import fr.antschw.bfv.domain.model.ScanSnapshot.ScanPlayer;
+import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.model.ServerPlayer;
+import fr.antschw.bfv.domain.model.UserStats;
+import fr.antschw.bfv.domain.service.LocalApiService;
+import fr.antschw.bfv.domain.service.PlayerMonitoringService;
+import fr.antschw.bfv.domain.service.SettingsService;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the local API with the results the application already fetches, so other tools
+ * share them instead of querying the upstream APIs themselves.
+ * <p>
+ * Every interactive scan is mirrored into a {@link ScanSnapshot} (the Server tab's content),
+ * and every monitoring sample into the list of watched players' snapshots. The API itself
+ * is started or stopped according to the settings.
+ */
+public class LocalApiCoordinator {
+
+    private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(LocalApiCoordinator.class);
+
+    private final LocalApiService localApi;
+    private final PlayerMonitoringService monitoringService;
+    private final SettingsService settingsService;
+    private final Map<String, MonitoringSnapshot> monitoring = new ConcurrentHashMap<>();
+
+    /**
+     * Registers as an observer of scans and monitoring samples.
+     */
+    @Inject
+    public LocalApiCoordinator(
+            LocalApiService localApi,
+            ServerScanCoordinator scanCoordinator,
+            PlayerMonitoringService monitoringService,
+            PlayerStatsFilter playerStatsFilter,
+            SettingsService settingsService
+    ) {
+        this.localApi = localApi;
+        this.monitoringService = monitoringService;
+        this.settingsService = settingsService;
+
+        scanCoordinator.addScanObserver(new ScanMirror(playerStatsFilter));
+        monitoringService.addMonitoringListener(this::onMonitoringSnapshot);
+    }
+
+    /**
+     * Starts or stops the local API according to the settings, restarting it to apply
+     * the port and the allowed origins.
+     *
+     * @return true if the API is in the state the settings ask for
+     */
+    public synchronized boolean applySettings() {
+        if (!settingsService.isLocalApiEnabled()) {
+            localApi.stop();
+            return true;
+        }
+        try {
+            seedMonitoring();
+            localApi.start(settingsService.getLocalApiPort(), settingsService.getLocalApiAllowedOrigins());
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to start the local API on port {}: {}", settingsService.getLocalApiPort(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops the local API.
+     */
+    public synchronized void shutdown() {
+        localApi.stop();
+    }
+
+    /**
+     * Publishes the watched players' current state, so a freshly started API does not
+     * wait for the next sample.
+     */
+    private void seedMonitoring() {
+        for (String player : monitoringService.getWatchedPlayers()) {
+            monitoringService.getSnapshot(player).ifPresent(snapshot -> monitoring.put(player, snapshot));
+        }
+        publishMonitoring();
+    }
+
+    private void onMonitoringSnapshot(MonitoringSnapshot snapshot) {
+        monitoring.put(snapshot.playerIdentifier(), snapshot);
+        publishMonitoring();
+    }
+
+    /**
+     * Publishes the snapshots of the players still watched, in watch order.
+     */
+    private void publishMonitoring() {
+        List<String> watched = monitoringService.getWatchedPlayers();
+        monitoring.keySet().retainAll(watched);
+
+        List<MonitoringSnapshot> snapshots = new ArrayList<>(watched.size());
+        for (String player : watched) {
+            MonitoringSnapshot snapshot = monitoring.get(player);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        localApi.publishMonitoring(snapshots);
+    }
+
+    /**
+     * Rebuilds the latest scan's snapshot on every event and publishes it.
+     * Events come from several scan threads, hence the synchronization.
+     */
+    private final class ScanMirror implements ScanListener {
+        private final PlayerStatsFilter playerStatsFilter;
+        private final Map<Long, ScanPlayer> players = new LinkedHashMap<>();
+        private ScanSnapshot.Status status = ScanSnapshot.Status.RUNNING;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String shortId;
+        private ServerInfo server;
+        private HackersSummary hackers;
+        private boolean complete;
+        private String error;
+
+        private ScanMirror(PlayerStatsFilter playerStatsFilter) {
+            this.playerStatsFilter = playerStatsFilter;
+        }
+
+        @Override
+        public synchronized void onStarted() {
+            players.clear();
+            status = ScanSnapshot.Status.RUNNING;
+            startedAt = Instant.now();
+            finishedAt = null;
+            shortId = null;
+            server = null;
+            hackers = null;
+            complete = false;
+            error = null;
+            publish();
+        }
+
+        @Override
+        public synchronized void onServerId(String shortId) {
+            this.shortId = shortId;
+            publish();
+        }
+
+        @Override
+        public synchronized void onServerInfo(ServerInfo info) {
+            this.server = info;
+            publish();
+        }
+
+        @Override
+        public synchronized void onHackersSummary(HackersSummary summary) {
+            this.hackers = summary;
+            publish();
+        }
+
+        @Override
+        public synchronized void onPlayer(ServerPlayer player) {
+            players.put(player.playerId(), new ScanPlayer(player.name(), player.playerId(), player.rank(),
+                    player.platoon(), player.team(), false, null, List.of()));
+            publish();
+        }
+
+        @Override
+        public synchronized void onPlayerStats(ServerPlayer player, UserStats stats) {
+            List<String> metrics = stats != null ? playerStatsFilter.getInterestingMetrics(stats) : List.of();
+            players.put(player.playerId(), new ScanPlayer(player.name(), player.playerId(), player.rank(),
+                    player.platoon(), player.team(), true, stats, metrics));
+            publish();
+        }
+
+        @Override
+        public synchronized void onFinished(boolean complete) {
+            this.status = ScanSnapshot.Status.FINISHED;
+            this.complete = complete;
+            this.finishedAt = Instant.now();
+            publish();
+        }
+
+        @Override
+        public synchronized void onFailed(Exception error) {
+            this.status = ScanSnapshot.Status.FAILED;
+            this.error = error.getMessage();
+            this.finishedAt = Instant.now();
+            publish();
+        }
+
+        private void publish() {
+            localApi.publishScan(new ScanSnapshot(status, startedAt, finishedAt, shortId, server, hackers,
+                    new ArrayList<>(players.values()), complete, error));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import com.google.inject.Inject;
+
+import fr.antschw.bfv.domain.model.ServerPlayer;
+import fr.antschw.bfv.domain.model.UserStats;
+import fr.antschw.bfv.domain.service.UserStatsCacheService;
+
+import java.util.Optional;
+
+/**
+ * Scores players so that the likely-suspicious ones have their stats fetched first.
+ * <p>
+ * Only cheap signals are used: the rank already present in the players list, and the
+ * stats of a previous scan still in the cache. Players whose cached stats were already
+ * flagged come first, then players at the flagged rank, then other cached players (their
+ * answer is local and free), then everyone else, highest rank first.
+ */
+public class PlayerFetchPrioritizer {
+
+    private static final int KNOWN_SUSPICIOUS = 3_000;
+    private static final int FLAGGED_RANK = 2_000;
+    private static final int CACHED = 1_000;
+
+    private final PlayerStatsFilter playerStatsFilter;
+    private final UserStatsCacheService cache;
+
+    /**
+     * Constructor.
+     */
+    @Inject
+    public PlayerFetchPrioritizer(PlayerStatsFilter playerStatsFilter, UserStatsCacheService cache) {
+        this.playerStatsFilter = playerStatsFilter;
+        this.cache = cache;
+    }
+
+    /**
+     * Computes the fetch priority of a player; higher is fetched first.
+     *
+     * @param player player from the server list
+     * @return the priority, rank acting as tie-breaker within a tier
+     */
+    public int priorityOf(ServerPlayer player) {
+        Optional<UserStats> cached = cache.getCachedStats(player.name());
+        int tier;
+        if (cached.isPresent() && !playerStatsFilter.getInterestingMetrics(cached.get()).isEmpty()) {
+            tier = KNOWN_SUSPICIOUS;
+        } else if (playerStatsFilter.isFlaggedRank(player.rank())) {
+            tier = FLAGGED_RANK;
+        } else if (cached.isPresent()) {
+            tier = CACHED;
+        } else {
+            tier = 0;
+        }
+        return tier + Math.clamp(player.rank(), 0, CACHED - 1);
+    }
+}
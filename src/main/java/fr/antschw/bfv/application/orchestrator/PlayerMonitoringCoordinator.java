@@ -1,7 +1,10 @@
 package fr.antschw.bfv.application.orchestrator;
 
 import com.google.inject.Inject;
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.RollupResolution;
 import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.StatsRollup;
 import fr.antschw.bfv.domain.model.UserStats;
 import fr.antschw.bfv.domain.service.PlayerMonitoringService;
 import fr.antschw.bfv.domain.service.SettingsService;
@@ -13,17 +16,17 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
- * Coordinates monitoring a player's statistics over time.
- * Maintenant avec support pour la persistance des paramètres et calcul amélioré des métriques de session.
+ * Coordinates monitoring players' statistics over time.
+ * Maintenant avec support pour la persistance des paramètres ; les métriques de session sont
+ * lues dans les agrégats tenus à jour par la surveillance.
+ * Le joueur principal peut être accompagné des membres de son escouade, surveillés en parallèle.
  */
 public class PlayerMonitoringCoordinator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PlayerMonitoringCoordinator.class);
-    private static final int FETCH_INTERVAL_MINUTES = 12; // Intervalle fixe de 12 minutes
 
     private final PlayerMonitoringService monitoringService;
     private final SettingsService settingsService;
@@ -51,6 +54,24 @@ public class PlayerMonitoringCoordinator {
 
             // Démarrer le monitoring sans callback (sera géré par StatsView plus tard)
             startMonitoring(playerName, isPlayerId, null);
+        } else {
+            syncWatchedPlayers();
+        }
+    }
+
+    /**
+     * Aligne l'ensemble surveillé sur l'escouade enregistrée dans les paramètres.
+     */
+    private void syncWatchedPlayers() {
+        List<String> squad = settingsService.getWatchedPlayers();
+        String primary = getMonitoredPlayer();
+        for (String player : monitoringService.getWatchedPlayers()) {
+            if (!player.equals(primary) && !squad.contains(player)) {
+                monitoringService.unwatchPlayer(player);
+            }
+        }
+        for (String player : squad) {
+            monitoringService.watchPlayer(player, false);
         }
     }
 
@@ -87,13 +108,57 @@ public class PlayerMonitoringCoordinator {
                             });
                         }
                     });
+            syncWatchedPlayers();
         } catch (Exception e) {
             LOGGER.error("Error starting player monitoring", e);
         }
     }
 
     /**
-     * Stops the current monitoring.
+     * Registers a listener notified once per new monitoring sample of any watched player.
+     *
+     * @param onSnapshot callback receiving each snapshot (runs on JavaFX thread)
+     */
+    public void addSnapshotListener(Consumer<MonitoringSnapshot> onSnapshot) {
+        monitoringService.addMonitoringListener(snapshot -> Platform.runLater(() -> {
+            try {
+                onSnapshot.accept(snapshot);
+            } catch (Exception e) {
+                LOGGER.error("Error in snapshot listener", e);
+            }
+        }));
+    }
+
+    /**
+     * Met à jour les membres de l'escouade surveillés en plus du joueur principal.
+     *
+     * @param players les noms des joueurs à surveiller
+     */
+    public void updateWatchedPlayers(List<String> players) {
+        try {
+            settingsService.setWatchedPlayers(players);
+            syncWatchedPlayers();
+        } catch (Exception e) {
+            LOGGER.error("Error updating watched players", e);
+        }
+    }
+
+    /**
+     * Returns all watched players, the primary player first.
+     *
+     * @return list of player identifiers
+     */
+    public List<String> getWatchedPlayers() {
+        try {
+            return monitoringService.getWatchedPlayers();
+        } catch (Exception e) {
+            LOGGER.error("Error getting watched players", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Stops monitoring all players.
      */
     public void stopMonitoring() {
         try {
@@ -104,29 +169,31 @@ public class PlayerMonitoringCoordinator {
     }
 
     /**
-     * Retrieves the current stats of the monitored player.
+     * Récupère une vue cohérente de la session du joueur principal (stats courantes et initiales,
+     * début de session, agrégats), lue dans un seul état de la surveillance.
      *
-     * @return the current stats or null if not monitoring
+     * @return l'instantané du joueur principal ou null si pas de surveillance
      */
-    public UserStats getCurrentStats() {
+    public MonitoringSnapshot getSnapshot() {
         try {
-            return monitoringService.getCurrentStats().orElse(null);
+            return monitoringService.getPrimarySnapshot().orElse(null);
         } catch (Exception e) {
-            LOGGER.error("Error getting current stats", e);
+            LOGGER.error("Error getting monitoring snapshot", e);
             return null;
         }
     }
 
     /**
-     * Récupère les statistiques initiales (début de la session) du joueur surveillé.
+     * Récupère une vue cohérente de la session d'un joueur surveillé.
      *
-     * @return les statistiques initiales ou null si pas de surveillance
+     * @param player l'identifiant du joueur
+     * @return l'instantané du joueur ou null s'il n'est pas surveillé
      */
-    public UserStats getInitialStats() {
+    public MonitoringSnapshot getSnapshot(String player) {
         try {
-            return monitoringService.getInitialStats().orElse(null);
+            return monitoringService.getSnapshot(player).orElse(null);
         } catch (Exception e) {
-            LOGGER.error("Error getting initial stats", e);
+            LOGGER.error("Error getting monitoring snapshot", e);
             return null;
         }
     }
@@ -151,8 +218,18 @@ public class PlayerMonitoringCoordinator {
      * @return list of session stats
      */
     public List<SessionStats> getSessionHistory() {
+        return getSessionHistory(getMonitoredPlayer());
+    }
+
+    /**
+     * Retrieves all session snapshots of a watched player.
+     *
+     * @param player the player identifier
+     * @return list of session stats
+     */
+    public List<SessionStats> getSessionHistory(String player) {
         try {
-            return monitoringService.getSessionHistory();
+            return monitoringService.getSessionHistory(player);
         } catch (Exception e) {
             LOGGER.error("Error retrieving session history", e);
             return Collections.emptyList();
@@ -160,27 +237,34 @@ public class PlayerMonitoringCoordinator {
     }
 
     /**
-     * Clears the current session data.
+     * Retrieves a player's long-term trend over the given period, up to now.
+     *
+     * @param player     the player identifier
+     * @param resolution the bucket size
+     * @param period     how far back to look
+     * @return the rollups of the period, oldest first
      */
-    public void clearSession() {
+    public List<StatsRollup> getStatsTrend(String player, RollupResolution resolution, Duration period) {
+        if (player == null || player.isEmpty()) {
+            return Collections.emptyList();
+        }
         try {
-            monitoringService.clearSessionHistory();
+            Instant now = Instant.now();
+            return monitoringService.getStatsTrend(player, resolution, now.minus(period), now);
         } catch (Exception e) {
-            LOGGER.error("Error clearing session", e);
+            LOGGER.error("Error retrieving stats trend", e);
+            return Collections.emptyList();
         }
     }
 
     /**
-     * Gets the timestamp when monitoring started.
-     *
-     * @return the start time or null if not monitoring
+     * Clears the current session data.
      */
-    public Instant getSessionStartTime() {
+    public void clearSession() {
         try {
-            return monitoringService.getSessionStartTime();
+            monitoringService.clearSessionHistory();
         } catch (Exception e) {
-            LOGGER.error("Error getting session start time", e);
-            return null;
+            LOGGER.error("Error clearing session", e);
         }
     }
 
@@ -191,10 +275,11 @@ public class PlayerMonitoringCoordinator {
      */
     public String getSessionDuration() {
         try {
-            Instant startTime = getSessionStartTime();
-            if (startTime == null) {
+            MonitoringSnapshot snapshot = getSnapshot();
+            if (snapshot == null || snapshot.sessionStartTime() == null) {
                 return "";
             }
+            Instant startTime = snapshot.sessionStartTime();
 
             Duration duration = Duration.between(startTime, Instant.now());
             long hours = duration.toHours();
@@ -209,58 +294,4 @@ public class PlayerMonitoringCoordinator {
             return "";
         }
     }
-
-    /**
-     * Calcule les métriques spécifiques à la session actuelle.
-     * Modifié pour utiliser les statistiques du début de session pour un calcul plus précis.
-     *
-     * @return objet contenant les statistiques agrégées de la session
-     */
-    public SessionMetrics calculateSessionMetrics() {
-        try {
-            UserStats initial = getInitialStats();
-            UserStats latest = getCurrentStats();
-
-            if (initial == null || latest == null) {
-                return new SessionMetrics(0, 0, 0, "0%");
-            }
-
-            // Calculer les kills et morts de la session
-            int sessionKills = Math.abs(latest.kills() - initial.kills());
-            int sessionDeaths = Math.abs(latest.deaths() - initial.deaths());
-
-            // K/D de la session = kills de session / deaths de session
-            double sessionKd = sessionDeaths > 0 ? (double) sessionKills / sessionDeaths : sessionKills;
-
-            // Calculer le temps écoulé depuis le début de la session en minutes
-            Instant startTime = getSessionStartTime();
-            double sessionMinutes = 0;
-            if (startTime != null) {
-                sessionMinutes = Duration.between(startTime, Instant.now()).toSeconds() / 60.0;
-            }
-
-            // Kills par minute = kills de session / minutes de session
-            double sessionKpm = sessionMinutes > 0 ? (double) sessionKills / sessionMinutes : 0;
-
-            // Pour le headshot rate, nous aurions besoin du nombre de headshots
-            // mais cette donnée n'est pas disponible dans le modèle actuel
-            // Alors nous utilisons le taux global le plus récent
-            String sessionHeadshots = latest.headshots();
-
-            return new SessionMetrics(sessionKd, sessionKpm, sessionKills, sessionHeadshots);
-        } catch (Exception e) {
-            LOGGER.error("Error calculating session metrics", e);
-            return new SessionMetrics(0, 0, 0, "0%");
-        }
-    }
-
-    /**
-     * Record class for session-specific metrics.
-     */
-    public record SessionMetrics(
-            double killDeath,
-            double killsPerMinute,
-            int kills,
-            String headshots) {
-    }
-}
\ No newline at end of file
+}
@@ -57,4 +57,17 @@ public class PlayerStatsCoodinator {
                     return fresh;
                 });
     }
+
+    /**
+     * Fetches fresh user stats from the API, bypassing the cache, and stores them.
+     *
+     * @param playerName player name
+     * @return the fresh stats
+     * @throws ApiRequestException if the API request fails
+     */
+    public UserStats refreshPlayerStats(String playerName) throws ApiRequestException {
+        UserStats fresh = playerApiClient.fetchUserStats(playerName);
+        cache.putStats(fresh);
+        return fresh;
+    }
 }
\ No newline at end of file
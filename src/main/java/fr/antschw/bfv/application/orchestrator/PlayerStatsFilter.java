@@ -47,4 +47,14 @@ public class PlayerStatsFilter {
 
         return matched;
     }
+
+    /**
+     * Tells whether a rank alone is flagged, before any stats are known.
+     *
+     * @param rank the rank from the server players list
+     * @return true if the rank matches the rank criterion
+     */
+    public boolean isFlaggedRank(int rank) {
+        return rank == RANK_THRESHOLD;
+    }
 }
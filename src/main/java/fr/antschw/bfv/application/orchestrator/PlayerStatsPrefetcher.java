@@ -0,0 +1,250 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import fr.antschw.bfv.domain.model.ServerPlayer;
+import fr.antschw.bfv.domain.model.ServerPlayers;
+import fr.antschw.bfv.domain.service.SettingsService;
+import fr.antschw.bfv.domain.service.UserStatsCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in background prefetcher for player statistics.
+ * <p>
+ * Remembers the player lists of recently scanned servers and, while no scan is running,
+ * refreshes the stats of the players seen most often across them, so that the next scan
+ * finds them in the cache. Traffic is bounded by an hourly request budget taken from
+ * {@link SettingsService#getPrefetchRequestsPerHour()}.
+ */
+@Singleton
+public class PlayerStatsPrefetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerStatsPrefetcher.class);
+
+    private static final int MAX_RECENT_SERVERS = 10;
+    private static final int MAX_REQUESTS_PER_CYCLE = 5;
+    private static final long CYCLE_SECONDS = 30;
+    private static final Duration IDLE_DELAY = Duration.ofSeconds(60);
+    private static final Duration STATS_REFRESH_AGE = Duration.ofHours(24);
+    private static final Duration SERVER_PLAYERS_REFRESH_AGE = Duration.ofMinutes(15);
+    private static final Duration FAILURE_BACKOFF = Duration.ofHours(1);
+
+    private final PlayerStatsCoodinator playerStatsCoodinator;
+    private final UserStatsCacheService cache;
+    private final SettingsService settingsService;
+    private final ScheduledExecutorService scheduler;
+
+    // Serveurs récents, du plus récent au plus ancien (protégé par this)
+    private final Deque<RecentServer> recentServers = new ArrayDeque<>();
+    private final Map<String, Instant> failedPlayers = new HashMap<>();
+
+    private final AtomicInteger activeScans = new AtomicInteger();
+    private volatile Instant lastScanEnd = Instant.EPOCH;
+
+    // Seau de jetons pour le budget horaire (protégé par this)
+    private double tokens = -1;
+    private Instant lastRefill = Instant.now();
+
+    @Inject
+    public PlayerStatsPrefetcher(PlayerStatsCoodinator playerStatsCoodinator,
+                                 UserStatsCacheService cache,
+                                 SettingsService settingsService) {
+        this.playerStatsCoodinator = playerStatsCoodinator;
+        this.cache = cache;
+        this.settingsService = settingsService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stats-prefetcher");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runCycle, CYCLE_SECONDS, CYCLE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Pauses prefetching while a scan is running.
+     */
+    public void beginScan() {
+        activeScans.incrementAndGet();
+    }
+
+    /**
+     * Resumes prefetching after the idle delay once all running scans are done.
+     */
+    public void endScan() {
+        lastScanEnd = Instant.now();
+        activeScans.decrementAndGet();
+    }
+
+    /**
+     * Records the player list of a scanned server in the recent history.
+     *
+     * @param shortId the server short ID
+     * @param players the players currently on the server
+     */
+    public synchronized void recordServerPlayers(String shortId, ServerPlayers players) {
+        recentServers.removeIf(server -> server.shortId().equals(shortId));
+        recentServers.addFirst(new RecentServer(shortId, namesOf(players), Instant.now()));
+        while (recentServers.size() > MAX_RECENT_SERVERS) {
+            recentServers.removeLast();
+        }
+    }
+
+    /**
+     * Stops the background scheduler.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void runCycle() {
+        try {
+            if (!settingsService.isStatsPrefetchEnabled()) {
+                return;
+            }
+            int requests = 0;
+            if (isIdle() && refreshOneServer()) {
+                requests++;
+            }
+            for (String name : selectCandidates()) {
+                if (requests >= MAX_REQUESTS_PER_CYCLE || !isIdle() || !tryConsumeToken()) {
+                    break;
+                }
+                requests++;
+                try {
+                    playerStatsCoodinator.refreshPlayerStats(name);
+                    LOGGER.debug("Prefetched stats for {}", name);
+                } catch (Exception e) {
+                    LOGGER.debug("Prefetch failed for {}: {}", name, e.getMessage());
+                    synchronized (this) {
+                        failedPlayers.put(name, Instant.now());
+                    }
+                }
+            }
+            if (requests > 0) {
+                LOGGER.info("Prefetch cycle done, {} request(s) sent", requests);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Prefetch cycle failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Walks the recent history and refreshes the player list of the most recent server
+     * whose list is outdated. Returns true if a request was sent.
+     */
+    private boolean refreshOneServer() {
+        Optional<RecentServer> outdated;
+        synchronized (this) {
+            Instant limit = Instant.now().minus(SERVER_PLAYERS_REFRESH_AGE);
+            outdated = recentServers.stream()
+                    .filter(server -> server.seenAt().isBefore(limit))
+                    .findFirst();
+        }
+        if (outdated.isEmpty() || !tryConsumeToken()) {
+            return false;
+        }
+
+        String shortId = outdated.get().shortId();
+        try {
+            ServerPlayers players = playerStatsCoodinator.getServerPlayers(shortId);
+            synchronized (this) {
+                // Ne pas faire remonter le serveur en tête : seul un vrai scan change l'ordre
+                List<RecentServer> servers = List.copyOf(recentServers);
+                recentServers.clear();
+                for (RecentServer server : servers) {
+                    recentServers.addLast(server.shortId().equals(shortId)
+                            ? new RecentServer(shortId, namesOf(players), Instant.now())
+                            : server);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Prefetch of players for server {} failed: {}", shortId, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Players seen on recent servers whose cached stats are missing or old,
+     * most frequent co-players first, ties broken by recency.
+     */
+    private synchronized List<String> selectCandidates() {
+        Instant now = Instant.now();
+        failedPlayers.values().removeIf(failedAt -> failedAt.isBefore(now.minus(FAILURE_BACKOFF)));
+
+        Map<String, Integer> frequency = new HashMap<>();
+        Map<String, Integer> recency = new HashMap<>();
+        int index = 0;
+        for (RecentServer server : recentServers) {
+            for (String name : server.playerNames()) {
+                frequency.merge(name, 1, Integer::sum);
+                recency.putIfAbsent(name, index);
+            }
+            index++;
+        }
+
+        Set<String> skipped = new HashSet<>(failedPlayers.keySet());
+        Instant staleBefore = now.minus(STATS_REFRESH_AGE);
+        return frequency.keySet().stream()
+                .filter(name -> !skipped.contains(name))
+                .filter(name -> cache.getFetchTime(name).map(t -> t.isBefore(staleBefore)).orElse(true))
+                .sorted(Comparator.<String>comparingInt(frequency::get).reversed()
+                        .thenComparingInt(recency::get))
+                .limit(MAX_REQUESTS_PER_CYCLE)
+                .toList();
+    }
+
+    private boolean isIdle() {
+        return activeScans.get() == 0 && Instant.now().isAfter(lastScanEnd.plus(IDLE_DELAY));
+    }
+
+    /**
+     * Token bucket refilled continuously at the configured hourly rate,
+     * with a burst capacity of five minutes' worth of requests.
+     */
+    private synchronized boolean tryConsumeToken() {
+        int perHour = Math.max(1, settingsService.getPrefetchRequestsPerHour());
+        double capacity = Math.max(1, perHour / 12.0);
+        Instant now = Instant.now();
+        if (tokens < 0) {
+            tokens = capacity;
+        } else {
+            double elapsedSeconds = Duration.between(lastRefill, now).toMillis() / 1000.0;
+            tokens = Math.min(capacity, tokens + elapsedSeconds * perHour / 3600.0);
+        }
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private static Set<String> namesOf(ServerPlayers players) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ServerPlayer player : players.players()) {
+            names.add(player.name());
+        }
+        return names;
+    }
+
+    private record RecentServer(String shortId, Set<String> playerNames, Instant seenAt) {}
+}
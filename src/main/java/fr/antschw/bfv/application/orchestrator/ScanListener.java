@@ -0,0 +1,70 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.model.ServerPlayer;
+import fr.antschw.bfv.domain.model.UserStats;
+
+/**
+ * Receives the progress of a scan.
+ * <p>
+ * Callbacks run on the scan's worker threads, possibly concurrently; implementations
+ * hop to their own thread (e.g. the JavaFX Application thread) themselves. Once a scan
+ * has been superseded by a newer one, it stops reporting.
+ */
+public interface ScanListener {
+
+    /**
+     * The scan has started; the other events follow.
+     */
+    default void onStarted() {
+    }
+
+    /**
+     * @param shortId the server short ID read by OCR
+     */
+    default void onServerId(String shortId) {
+    }
+
+    /**
+     * @param info the server info resolved from the short ID
+     */
+    default void onServerInfo(ServerInfo info) {
+    }
+
+    /**
+     * @param summary the server's cheater breakdown, or null if unavailable
+     */
+    default void onHackersSummary(HackersSummary summary) {
+    }
+
+    /**
+     * @param player a player listed on the server, reported in API order
+     */
+    default void onPlayer(ServerPlayer player) {
+    }
+
+    /**
+     * @param player the player
+     * @param stats  the player's stats, or null if they could not be fetched
+     */
+    default void onPlayerStats(ServerPlayer player, UserStats stats) {
+    }
+
+    /**
+     * The scan is over for the user: everything was loaded, or the scan budget is spent.
+     * Stats still loading keep being reported afterwards.
+     *
+     * @param complete true if every result arrived before the deadline
+     */
+    default void onFinished(boolean complete) {
+    }
+
+    /**
+     * The scan failed; its remaining subtasks have been cancelled.
+     *
+     * @param error the failure
+     */
+    default void onFailed(Exception error) {
+    }
+}
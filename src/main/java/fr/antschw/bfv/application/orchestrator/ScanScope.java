@@ -0,0 +1,213 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import fr.antschw.bfv.domain.model.ScanDeadline;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scope owning every subtask of one scan.
+ * <p>
+ * Subtasks are forked into the scope and tracked until they have stopped. Cancelling the
+ * scope cancels all of them, interrupting those already running, and subtasks forked
+ * afterwards never start. Closing the scope cancels whatever is left and waits for it, so
+ * no forked work of a scan outlives it. Tracked asynchronous operations are only cancelled:
+ * they stop with the scope as long as their future propagates cancellation to the work
+ * behind it, as the HTTP clients' futures do. This plays the role of a {@code StructuredTaskScope},
+ * which is still a preview API on Java 21.
+ * <p>
+ * Forked tasks are comparable by priority (highest first, then in fork order), so an
+ * executor queueing them in a priority queue runs them in that order.
+ */
+public final class ScanScope implements AutoCloseable {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Set<Future<?>> subtasks = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private volatile boolean cancelled;
+
+    /**
+     * Forks a subtask with the default priority.
+     *
+     * @param executor executor running the subtask
+     * @param task     the subtask
+     * @param <T>      the result type
+     * @return the subtask's future
+     */
+    public <T> Future<T> fork(Executor executor, Callable<T> task) {
+        return fork(executor, 0, task);
+    }
+
+    /**
+     * Forks a subtask.
+     *
+     * @param executor executor running the subtask
+     * @param priority the subtask's priority, higher runs first on a priority-queued executor
+     * @param task     the subtask
+     * @param <T>      the result type
+     * @return the subtask's future
+     */
+    public <T> Future<T> fork(Executor executor, int priority, Callable<T> task) {
+        Subtask<T> subtask = new Subtask<>(task, priority, SEQUENCE.getAndIncrement());
+        subtasks.add(subtask);
+        if (cancelled) {
+            subtask.cancel(false);
+            return subtask;
+        }
+        try {
+            executor.execute(subtask);
+        } catch (RejectedExecutionException e) {
+            subtask.cancel(false);
+            throw e;
+        }
+        return subtask;
+    }
+
+    /**
+     * Tracks an asynchronous operation started outside the scope, such as a non-blocking
+     * HTTP request. Cancelling the scope cancels the returned future; the operation itself
+     * stops only if that future propagates cancellation to it.
+     *
+     * @param future the operation's future
+     * @param <T>    the result type
+     * @return the same future
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        subtasks.add(future);
+        future.whenComplete((result, error) -> release(future));
+        if (cancelled) {
+            future.cancel(true);
+        }
+        return future;
+    }
+
+    /**
+     * Cancels every subtask, running or not, and every later fork.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Future<?> subtask : subtasks) {
+            subtask.cancel(true);
+        }
+    }
+
+    /**
+     * @return true once the scope has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Waits until every subtask has stopped.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        synchronized (lock) {
+            while (!subtasks.isEmpty()) {
+                lock.wait();
+            }
+        }
+    }
+
+    /**
+     * Waits until every subtask has stopped, or until the deadline.
+     *
+     * @param deadline the latest time to wait until
+     * @return true if every subtask has stopped
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean joinUntil(ScanDeadline deadline) throws InterruptedException {
+        synchronized (lock) {
+            while (!subtasks.isEmpty()) {
+                long millis = deadline.remaining().toMillis();
+                if (millis <= 0) {
+                    return false;
+                }
+                lock.wait(millis);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the number of subtasks not stopped yet
+     */
+    public int pending() {
+        return subtasks.size();
+    }
+
+    /**
+     * Cancels the remaining subtasks and waits for them to stop.
+     */
+    @Override
+    public void close() {
+        if (subtasks.isEmpty()) {
+            return;
+        }
+        cancel();
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void release(Future<?> subtask) {
+        subtasks.remove(subtask);
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Forked task; leaves the scope when its body has returned, or when it is cancelled
+     * before having started.
+     */
+    private final class Subtask<T> extends FutureTask<T> implements Comparable<Subtask<?>> {
+        private final int priority;
+        private final long sequence;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Subtask(Callable<T> task, int priority, long sequence) {
+            super(task);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                super.run();
+            } finally {
+                release(this);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (claimed.compareAndSet(false, true)) {
+                release(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Subtask<?> other) {
+            int byPriority = Integer.compare(other.priority, priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -2,35 +2,57 @@ package fr.antschw.bfv.application.orchestrator;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
-import javafx.application.Platform;
 
+import fr.antschw.bfv.domain.model.ScanDeadline;
 import fr.antschw.bfv.domain.model.ServerInfo;
 import fr.antschw.bfv.domain.model.ServerPlayer;
 import fr.antschw.bfv.domain.model.ServerPlayers;
+import fr.antschw.bfv.domain.model.HackersSummary;
 import fr.antschw.bfv.domain.model.UserStats;
+import fr.antschw.bfv.domain.service.ConnectionWarmupService;
+import fr.antschw.bfv.domain.service.HackersSummaryService;
 import fr.antschw.bfv.domain.service.ScreenshotService;
 import fr.antschw.bfv.domain.service.ServerInfoService;
+import fr.antschw.bfv.domain.service.SettingsService;
 import fr.antschw.bfvocr.api.BFVOcrService;
 import fr.antschw.bfvocr.exceptions.BFVOcrException;
 
 import java.awt.image.BufferedImage;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
-import static fr.antschw.bfv.application.util.AppConstants.BFVHACKERS_NAME;
 import static fr.antschw.bfv.application.util.AppConstants.GAMETOOLS_NAME;
 
 /**
  * Service responsible for performing server scans, including
  * screenshot capture, OCR extraction, API queries, and asynchronous
  * retrieval of player statistics.
+ * <p>
+ * Each scan runs as a task tree owned by a {@link ScanScope}: OCR and the server lookup
+ * run on the scan's own thread, the hacker summary and the per-player stats are subtasks
+ * of the scope. A failure of a step the scan depends on (OCR, server info, players list)
+ * cancels every sibling and is reported once through {@link ScanListener#onFailed};
+ * optional results (hacker summary, a player's stats) are reported as missing instead.
+ * Starting a new interactive scan cancels the previous one; batch scans run side by side.
+ * A scan's thread only returns once all its subtasks have stopped.
  */
 public class ServerScanCoordinator {
 
@@ -40,135 +62,351 @@ public class ServerScanCoordinator {
     private final ScreenshotService screenshotService;
     private final BFVOcrService ocrService;
     private final ServerInfoService gameToolsInfoClient;
-    private final ServerInfoService bfvHackersInfoClient;
+    private final HackersSummaryService hackersSummaryService;
     private final PlayerStatsCoodinator playerStatsCoodinator;
-    private final PlayerStatsFilter playerStatsFilter;
-    private final ExecutorService executor;
+    private final PlayerStatsPrefetcher prefetcher;
+    private final PlayerFetchPrioritizer prioritizer;
+    private final ConnectionWarmupService connectionWarmup;
+    private final SettingsService settingsService;
+    private final ExecutorService scanExecutor;
+    private final ThreadPoolExecutor statsExecutor;
+    private final AtomicReference<ActiveScan> activeScan = new AtomicReference<>();
+    private final List<ScanListener> observers = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs the server scan service with all required dependencies
-     * and initializes the thread pool.
+     * and initializes the thread pools. Queued stats fetches are taken by
+     * priority rather than in submission order.
      */
     @Inject
     public ServerScanCoordinator(
             ScreenshotService screenshotService,
             BFVOcrService ocrService,
             @Named(GAMETOOLS_NAME) ServerInfoService gameToolsInfoClient,
-            @Named(BFVHACKERS_NAME) ServerInfoService bfvHackersInfoClient,
+            HackersSummaryService hackersSummaryService,
             PlayerStatsCoodinator playerStatsCoodinator,
-            PlayerStatsFilter playerStatsFilter
+            PlayerStatsPrefetcher prefetcher,
+            PlayerFetchPrioritizer prioritizer,
+            ConnectionWarmupService connectionWarmup,
+            SettingsService settingsService
     ) {
         this.screenshotService = screenshotService;
         this.ocrService = ocrService;
         this.gameToolsInfoClient = gameToolsInfoClient;
-        this.bfvHackersInfoClient = bfvHackersInfoClient;
+        this.hackersSummaryService = hackersSummaryService;
         this.playerStatsCoodinator = playerStatsCoodinator;
-        this.playerStatsFilter = playerStatsFilter;
-        this.executor = Executors.newFixedThreadPool(DEFAULT_THREAD_COUNT);
+        this.prefetcher = prefetcher;
+        this.prioritizer = prioritizer;
+        this.connectionWarmup = connectionWarmup;
+        this.settingsService = settingsService;
+        this.scanExecutor = Executors.newCachedThreadPool(namedThreads("scan"));
+        this.statsExecutor = new ThreadPoolExecutor(DEFAULT_THREAD_COUNT, DEFAULT_THREAD_COUNT,
+                0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), namedThreads("scan-stats"));
     }
 
     /**
-     * Performs screenshot capture and OCR to extract the server's short ID.
+     * Resizes the pool fetching players' stats. The pool is shared by every running scan,
+     * so batch runs scanning several servers at once size it to their parallelism; otherwise
+     * their stats queue behind each other and eat into each scan's budget.
      *
-     * @return the detected server short ID
-     * @throws Exception if capture or OCR fails
+     * @param threads the number of stats fetched at once, across all scans
      */
-    public String extractServerId() throws Exception {
-        BufferedImage image = screenshotService.captureScreenshot();
-        Optional<String> result = ocrService.tryExtractServerNumber(image);
+    public void setStatsParallelism(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Stats parallelism must be at least 1: " + threads);
+        }
+        // Le maximum ne peut jamais passer sous le nombre de threads de base : ordre selon le sens
+        if (threads > statsExecutor.getMaximumPoolSize()) {
+            statsExecutor.setMaximumPoolSize(threads);
+            statsExecutor.setCorePoolSize(threads);
+        } else {
+            statsExecutor.setCorePoolSize(threads);
+            statsExecutor.setMaximumPoolSize(threads);
+        }
+        LOGGER.info("Stats pool resized to {} threads", threads);
+    }
 
-        if (result.isEmpty()) {
-            throw new BFVOcrException("No server number detected.");
+    /**
+     * @return the default number of stats fetched at once, sized for one scan at a time
+     */
+    public static int defaultStatsParallelism() {
+        return DEFAULT_THREAD_COUNT;
+    }
+
+    /**
+     * Registers a listener receiving the events of every interactive scan, next to the
+     * listener given to {@link #runScan}. Batch scans are not reported to it.
+     *
+     * @param observer the listener to add
+     */
+    public void addScanObserver(ScanListener observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Starts a scan in the background, cancelling the previous one if still running.
+     *
+     * @param image    the screenshot taken at the hotkey press, or null to capture now
+     * @param listener receives the scan's progress
+     */
+    public void runScan(BufferedImage image, ScanListener listener) {
+        List<ScanListener> listeners = new ArrayList<>(observers.size() + 1);
+        listeners.add(listener);
+        listeners.addAll(observers);
+        ActiveScan scan = start(() -> extractServerId(image), listeners);
+        ActiveScan previous = activeScan.getAndSet(scan);
+        if (previous != null) {
+            previous.cancel();
         }
-        return result.get();
     }
 
     /**
-     * Queries the GameTools API to retrieve full server information using
-     * the OCR-detected short ID.
+     * Scans a known server in the background, alongside any other scan (batch mode).
      *
-     * @param shortId the OCR-detected server ID
-     * @return the server info containing full details
-     * @throws Exception if the API request fails
+     * @param shortId  the server short ID
+     * @param listener receives the scan's progress
+     * @return future completed once the scan and all its subtasks have stopped
      */
-    public ServerInfo queryGameTools(String shortId) throws Exception {
-        return gameToolsInfoClient.fetchServerInfo(shortId);
+    public Future<?> submitScan(String shortId, ScanListener listener) {
+        Objects.requireNonNull(shortId, "shortId");
+        return start(() -> shortId, List.of(listener)).root();
     }
 
     /**
-     * Queries the BFVHackers API and merges results with base server info
-     * to include cheater count.
+     * Scans the server shown on a screenshot in the background, alongside any other
+     * scan (batch mode).
      *
-     * @param longId   the full server ID from GameTools
-     * @param baseInfo the base server info from GameTools
-     * @return enriched server info including cheater count
-     * @throws Exception if the API request fails
+     * @param image    the screenshot to read the server short ID from
+     * @param listener receives the scan's progress
+     * @return future completed once the scan and all its subtasks have stopped
+     */
+    public Future<?> submitScan(BufferedImage image, ScanListener listener) {
+        Objects.requireNonNull(image, "image");
+        return start(() -> extractServerId(image), List.of(listener)).root();
+    }
+
+    private ActiveScan start(Callable<String> serverId, List<ScanListener> listeners) {
+        ScanDeadline deadline = ScanDeadline.after(Duration.ofSeconds(settingsService.getScanBudgetSeconds()));
+        ScanScope scope = new ScanScope();
+        DetachableListener scoped = new DetachableListener(listeners);
+        Future<?> root = scanExecutor.submit(() -> scan(serverId, scope, deadline, scoped));
+        return new ActiveScan(scope, root, scoped);
+    }
+
+    /**
+     * Root of a scan's task tree; returns once every subtask has stopped.
      */
-    public ServerInfo queryBfvHackers(String longId, ServerInfo baseInfo) throws Exception {
-        ServerInfo hackersInfo = bfvHackersInfoClient.fetchServerInfo(longId);
-        return new ServerInfo(
-                baseInfo.serverName(),
-                baseInfo.shortServerId(),
-                baseInfo.longServerId(),
-                hackersInfo.cheaterCount()
-        );
+    private void scan(Callable<String> serverId, ScanScope scope, ScanDeadline deadline, ScanListener listener) {
+        try (scope) {
+            listener.onStarted();
+            String shortId = serverId.call();
+            listener.onServerId(shortId);
+            scanServer(shortId, scope, deadline, listener);
+        } catch (InterruptedException | CancellationException e) {
+            LOGGER.info("Scan cancelled");
+        } catch (Exception e) {
+            LOGGER.warn("Scan failed: {}", e.getMessage());
+            listener.onFailed(e);
+        }
     }
 
     /**
-     * Retrieves all players on the server and processes their statistics asynchronously.
-     * Updates the UI via the provided callbacks on the JavaFX Application thread.
+     * Performs OCR on a screenshot already taken (at the hotkey press) to extract
+     * the server's short ID, capturing the screen first if none was provided.
+     * API connections are warmed up in the background meanwhile, so the
+     * first request of the scan finds them open.
      *
-     * @param shortId        the OCR-detected server ID
-     * @param playerCallback callback invoked for each loaded player
-     * @param statsCallback  callback invoked for each player's stats
+     * @param image the screenshot taken at the keypress, or null to capture now
+     * @return the detected server short ID
+     * @throws Exception if capture or OCR fails
      */
-    public void queryPlayersAsync(
-            String shortId,
-            Consumer<ServerPlayer> playerCallback,
-            BiConsumer<ServerPlayer, UserStats> statsCallback
-    ) {
+    private String extractServerId(BufferedImage image) throws Exception {
+        connectionWarmup.warmUp();
+        BufferedImage screen = image != null ? image : screenshotService.captureScreenshot();
+        Optional<String> result = ocrService.tryExtractServerNumber(screen);
+
+        if (result.isEmpty()) {
+            throw new BFVOcrException("No server number detected.");
+        }
+        return result.get();
+    }
+
+    /**
+     * Resolves the server, then fetches its hacker summary and its players' stats as
+     * subtasks. Players are reported in API order, but their stats are fetched
+     * likely-suspicious first (see {@link PlayerFetchPrioritizer}).
+     * Background prefetching is paused while the players are being fetched.
+     * <p>
+     * The listener is told the scan is finished at the deadline at the latest; stats still
+     * loading by then keep being fetched, with shorter timeouts, and are still reported.
+     */
+    private void scanServer(String shortId, ScanScope scope, ScanDeadline deadline, ScanListener listener)
+            throws Exception {
+        ServerInfo info = deadline.callBound(() -> gameToolsInfoClient.fetchServerInfo(shortId));
+        listener.onServerInfo(info);
+
+        // Hackers, en parallèle du chargement des joueurs
+        // (la requête est suivie pour être annulée, le rappel pour être attendu)
+        CompletableFuture<HackersSummary> hackers = scope.track(
+                deadline.supplyBound(() -> hackersSummaryService.fetchHackersSummary(info.longServerId())));
+        scope.track(hackers.whenComplete((summary, error) -> listener.onHackersSummary(error == null ? summary : null)));
+
+        prefetcher.beginScan();
         try {
-            ServerPlayers players = playerStatsCoodinator.getServerPlayers(shortId);
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
-            for (ServerPlayer player : players.players()) {
-                Platform.runLater(() -> playerCallback.accept(player));
-
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    try {
-                        UserStats stats = playerStatsCoodinator.getPlayerStats(player.name());
-                        playerStatsFilter.getInterestingMetrics(stats);
-                        Platform.runLater(() -> statsCallback.accept(player, stats));
-                    } catch (Exception e) {
-                        LOGGER.warn("Failed to fetch stats for player {}: {}", player.name(), e.getMessage());
-                        Platform.runLater(() -> statsCallback.accept(player, null));
-                    }
-                }, executor);
-
-                futures.add(future);
+            ServerPlayers players = deadline.callBound(() -> playerStatsCoodinator.getServerPlayers(shortId));
+            prefetcher.recordServerPlayers(shortId, players);
+            players.players().forEach(listener::onPlayer);
+
+            // The pool starts its first tasks without queueing them: fork in priority order too
+            List<PrioritizedPlayer> queue = players.players().stream()
+                    .map(player -> new PrioritizedPlayer(player, prioritizer.priorityOf(player)))
+                    .sorted(Comparator.comparingInt(PrioritizedPlayer::priority).reversed())
+                    .toList();
+            for (PrioritizedPlayer entry : queue) {
+                scope.fork(statsExecutor, entry.priority(), () -> {
+                    deadline.runBound(() -> fetchStats(entry.player(), listener));
+                    return null;
+                });
+            }
+
+            boolean complete = scope.joinUntil(deadline);
+            if (!complete) {
+                LOGGER.info("Scan budget spent, {} requests still running in background", scope.pending());
             }
+            listener.onFinished(complete);
+            scope.join();
+        } finally {
+            prefetcher.endScan();
+        }
+    }
 
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    private void fetchStats(ServerPlayer player, ScanListener listener) {
+        UserStats stats;
+        try {
+            stats = playerStatsCoodinator.getPlayerStats(player.name());
         } catch (Exception e) {
-            LOGGER.error("Error fetching players list: {}", e.getMessage(), e);
+            LOGGER.warn("Failed to fetch stats for player {}: {}", player.name(), e.getMessage());
+            stats = null;
         }
+        listener.onPlayerStats(player, stats);
     }
 
     /**
-     * Gracefully shuts down the internal thread pool used for player queries.
+     * Cancels the running scan and shuts down the thread pools used by scans.
      * Ensures any running tasks are terminated.
      */
     public void shutdown() {
-        LOGGER.info("Shutting down scan executor...");
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                LOGGER.warn("Executor did not terminate in time, forcing shutdown.");
+        LOGGER.info("Shutting down scan executors...");
+        ActiveScan scan = activeScan.getAndSet(null);
+        if (scan != null) {
+            scan.cancel();
+        }
+        prefetcher.shutdown();
+        for (ExecutorService executor : List.of(scanExecutor, statsExecutor)) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Executor did not terminate in time, forcing shutdown.");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 executor.shutdownNow();
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            executor.shutdownNow();
         }
     }
-}
\ No newline at end of file
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private record PrioritizedPlayer(ServerPlayer player, int priority) {
+    }
+
+    /**
+     * A running scan: its scope, the thread running its root, and its listener.
+     */
+    private record ActiveScan(ScanScope scope, Future<?> root, DetachableListener listener) {
+
+        void cancel() {
+            listener.detach();
+            scope.cancel();
+            root.cancel(true);
+        }
+    }
+
+    /**
+     * Forwards events to the scan's listeners until detached, so a superseded scan
+     * stops reporting.
+     */
+    private static final class DetachableListener implements ScanListener {
+        private final List<ScanListener> delegates;
+        private volatile boolean detached;
+
+        private DetachableListener(List<ScanListener> delegates) {
+            this.delegates = List.copyOf(delegates);
+        }
+
+        void detach() {
+            detached = true;
+        }
+
+        private void forward(Consumer<ScanListener> event) {
+            if (detached) {
+                return;
+            }
+            for (ScanListener delegate : delegates) {
+                try {
+                    event.accept(delegate);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Scan listener failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void onStarted() {
+            forward(ScanListener::onStarted);
+        }
+
+        @Override
+        public void onServerId(String shortId) {
+            forward(delegate -> delegate.onServerId(shortId));
+        }
+
+        @Override
+        public void onServerInfo(ServerInfo info) {
+            forward(delegate -> delegate.onServerInfo(info));
+        }
+
+        @Override
+        public void onHackersSummary(HackersSummary summary) {
+            forward(delegate -> delegate.onHackersSummary(summary));
+        }
+
+        @Override
+        public void onPlayer(ServerPlayer player) {
+            forward(delegate -> delegate.onPlayer(player));
+        }
+
+        @Override
+        public void onPlayerStats(ServerPlayer player, UserStats stats) {
+            forward(delegate -> delegate.onPlayerStats(player, stats));
+        }
+
+        @Override
+        public void onFinished(boolean complete) {
+            forward(delegate -> delegate.onFinished(complete));
+        }
+
+        @Override
+        public void onFailed(Exception error) {
+            forward(delegate -> delegate.onFailed(error));
+        }
+    }
+}
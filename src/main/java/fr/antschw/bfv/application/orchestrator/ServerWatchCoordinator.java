@@ -0,0 +1,277 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.model.WatchedServer;
+import fr.antschw.bfv.domain.service.HackersSummaryService;
+import fr.antschw.bfv.domain.service.ServerInfoService;
+import fr.antschw.bfv.domain.service.SettingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static fr.antschw.bfv.application.util.AppConstants.GAMETOOLS_NAME;
+import static fr.antschw.bfv.application.util.AppConstants.HTTP_TIMEOUT_SECONDS;
+import static fr.antschw.bfv.application.util.AppConstants.SERVER_WATCH_INTERVAL_SECONDS;
+import static fr.antschw.bfv.application.util.AppConstants.SERVER_WATCH_MAX_BACKOFF_SECONDS;
+import static fr.antschw.bfv.application.util.AppConstants.SERVER_WATCH_MAX_CONCURRENT_POLLS;
+
+/**
+ * Periodically polls the cheater breakdown of the servers on the watch list, without OCR
+ * or screenshots: the short ID is resolved through GameTools (cached after the first
+ * time), then the summary is fetched from BFVHackers.
+ * <p>
+ * A single shared scheduler checks every {@link #TICK_SECONDS} seconds which servers are
+ * due and hands them to a pool of {@code SERVER_WATCH_MAX_CONCURRENT_POLLS} threads, so
+ * a long watch list never bursts the APIs. A failed poll keeps the last known summary and
+ * doubles that server's delay, up to {@code SERVER_WATCH_MAX_BACKOFF_SECONDS}; a success
+ * restores the regular interval. The watch list is persisted in the settings.
+ * <p>
+ * Listeners receive every new state, on a polling thread.
+ */
+@Singleton
+public class ServerWatchCoordinator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerWatchCoordinator.class);
+
+    private static final long TICK_SECONDS = 15;
+    private static final Duration STAGGER = Duration.ofSeconds(10);
+
+    private final ServerInfoService gameToolsInfoClient;
+    private final HackersSummaryService hackersSummaryService;
+    private final SettingsService settingsService;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService pollers;
+    private final List<Consumer<WatchedServer>> listeners = new CopyOnWriteArrayList<>();
+
+    // Serveurs surveillés, dans l'ordre d'ajout (protégé par this)
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @Inject
+    public ServerWatchCoordinator(@Named(GAMETOOLS_NAME) ServerInfoService gameToolsInfoClient,
+                                  HackersSummaryService hackersSummaryService,
+                                  SettingsService settingsService) {
+        this.gameToolsInfoClient = gameToolsInfoClient;
+        this.hackersSummaryService = hackersSummaryService;
+        this.settingsService = settingsService;
+
+        // Étaler les premiers relevés des serveurs déjà surveillés
+        Instant start = Instant.now();
+        for (String shortId : settingsService.getWatchedServers()) {
+            if (!ServerInfo.isValidShortId(shortId)) {
+                LOGGER.warn("Skipping invalid watched server short ID: {}", shortId);
+                continue;
+            }
+            entries.put(shortId, new Entry(shortId, start.plus(STAGGER.multipliedBy(entries.size()))));
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "server-watch");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger pollerCount = new AtomicInteger();
+        this.pollers = Executors.newFixedThreadPool(SERVER_WATCH_MAX_CONCURRENT_POLLS, r -> {
+            Thread t = new Thread(r, "server-watch-poll-" + pollerCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, 1, TICK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Adds a server to the watch list and polls it right away.
+     *
+     * @param shortId the server short ID
+     * @return false if the ID is not a valid short ID or the server was already watched
+     */
+    public boolean watch(String shortId) {
+        String id = shortId.trim();
+        if (!ServerInfo.isValidShortId(id)) {
+            LOGGER.warn("Ignoring invalid server short ID: {}", id);
+            return false;
+        }
+        WatchedServer pending;
+        synchronized (this) {
+            if (entries.containsKey(id)) {
+                return false;
+            }
+            Entry entry = new Entry(id, Instant.now());
+            entries.put(id, entry);
+            pending = entry.state;
+            persist();
+        }
+        LOGGER.info("Watching server {}", id);
+        publish(pending);
+        scheduler.execute(this::tick);
+        return true;
+    }
+
+    /**
+     * Removes a server from the watch list; a poll in flight for it is discarded.
+     *
+     * @param shortId the server short ID
+     */
+    public synchronized void unwatch(String shortId) {
+        if (entries.remove(shortId.trim()) != null) {
+            persist();
+            LOGGER.info("Stopped watching server {}", shortId);
+        }
+    }
+
+    /**
+     * @param shortId the server short ID
+     * @return true if the server is on the watch list
+     */
+    public synchronized boolean isWatched(String shortId) {
+        return entries.containsKey(shortId);
+    }
+
+    /**
+     * @return the latest state of every watched server, in watch order
+     */
+    public synchronized List<WatchedServer> getWatchedServers() {
+        return entries.values().stream().map(entry -> entry.state).toList();
+    }
+
+    /**
+     * Registers a listener receiving every new state of a watched server.
+     * Listeners run on a polling thread and must not block.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(Consumer<WatchedServer> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Consumer<WatchedServer> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops polling.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pollers.shutdownNow();
+    }
+
+    /**
+     * Hands the servers that are due to the pollers.
+     */
+    private void tick() {
+        Instant now = Instant.now();
+        List<Entry> due = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                if (!entry.polling && !entry.nextPollAt.isAfter(now)) {
+                    entry.polling = true;
+                    due.add(entry);
+                }
+            }
+        }
+        for (Entry entry : due) {
+            try {
+                pollers.execute(() -> poll(entry));
+            } catch (RejectedExecutionException e) {
+                // Arrêt en cours
+                return;
+            }
+        }
+    }
+
+    private void poll(Entry entry) {
+        WatchedServer previous;
+        synchronized (this) {
+            previous = entry.state;
+        }
+
+        WatchedServer next;
+        try {
+            ServerInfo info = gameToolsInfoClient.fetchServerInfo(entry.shortId);
+            HackersSummary summary = hackersSummaryService.fetchHackersSummary(info.longServerId())
+                    .get(HTTP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            next = new WatchedServer(entry.shortId, info, summary, Instant.now(), 0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            LOGGER.warn("Failed to poll watched server {}: {}", entry.shortId, message);
+            next = new WatchedServer(entry.shortId, previous.server(), previous.hackers(), previous.updatedAt(),
+                    previous.consecutiveFailures() + 1, message);
+        }
+
+        synchronized (this) {
+            entry.polling = false;
+            if (entries.get(entry.shortId) != entry) {
+                // Plus surveillé entre-temps
+                return;
+            }
+            entry.state = next;
+            entry.nextPollAt = Instant.now().plus(nextDelay(next.consecutiveFailures()));
+        }
+        publish(next);
+    }
+
+    /**
+     * Intervalle régulier après un succès, doublé à chaque échec consécutif jusqu'au plafond.
+     */
+    private static Duration nextDelay(int failures) {
+        long delay = (long) SERVER_WATCH_INTERVAL_SECONDS << Math.min(failures, 16);
+        return Duration.ofSeconds(Math.min(delay, SERVER_WATCH_MAX_BACKOFF_SECONDS));
+    }
+
+    private void persist() {
+        settingsService.setWatchedServers(List.copyOf(entries.keySet()));
+    }
+
+    private void publish(WatchedServer state) {
+        for (Consumer<WatchedServer> listener : listeners) {
+            try {
+                listener.accept(state);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Server watch listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A watched server's polling state (guarded by the coordinator's lock).
+     */
+    private static final class Entry {
+        private final String shortId;
+        private WatchedServer state;
+        private Instant nextPollAt;
+        private boolean polling;
+
+        private Entry(String shortId, Instant nextPollAt) {
+            this.shortId = shortId;
+            this.state = WatchedServer.pending(shortId);
+            this.nextPollAt = nextPollAt;
+        }
+    }
+}
@@ -17,6 +17,12 @@ public final class AppConstants {
     public static final String GAMETOOLS_API_BASE_URL = "https://api.gametools.network";
     public static final String BFVHACKERS_API_BASE_URL = "https://bfvhackers.com/api/v1/server-hackers";
     public static final int HTTP_TIMEOUT_SECONDS = 10;
+    /** Shortest request timeout once a scan budget is nearly spent, so late requests can still finish. */
+    public static final int HTTP_MIN_TIMEOUT_SECONDS = 3;
+    /** Default end-to-end budget of a scan, from capture to the last player's stats. */
+    public static final int SCAN_DEFAULT_BUDGET_SECONDS = 12;
+    /** Default port of the local API, bound to the loopback interface only. */
+    public static final int LOCAL_API_DEFAULT_PORT = 8765;
 
     // GameTools Server Parameters
     public static final String GAMETOOLS_SERVER_ENDPOINT = "/bfv/servers";
@@ -79,6 +85,26 @@ public final class AppConstants {
     public static final String JSON_KILL_DEATH = "killDeath";
 
 
+    // Player monitoring
+    /** Poll interval while the monitored player is idle, and base of the idle backoff. */
+    public static final int MONITORING_BASE_INTERVAL_MINUTES = 12;
+    /** Poll interval while the monitored player's playtime is advancing (in a match). */
+    public static final int MONITORING_ACTIVE_INTERVAL_MINUTES = 3;
+    /** Upper bound of the idle/offline backoff. */
+    public static final int MONITORING_MAX_INTERVAL_MINUTES = 96;
+    /** Default upstream request budget for monitoring. */
+    public static final int MONITORING_DEFAULT_REQUESTS_PER_HOUR = 20;
+    /** How long raw monitoring samples are kept; hourly and daily rollups are kept indefinitely. */
+    public static final int MONITORING_RAW_RETENTION_DAYS = 30;
+
+    // Server watch list
+    /** Poll interval of a watched server; longer than the hacker summary cache TTL. */
+    public static final int SERVER_WATCH_INTERVAL_SECONDS = 180;
+    /** Upper bound of a watched server's backoff after failed polls. */
+    public static final int SERVER_WATCH_MAX_BACKOFF_SECONDS = 1800;
+    /** Watched servers polled at the same time, at most. */
+    public static final int SERVER_WATCH_MAX_CONCURRENT_POLLS = 2;
+
     // UI Constants
     /** Default startup width of the main window. */
     public static final int WINDOW_WIDTH = 600;
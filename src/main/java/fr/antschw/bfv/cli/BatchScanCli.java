@@ -0,0 +1,381 @@
+package fr.antschw.bfv.cli;
+
+import fr.antschw.bfv.application.orchestrator.PlayerStatsFilter;
+import fr.antschw.bfv.application.orchestrator.ScanListener;
+import fr.antschw.bfv.application.orchestrator.ServerScanCoordinator;
+import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.model.ServerPlayer;
+import fr.antschw.bfv.domain.model.UserStats;
+import fr.antschw.bfv.domain.service.ConnectionWarmupService;
+import fr.antschw.bfv.infrastructure.binding.HeadlessModule;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
+import fr.antschw.bfvocr.api.BFVOcrFactory;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless entry point scanning a batch of servers, to measure and tune scan throughput
+ * on a machine without a display.
+ * <p>
+ * Targets are server short IDs, or screenshots the short ID is read from by OCR. Each one
+ * goes through the same {@link ServerScanCoordinator} pipeline as the desktop scans, several
+ * at once, and the results are written as JSON or CSV with per-scan timings. A summary of
+ * the run's throughput and latency is printed on the error stream.
+ */
+public final class BatchScanCli {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchScanCli.class);
+
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_SCAN_FAILED = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: BatchScanCli [options] <target>...
+              <target>            server short ID, or path to a screenshot
+              --targets FILE      read targets from FILE, one per line ('#' starts a comment)
+              --format json|csv   output format (default: json)
+              --output FILE       write results to FILE instead of the standard output
+              --parallel N        servers scanned concurrently (default: %d)
+              --stats-parallel N  player stats fetched concurrently, across all servers
+                                  (default: %d per server scanned concurrently)
+            """.formatted(DEFAULT_PARALLELISM, ServerScanCoordinator.defaultStatsParallelism());
+
+    private final ServerScanCoordinator coordinator;
+    private final PlayerStatsFilter playerStatsFilter;
+    private final JsonCodec codec;
+
+    private BatchScanCli(Injector injector) {
+        this.coordinator = injector.getInstance(ServerScanCoordinator.class);
+        this.playerStatsFilter = injector.getInstance(PlayerStatsFilter.class);
+        this.codec = injector.getInstance(JsonCodec.class);
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(EXIT_USAGE);
+            return;
+        }
+
+        int exitCode;
+        Injector injector = Guice.createInjector(new HeadlessModule());
+        BatchScanCli cli = new BatchScanCli(injector);
+        try {
+            // Ouvrir les connexions aux API avant le premier scan
+            injector.getInstance(ConnectionWarmupService.class).warmUp();
+            exitCode = cli.run(options);
+        } catch (Exception e) {
+            LOGGER.error("Batch scan failed", e);
+            System.err.println("Batch scan failed: " + e.getMessage());
+            exitCode = EXIT_SCAN_FAILED;
+        } finally {
+            cli.coordinator.shutdown();
+            BFVOcrFactory.shutdown();
+        }
+
+        // Les caches sont vidés sur disque par leurs hooks d'arrêt
+        System.exit(exitCode);
+    }
+
+    /**
+     * Scans every target and writes the report.
+     *
+     * @return the process exit code
+     */
+    private int run(Options options) throws Exception {
+        // Le pool de stats est partagé par les scans : le dimensionner pour tous ceux menés de front
+        coordinator.setStatsParallelism(options.statsParallelism());
+        ExecutorService workers = Executors.newFixedThreadPool(options.parallelism());
+        List<Future<BatchScanResult>> pending = new ArrayList<>(options.targets().size());
+
+        long start = System.nanoTime();
+        try {
+            for (String target : options.targets()) {
+                pending.add(workers.submit(() -> scan(target)));
+            }
+            List<BatchScanResult> results = new ArrayList<>(pending.size());
+            for (Future<BatchScanResult> future : pending) {
+                results.add(future.get());
+            }
+            long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            BatchScanSummary summary = BatchScanSummary.of(results, options.parallelism(),
+                    options.statsParallelism(), wallMs);
+            write(options, results, summary);
+            System.err.println(summary.describe());
+
+            return summary.failed() == 0 ? EXIT_OK : EXIT_SCAN_FAILED;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Scans one target and waits for all its requests to stop.
+     */
+    private BatchScanResult scan(String target) throws InterruptedException {
+        Path path = Path.of(target);
+        ScanRecorder recorder = new ScanRecorder(target);
+        try {
+            Future<?> scan;
+            if (Files.isRegularFile(path)) {
+                BufferedImage image = ImageIO.read(path.toFile());
+                if (image == null) {
+                    throw new IOException("Unsupported image format: " + path);
+                }
+                scan = coordinator.submitScan(image, recorder);
+            } else {
+                scan = coordinator.submitScan(target, recorder);
+            }
+            scan.get();
+        } catch (IOException | ExecutionException e) {
+            recorder.onFailed(e);
+        }
+        BatchScanResult result = recorder.toResult();
+        LOGGER.info("Scanned {} in {} ms{}", target, result.totalMs(),
+                result.succeeded() ? "" : " (failed: " + result.error() + ")");
+        return result;
+    }
+
+    private void write(Options options, List<BatchScanResult> results, BatchScanSummary summary)
+            throws IOException {
+        String report = switch (options.format()) {
+            case JSON -> codec.writerFor(Report.class)
+                    .withDefaultPrettyPrinter()
+                    .writeValueAsString(new Report(results, summary));
+            case CSV -> {
+                StringBuilder csv = new StringBuilder(BatchScanResult.csvHeader()).append('\n');
+                results.forEach(result -> csv.append(result.toCsv()).append('\n'));
+                yield csv.toString();
+            }
+        };
+
+        if (options.output() == null) {
+            PrintStream out = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+            out.print(report);
+            out.flush();
+        } else {
+            Files.writeString(options.output(), report, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * JSON report: one entry per target, in the order given, then the run's summary.
+     */
+    record Report(List<BatchScanResult> results, BatchScanSummary summary) {
+    }
+
+    enum Format {
+        JSON, CSV
+    }
+
+    /**
+     * Parsed command line.
+     */
+    record Options(List<String> targets, Format format, Path output, int parallelism, int statsParallelism) {
+
+        static Options parse(String[] args) throws IOException {
+            List<String> targets = new ArrayList<>();
+            Format format = Format.JSON;
+            Path output = null;
+            int parallelism = DEFAULT_PARALLELISM;
+            Integer statsParallelism = null;
+
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--targets" -> targets.addAll(readTargets(Path.of(value(args, ++i, arg))));
+                    case "--format" -> format = parseFormat(value(args, ++i, arg));
+                    case "--output" -> output = Path.of(value(args, ++i, arg));
+                    case "--parallel" -> parallelism = parseParallelism(value(args, ++i, arg), arg);
+                    case "--stats-parallel" -> statsParallelism = parseParallelism(value(args, ++i, arg), arg);
+                    default -> {
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        targets.add(arg);
+                    }
+                }
+            }
+            if (targets.isEmpty()) {
+                throw new IllegalArgumentException("No target given");
+            }
+            if (statsParallelism == null) {
+                statsParallelism = parallelism * ServerScanCoordinator.defaultStatsParallelism();
+            }
+            return new Options(List.copyOf(targets), format, output, parallelism, statsParallelism);
+        }
+
+        private static String value(String[] args, int index, String option) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            return args[index];
+        }
+
+        private static Format parseFormat(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "json" -> Format.JSON;
+                case "csv" -> Format.CSV;
+                default -> throw new IllegalArgumentException("Unknown format: " + value);
+            };
+        }
+
+        private static int parseParallelism(String value, String option) {
+            try {
+                int parallelism = Integer.parseInt(value);
+                if (parallelism < 1) {
+                    throw new IllegalArgumentException(option + " must be at least 1");
+                }
+                return parallelism;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + option + " value: " + value);
+            }
+        }
+
+        private static List<String> readTargets(Path file) throws IOException {
+            try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                return lines.map(line -> {
+                            int comment = line.indexOf('#');
+                            return (comment >= 0 ? line.substring(0, comment) : line).strip();
+                        })
+                        .filter(line -> !line.isEmpty())
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Records the progress of one scan; callbacks come from several threads.
+     */
+    private final class ScanRecorder implements ScanListener {
+        private final String target;
+        private final long start = System.nanoTime();
+        private final AtomicInteger players = new AtomicInteger();
+        private final AtomicInteger statsLoaded = new AtomicInteger();
+        private final AtomicInteger statsFailed = new AtomicInteger();
+        private final AtomicInteger flaggedPlayers = new AtomicInteger();
+        private volatile String shortId;
+        private volatile ServerInfo info;
+        private volatile HackersSummary hackers;
+        private volatile boolean complete;
+        private volatile Long serverIdMs;
+        private volatile Long serverInfoMs;
+        private volatile Long playersMs;
+        private volatile Long finishedMs;
+        private volatile String error;
+
+        private ScanRecorder(String target) {
+            this.target = target;
+        }
+
+        @Override
+        public void onServerId(String shortId) {
+            this.shortId = shortId;
+            serverIdMs = elapsed();
+        }
+
+        @Override
+        public void onServerInfo(ServerInfo info) {
+            this.info = info;
+            serverInfoMs = elapsed();
+        }
+
+        @Override
+        public void onHackersSummary(HackersSummary summary) {
+            hackers = summary;
+        }
+
+        @Override
+        public void onPlayer(ServerPlayer player) {
+            // Les joueurs sont signalés d'un bloc, dès réception de la liste
+            if (players.getAndIncrement() == 0) {
+                playersMs = elapsed();
+            }
+        }
+
+        @Override
+        public void onPlayerStats(ServerPlayer player, UserStats stats) {
+            if (stats == null) {
+                statsFailed.incrementAndGet();
+                return;
+            }
+            statsLoaded.incrementAndGet();
+            if (!playerStatsFilter.getInterestingMetrics(stats).isEmpty()) {
+                flaggedPlayers.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onFinished(boolean complete) {
+            this.complete = complete;
+            finishedMs = elapsed();
+        }
+
+        @Override
+        public void onFailed(Exception error) {
+            this.error = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        }
+
+        private long elapsed() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        BatchScanResult toResult() {
+            ServerInfo server = info;
+            HackersSummary summary = hackers;
+            return new BatchScanResult(
+                    target,
+                    shortId,
+                    server != null ? server.serverName() : null,
+                    server != null ? server.longServerId() : 0,
+                    players.get(),
+                    statsLoaded.get(),
+                    statsFailed.get(),
+                    flaggedPlayers.get(),
+                    summary != null ? summary.numHackers() : null,
+                    summary != null ? summary.numVerySus() : null,
+                    summary != null ? summary.numSus() : null,
+                    complete,
+                    serverIdMs,
+                    serverInfoMs,
+                    playersMs,
+                    finishedMs,
+                    elapsed(),
+                    error
+            );
+        }
+    }
+}
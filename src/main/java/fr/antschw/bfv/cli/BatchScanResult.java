@@ -0,0 +1,96 @@
+package fr.antschw.bfv.cli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome and timings of one server scanned in batch mode.
+ * <p>
+ * Timings are in milliseconds since the scan was submitted; a step never reached is null.
+ * {@code finishedMs} is when the scan was over for the user (everything loaded or budget
+ * spent), {@code totalMs} when its last request stopped.
+ *
+ * @param target         the target as given on the command line
+ * @param shortId        the server short ID, read by OCR for screenshots
+ * @param serverName     the server name
+ * @param longServerId   the long server ID, 0 if not resolved
+ * @param players        number of players listed on the server
+ * @param statsLoaded    number of players whose stats were fetched
+ * @param statsFailed    number of players whose stats could not be fetched
+ * @param flaggedPlayers number of players with interesting metrics
+ * @param hackers        confirmed hackers according to BFVHackers, null if unavailable
+ * @param verySuspicious very suspicious players according to BFVHackers, null if unavailable
+ * @param suspicious     suspicious players according to BFVHackers, null if unavailable
+ * @param complete       true if every result arrived within the scan budget
+ * @param serverIdMs     time to the server short ID
+ * @param serverInfoMs   time to the server info
+ * @param playersMs      time to the players list
+ * @param finishedMs     time to the end of the scan for the user
+ * @param totalMs        time to the end of the last request
+ * @param error          the failure message, null if the scan succeeded
+ */
+public record BatchScanResult(
+        String target,
+        String shortId,
+        String serverName,
+        long longServerId,
+        int players,
+        int statsLoaded,
+        int statsFailed,
+        int flaggedPlayers,
+        Integer hackers,
+        Integer verySuspicious,
+        Integer suspicious,
+        boolean complete,
+        Long serverIdMs,
+        Long serverInfoMs,
+        Long playersMs,
+        Long finishedMs,
+        Long totalMs,
+        String error) {
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "target", "shortId", "serverName", "longServerId", "players", "statsLoaded", "statsFailed",
+            "flaggedPlayers", "hackers", "verySuspicious", "suspicious", "complete", "serverIdMs",
+            "serverInfoMs", "playersMs", "finishedMs", "totalMs", "error");
+
+    /**
+     * @return true if the scan went through without failing
+     */
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    /**
+     * @return the CSV header line
+     */
+    public static String csvHeader() {
+        return String.join(",", CSV_COLUMNS);
+    }
+
+    /**
+     * @return this result as a CSV line
+     */
+    public String toCsv() {
+        List<Object> values = new ArrayList<>(List.of(
+                text(target), text(shortId), text(serverName), longServerId, players, statsLoaded,
+                statsFailed, flaggedPlayers, text(hackers), text(verySuspicious), text(suspicious),
+                complete, text(serverIdMs), text(serverInfoMs), text(playersMs), text(finishedMs),
+                text(totalMs), text(error)));
+        return values.stream()
+                .map(value -> escape(String.valueOf(value)))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
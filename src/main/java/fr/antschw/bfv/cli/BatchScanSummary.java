@@ -0,0 +1,120 @@
+package fr.antschw.bfv.cli;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Throughput and latency of a batch run.
+ *
+ * @param scans            number of servers scanned
+ * @param succeeded        scans that went through
+ * @param failed           scans that failed
+ * @param complete         scans whose results all arrived within the scan budget
+ * @param statsLoaded      player stats fetched over the whole run
+ * @param parallelism      servers scanned concurrently
+ * @param statsParallelism player stats fetched concurrently, across all servers
+ * @param wallMs           duration of the whole run
+ * @param scansPerMinute   scans completed per minute of wall time
+ * @param statsPerSecond   player stats fetched per second of wall time
+ * @param finishedP50Ms    median time to the end of a scan for the user
+ * @param finishedP95Ms    95th percentile of the time to the end of a scan for the user
+ * @param finishedMaxMs    longest time to the end of a scan for the user
+ * @param totalP50Ms       median time to the end of a scan's last request
+ * @param totalP95Ms       95th percentile of the time to the end of a scan's last request
+ * @param totalMaxMs       longest time to the end of a scan's last request
+ */
+public record BatchScanSummary(
+        int scans,
+        int succeeded,
+        int failed,
+        int complete,
+        int statsLoaded,
+        int parallelism,
+        int statsParallelism,
+        long wallMs,
+        double scansPerMinute,
+        double statsPerSecond,
+        Long finishedP50Ms,
+        Long finishedP95Ms,
+        Long finishedMaxMs,
+        Long totalP50Ms,
+        Long totalP95Ms,
+        Long totalMaxMs) {
+
+    /**
+     * Summarizes the results of a run.
+     *
+     * @param results     the results of the run
+     * @param parallelism      servers scanned concurrently
+     * @param statsParallelism player stats fetched concurrently, across all servers
+     * @param wallMs           duration of the whole run
+     * @return the summary
+     */
+    public static BatchScanSummary of(List<BatchScanResult> results, int parallelism, int statsParallelism,
+                                      long wallMs) {
+        int succeeded = (int) results.stream().filter(BatchScanResult::succeeded).count();
+        int complete = (int) results.stream().filter(BatchScanResult::complete).count();
+        int statsLoaded = results.stream().mapToInt(BatchScanResult::statsLoaded).sum();
+        double minutes = wallMs / 60_000.0;
+        double seconds = wallMs / 1_000.0;
+
+        long[] finished = timings(results, BatchScanResult::finishedMs);
+        long[] total = timings(results, BatchScanResult::totalMs);
+
+        return new BatchScanSummary(
+                results.size(),
+                succeeded,
+                results.size() - succeeded,
+                complete,
+                statsLoaded,
+                parallelism,
+                statsParallelism,
+                wallMs,
+                minutes > 0 ? results.size() / minutes : 0,
+                seconds > 0 ? statsLoaded / seconds : 0,
+                percentile(finished, 50),
+                percentile(finished, 95),
+                percentile(finished, 100),
+                percentile(total, 50),
+                percentile(total, 95),
+                percentile(total, 100)
+        );
+    }
+
+    /**
+     * @return a human-readable report of this summary
+     */
+    public String describe() {
+        return String.format(
+                "%d scans (%d ok, %d failed, %d within budget) in %d ms with %d in parallel (%d stats threads)%n"
+                        + "  throughput: %.1f scans/min, %.1f stats/s%n"
+                        + "  finished:   p50 %s ms, p95 %s ms, max %s ms%n"
+                        + "  total:      p50 %s ms, p95 %s ms, max %s ms",
+                scans, succeeded, failed, complete, wallMs, parallelism, statsParallelism,
+                scansPerMinute, statsPerSecond,
+                finishedP50Ms, finishedP95Ms, finishedMaxMs,
+                totalP50Ms, totalP95Ms, totalMaxMs);
+    }
+
+    private static long[] timings(List<BatchScanResult> results, Function<BatchScanResult, Long> timing) {
+        return results.stream()
+                .filter(BatchScanResult::succeeded)
+                .map(timing)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values, null if there are none.
+     */
+    private static Long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return null;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
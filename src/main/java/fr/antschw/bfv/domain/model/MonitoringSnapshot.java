@@ -0,0 +1,30 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Domain model holding a consistent view of one watched player's session.
+ * <p>
+ * All fields come from the same monitoring state, so the latest stats are never shown
+ * with the initial stats or aggregates of another sample. Published to monitoring listeners
+ * after each new sample, and returned by the monitoring service on demand.
+ */
+public record MonitoringSnapshot(
+        String playerIdentifier,
+        UserStats stats,
+        UserStats initialStats,
+        Instant sessionStartTime,
+        SessionAggregates aggregates) {
+
+    /**
+     * Constructor.
+     *
+     * @param playerIdentifier the watched player's name or ID
+     * @param stats            the player's latest stats, or null if none yet
+     * @param initialStats     the player's stats when the session started, or null if none yet
+     * @param sessionStartTime when the player's session started
+     * @param aggregates       the running aggregates of the player's session
+     */
+    public MonitoringSnapshot {
+    }
+}
@@ -0,0 +1,24 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of a long-term rollup of monitoring samples.
+ */
+public enum RollupResolution {
+    HOURLY(ChronoUnit.HOURS),
+    DAILY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupResolution(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * @return the time unit a bucket spans
+     */
+    public ChronoUnit unit() {
+        return unit;
+    }
+}
@@ -0,0 +1,126 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * End-to-end time budget of a scan.
+ * <p>
+ * The deadline is bound to the threads working for the scan while they run, so that the
+ * API clients can size each request timeout from the budget left, without the deadline
+ * being threaded through every port.
+ */
+public final class ScanDeadline {
+
+    private static final ThreadLocal<ScanDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private ScanDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param budget the time allowed for the whole scan
+     * @return a deadline expiring once the budget has elapsed from now
+     */
+    public static ScanDeadline after(Duration budget) {
+        return new ScanDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @return the time left before the deadline, never negative
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return true once the deadline has passed
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Runs an action with this deadline bound to the current thread.
+     *
+     * @param action the action to run
+     */
+    public void runBound(Runnable action) {
+        ScanDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Gets a value with this deadline bound to the current thread, e.g. to start an
+     * asynchronous request whose timeout is sized from the budget left.
+     *
+     * @param action the action to call
+     * @param <T>    the result type
+     * @return the action's result
+     */
+    public <T> T supplyBound(Supplier<T> action) {
+        ScanDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls an action with this deadline bound to the current thread.
+     *
+     * @param action the action to call
+     * @param <T>    the result type
+     * @return the action's result
+     * @throws Exception if the action fails
+     */
+    public <T> T callBound(Callable<T> action) throws Exception {
+        ScanDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Timeout for a request issued from the current thread: the budget left by the bound
+     * deadline, kept between {@code floor} and {@code cap}. The floor lets requests still
+     * running past the deadline finish in the background; without a bound deadline, the
+     * cap is returned.
+     *
+     * @param floor the shortest timeout given to a request
+     * @param cap   the longest timeout given to a request
+     * @return the request timeout
+     */
+    public static Duration requestTimeout(Duration floor, Duration cap) {
+        ScanDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return cap;
+        }
+        Duration remaining = deadline.remaining();
+        if (remaining.compareTo(floor) < 0) {
+            return floor;
+        }
+        return remaining.compareTo(cap) > 0 ? cap : remaining;
+    }
+
+    private static void restore(ScanDeadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Domain model holding the state of the latest interactive scan, as shown in the Server tab.
+ * A new immutable instance is built on every scan event.
+ */
+public record ScanSnapshot(
+        Status status,
+        Instant startedAt,
+        Instant finishedAt,
+        String shortServerId,
+        ServerInfo server,
+        HackersSummary hackers,
+        List<ScanPlayer> players,
+        boolean complete,
+        String error) {
+
+    /**
+     * Constructor.
+     *
+     * @param status        the scan's progress
+     * @param startedAt     when the scan started
+     * @param finishedAt    when the scan finished or failed, or null while running
+     * @param shortServerId the server short ID read by OCR, or null if not read yet
+     * @param server        the server info, or null if not resolved yet
+     * @param hackers       the server's cheater breakdown, or null if not available
+     * @param players       the server's players, in API order
+     * @param complete      true if every result arrived within the scan budget
+     * @param error         the failure message, or null
+     */
+    public ScanSnapshot {
+        players = List.copyOf(players);
+    }
+
+    /**
+     * Progress of a scan.
+     */
+    public enum Status {
+        RUNNING,
+        FINISHED,
+        FAILED
+    }
+
+    /**
+     * A player of the scanned server, with its stats once loaded.
+     *
+     * @param name           the player's name
+     * @param playerId       the unique player ID
+     * @param rank           the player's rank (0 if not available)
+     * @param platoon        the player's platoon tag (if any)
+     * @param team           the team name
+     * @param loaded         true once the stats request has completed
+     * @param stats          the player's stats, or null if not loaded or unavailable
+     * @param flaggedMetrics the metrics that flagged this player, empty if none
+     */
+    public record ScanPlayer(
+            String name,
+            long playerId,
+            int rank,
+            String platoon,
+            String team,
+            boolean loaded,
+            UserStats stats,
+            List<String> flaggedMetrics) {
+
+        public ScanPlayer {
+            flaggedMetrics = List.copyOf(flaggedMetrics);
+        }
+    }
+}
@@ -17,4 +17,16 @@ public record ServerInfo(String serverName, String shortServerId, long longServe
      */
     public ServerInfo {
     }
+
+    /**
+     * Checks that a short server ID has the shape produced by OCR: digits only.
+     * A partial or malformed ID could otherwise match another server's prefix.
+     *
+     * @param shortServerId the short server ID to check
+     * @return true if the ID is a non-empty sequence of digits
+     */
+    public static boolean isValidShortId(String shortServerId) {
+        return shortServerId != null && !shortServerId.isEmpty() && shortServerId.length() <= 10
+                && shortServerId.chars().allMatch(c -> c >= '0' && c <= '9');
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Domain model holding the running aggregates of a monitored player's session.
+ * <p>
+ * A new immutable instance is published for every incoming snapshot, so readers
+ * never recompute anything from the raw history.
+ */
+public record SessionAggregates(
+        Instant sessionStart,
+        int kills,
+        int deaths,
+        double killDeath,
+        double killsPerMinute,
+        String headshots,
+        WindowStats last30Minutes,
+        WindowStats last60Minutes,
+        IntervalStats bestInterval,
+        IntervalStats worstInterval,
+        List<SessionPoint> points) {
+
+    /**
+     * Constructor.
+     *
+     * @param sessionStart   when the session started
+     * @param kills          kills since the session started
+     * @param deaths         deaths since the session started
+     * @param killDeath      session kill/death ratio
+     * @param killsPerMinute session kills per minute
+     * @param headshots      latest headshot percentage (as string with %)
+     * @param last30Minutes  aggregates over the last 30 minutes
+     * @param last60Minutes  aggregates over the last 60 minutes
+     * @param bestInterval   interval between two samples with the highest K/D, or null
+     * @param worstInterval  interval between two samples with the lowest K/D, or null
+     * @param points         one chart point per sample, oldest first
+     */
+    public SessionAggregates {
+    }
+
+    /**
+     * Aggregates of a session without any sample yet.
+     *
+     * @param sessionStart when the session started
+     * @return empty aggregates
+     */
+    public static SessionAggregates empty(Instant sessionStart) {
+        return new SessionAggregates(sessionStart, 0, 0, 0, 0, "0%",
+                WindowStats.empty(Duration.ofMinutes(30)), WindowStats.empty(Duration.ofMinutes(60)),
+                null, null, Collections.emptyList());
+    }
+
+    /**
+     * Kills and deaths over a rolling window ending at the latest sample.
+     *
+     * @param window  the nominal window length
+     * @param kills   kills within the window
+     * @param deaths  deaths within the window
+     * @param minutes minutes actually covered by the samples
+     */
+    public record WindowStats(Duration window, int kills, int deaths, double minutes) {
+
+        /**
+         * @param window the nominal window length
+         * @return a window without any activity
+         */
+        public static WindowStats empty(Duration window) {
+            return new WindowStats(window, 0, 0, 0);
+        }
+
+        /**
+         * @return kill/death ratio within the window
+         */
+        public double killDeath() {
+            return deaths > 0 ? (double) kills / deaths : kills;
+        }
+
+        /**
+         * @return kills per minute within the window
+         */
+        public double killsPerMinute() {
+            return minutes > 0 ? kills / minutes : 0;
+        }
+    }
+
+    /**
+     * Activity between two consecutive samples.
+     *
+     * @param from   timestamp of the earlier sample
+     * @param to     timestamp of the later sample
+     * @param kills  kills between the samples
+     * @param deaths deaths between the samples
+     */
+    public record IntervalStats(Instant from, Instant to, int kills, int deaths) {
+
+        /**
+         * @return kill/death ratio of the interval
+         */
+        public double killDeath() {
+            return deaths > 0 ? (double) kills / deaths : kills;
+        }
+    }
+
+    /**
+     * Session values at one sample, ready to be charted.
+     *
+     * @param timestamp      when the sample was recorded
+     * @param minutes        minutes since the session started
+     * @param killDeath      session kill/death ratio at this sample
+     * @param killsPerMinute session kills per minute at this sample
+     * @param headshots      headshot percentage at this sample
+     */
+    public record SessionPoint(Instant timestamp, double minutes, double killDeath,
+                               double killsPerMinute, double headshots) {
+    }
+}
@@ -0,0 +1,38 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Domain model summarizing the monitoring samples of one player over one time bucket.
+ */
+public record StatsRollup(
+        Instant bucketStart,
+        int samples,
+        double minKillDeath,
+        double maxKillDeath,
+        double lastKillDeath,
+        double minKillsPerMinute,
+        double maxKillsPerMinute,
+        double lastKillsPerMinute,
+        double minAccuracy,
+        double maxAccuracy,
+        double lastAccuracy) {
+
+    /**
+     * Constructor.
+     *
+     * @param bucketStart        start of the bucket
+     * @param samples            number of samples folded into the bucket
+     * @param minKillDeath       lowest kill/death ratio in the bucket
+     * @param maxKillDeath       highest kill/death ratio in the bucket
+     * @param lastKillDeath      most recent kill/death ratio in the bucket
+     * @param minKillsPerMinute  lowest kills per minute in the bucket
+     * @param maxKillsPerMinute  highest kills per minute in the bucket
+     * @param lastKillsPerMinute most recent kills per minute in the bucket
+     * @param minAccuracy        lowest accuracy percentage in the bucket
+     * @param maxAccuracy        highest accuracy percentage in the bucket
+     * @param lastAccuracy       most recent accuracy percentage in the bucket
+     */
+    public StatsRollup {
+    }
+}
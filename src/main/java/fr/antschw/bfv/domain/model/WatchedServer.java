@@ -0,0 +1,38 @@
+package fr.antschw.bfv.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Domain model holding the latest polled state of a server on the watch list.
+ */
+public record WatchedServer(
+        String shortServerId,
+        ServerInfo server,
+        HackersSummary hackers,
+        Instant updatedAt,
+        int consecutiveFailures,
+        String error) {
+
+    /**
+     * Constructor.
+     *
+     * @param shortServerId       the server short ID
+     * @param server              the server info, or null if never resolved
+     * @param hackers             the latest cheater breakdown, or null if never fetched
+     * @param updatedAt           when the breakdown was last fetched, or null
+     * @param consecutiveFailures polls failed in a row since the last success
+     * @param error               the last failure message, or null after a success
+     */
+    public WatchedServer {
+    }
+
+    /**
+     * State of a server just added to the watch list.
+     *
+     * @param shortServerId the server short ID
+     * @return state without any result yet
+     */
+    public static WatchedServer pending(String shortServerId) {
+        return new WatchedServer(shortServerId, null, null, null, 0, null);
+    }
+}
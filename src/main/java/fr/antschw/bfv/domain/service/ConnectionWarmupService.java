@@ -0,0 +1,12 @@
+package fr.antschw.bfv.domain.service;
+
+/**
+ * Port for opening connections to the API hosts ahead of the first request.
+ */
+public interface ConnectionWarmupService {
+    /**
+     * Resolves the API hosts and opens (or refreshes) a connection to each of them
+     * in the background. Returns immediately; does nothing when warm-up is disabled.
+     */
+    void warmUp();
+}
@@ -0,0 +1,20 @@
+package fr.antschw.bfv.domain.service;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Port for fetching the full cheater breakdown of a server.
+ */
+public interface HackersSummaryService {
+    /**
+     * Fetches the hacker summary for the given server asynchronously.
+     *
+     * @param longServerId the long server identifier (GameTools gameId)
+     * @return a future completed with the summary, or exceptionally with an
+     *         {@link fr.antschw.bfv.domain.exception.ApiRequestException}; cancelling it
+     *         aborts the underlying request
+     */
+    CompletableFuture<HackersSummary> fetchHackersSummary(long longServerId);
+}
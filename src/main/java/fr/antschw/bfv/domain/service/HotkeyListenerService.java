@@ -2,6 +2,9 @@ package fr.antschw.bfv.domain.service;
 
 import fr.antschw.bfv.domain.exception.HotkeyListenerException;
 
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
 /**
  * Defines contract for listening to global hotkey events.
  */
@@ -9,11 +12,15 @@ public interface HotkeyListenerService {
 
     /**
      * Starts listening for the configured hotkey.
+     * <p>
+     * The screen is captured as soon as the hotkey is pressed, on a dedicated thread;
+     * the callback then runs on that thread with the captured image.
      *
-     * @param onHotkeyPressed callback to execute when hotkey is triggered
+     * @param onHotkeyCapture callback receiving the screenshot taken at the keypress,
+     *                        or {@code null} if the capture failed
      * @throws HotkeyListenerException if listener setup fails
      */
-    void startListening(Runnable onHotkeyPressed) throws HotkeyListenerException;
+    void startListening(Consumer<BufferedImage> onHotkeyCapture) throws HotkeyListenerException;
 
     /**
      * Stops listening for hotkey events.
@@ -0,0 +1,52 @@
+package fr.antschw.bfv.domain.service;
+
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.ScanSnapshot;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Port for the local API sharing scan and monitoring results with other tools on the
+ * same machine (overlays, bots), so they do not query the upstream APIs themselves.
+ * <p>
+ * The latest published results are kept while the API is stopped and served as soon as
+ * it starts. Web pages may only read it from the allowed origins, and requests addressed
+ * to any host name other than the loopback one are refused (DNS rebinding).
+ */
+public interface LocalApiService {
+
+    /**
+     * Starts serving on the loopback interface, restarting if already running.
+     *
+     * @param port           the TCP port to listen on
+     * @param allowedOrigins web origins allowed to read the API from a browser
+     *                       ({@code null} for pages opened from a file); none by default
+     * @throws IOException if the port cannot be bound
+     */
+    void start(int port, List<String> allowedOrigins) throws IOException;
+
+    /**
+     * Stops serving and disconnects the streaming clients. Does nothing if not running.
+     */
+    void stop();
+
+    /**
+     * @return true while the API is serving
+     */
+    boolean isRunning();
+
+    /**
+     * Publishes the latest state of the interactive scan.
+     *
+     * @param snapshot the scan's state
+     */
+    void publishScan(ScanSnapshot snapshot);
+
+    /**
+     * Publishes the latest snapshots of the watched players.
+     *
+     * @param snapshots one snapshot per watched player, the primary player first
+     */
+    void publishMonitoring(List<MonitoringSnapshot> snapshots);
+}
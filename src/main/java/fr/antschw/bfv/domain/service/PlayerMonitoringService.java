@@ -1,20 +1,32 @@
 package fr.antschw.bfv.domain.service;
 
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.RollupResolution;
 import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.StatsRollup;
 import fr.antschw.bfv.domain.model.UserStats;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
- * Service for monitoring a player's statistics over time.
+ * Service for monitoring players' statistics over time.
+ * <p>
+ * Several players can be watched at once, each with its own session. The primary player
+ * is the one started through {@link #startMonitoring}; the methods without a player
+ * argument apply to it.
+ * <p>
+ * Listeners registered through {@link #addMonitoringListener} receive a {@link MonitoringSnapshot}
+ * once per new sample of any watched player, on the monitoring thread.
  */
 public interface PlayerMonitoringService {
 
     /**
-     * Starts monitoring the specified player.
+     * Starts monitoring the specified player as the primary player,
+     * replacing the previous primary player.
      *
      * @param playerIdentifier the player name or ID to monitor
      * @param isPlayerId       true if the identifier is a player ID, false if it's a name
@@ -23,47 +35,112 @@ public interface PlayerMonitoringService {
     void startMonitoring(String playerIdentifier, boolean isPlayerId, Consumer<UserStats> onStatsUpdated);
 
     /**
-     * Stops the current monitoring.
+     * Stops monitoring all players.
      */
     void stopMonitoring();
 
     /**
-     * Gets the player currently being monitored.
+     * Registers a listener notified once per new sample, and when a session is cleared.
+     * Listeners run on the monitoring thread and must not block.
      *
-     * @return the monitored player's latest stats or empty if none
+     * @param listener the listener to add
      */
-    Optional<UserStats> getCurrentStats();
+    void addMonitoringListener(Consumer<MonitoringSnapshot> listener);
 
     /**
-     * Gets the player's initial stats from when the monitoring started.
+     * Unregisters a listener.
      *
-     * @return the monitored player's initial stats or empty if none
+     * @param listener the listener to remove
      */
-    Optional<UserStats> getInitialStats();
+    void removeMonitoringListener(Consumer<MonitoringSnapshot> listener);
 
     /**
-     * Gets all session stats recorded since monitoring started.
+     * Adds a player to the watch set, starting a new session for it.
+     * Does nothing if the player is already watched.
      *
+     * @param playerIdentifier the player name or ID to watch
+     * @param isPlayerId       true if the identifier is a player ID, false if it's a name
+     */
+    void watchPlayer(String playerIdentifier, boolean isPlayerId);
+
+    /**
+     * Removes a player from the watch set and discards its session.
+     *
+     * @param playerIdentifier the player name or ID
+     */
+    void unwatchPlayer(String playerIdentifier);
+
+    /**
+     * Gets all watched players, the primary player first.
+     *
+     * @return list of player identifiers
+     */
+    List<String> getWatchedPlayers();
+
+    /**
+     * Gets a consistent view of a watched player's session: latest and initial stats,
+     * session start and aggregates, all read from the same state.
+     *
+     * @param playerIdentifier the player name or ID
+     * @return the player's snapshot or empty if not watched
+     */
+    Optional<MonitoringSnapshot> getSnapshot(String playerIdentifier);
+
+    /**
+     * Gets a consistent view of the primary player's session; the primary player is
+     * resolved from the same state as the snapshot.
+     *
+     * @return the primary player's snapshot or empty if not monitoring
+     */
+    Optional<MonitoringSnapshot> getPrimarySnapshot();
+
+    /**
+     * Gets all session stats recorded for a watched player.
+     *
+     * @param playerIdentifier the player name or ID
      * @return list of session stats snapshots
      */
-    List<SessionStats> getSessionHistory();
+    List<SessionStats> getSessionHistory(String playerIdentifier);
 
     /**
-     * Clears the current session history.
+     * Gets a player's long-term trend from the persisted history, across sessions.
+     * The player does not need to be watched.
+     *
+     * @param playerIdentifier the player name or ID
+     * @param resolution       the bucket size
+     * @param from             start of the range (inclusive)
+     * @param to               end of the range (exclusive)
+     * @return the rollups in the range, oldest first
      */
-    void clearSessionHistory();
+    List<StatsRollup> getStatsTrend(String playerIdentifier, RollupResolution resolution, Instant from, Instant to);
 
     /**
-     * Gets the timestamp when monitoring started.
+     * Clears the session history of a watched player.
      *
-     * @return the start time or null if not monitoring
+     * @param playerIdentifier the player name or ID
      */
-    Instant getSessionStartTime();
+    void clearSessionHistory(String playerIdentifier);
 
     /**
-     * Gets the player identifier (name or ID) currently being monitored.
+     * Gets the primary player identifier (name or ID).
      *
      * @return the player identifier or empty if none
      */
     Optional<String> getMonitoredPlayer();
-}
\ No newline at end of file
+
+    /**
+     * Gets all session stats recorded for the primary player.
+     *
+     * @return list of session stats snapshots
+     */
+    default List<SessionStats> getSessionHistory() {
+        return getMonitoredPlayer().map(this::getSessionHistory).orElse(Collections.emptyList());
+    }
+
+    /**
+     * Clears the primary player's session history.
+     */
+    default void clearSessionHistory() {
+        getMonitoredPlayer().ifPresent(this::clearSessionHistory);
+    }
+}
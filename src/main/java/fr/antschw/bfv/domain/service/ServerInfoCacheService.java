@@ -0,0 +1,52 @@
+package fr.antschw.bfv.domain.service;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+
+import java.util.Optional;
+
+/**
+ * Port for caching per-server lookups between scans.
+ */
+public interface ServerInfoCacheService {
+
+    /**
+     * Returns the long server ID previously resolved for a short ID.
+     * This mapping never changes and is kept across restarts.
+     *
+     * @param shortServerId the OCR-detected short server ID
+     * @return the long server ID, or empty if the server was never resolved
+     */
+    Optional<Long> getLongServerId(String shortServerId);
+
+    /**
+     * Records the long server ID resolved for a short ID.
+     *
+     * @param shortServerId the short server ID
+     * @param longServerId  the long server ID returned by GameTools
+     */
+    void putLongServerId(String shortServerId, long longServerId);
+
+    /**
+     * Returns the hacker summary of a server if it was fetched recently.
+     *
+     * @param longServerId the long server ID
+     * @return a fresh summary, or empty if none is cached or it has expired
+     */
+    Optional<HackersSummary> getHackersSummary(long longServerId);
+
+    /**
+     * Returns the last summary fetched for a server, whatever its age.
+     *
+     * @param longServerId the long server ID
+     * @return the last-known summary, or empty if the server was never fetched
+     */
+    Optional<HackersSummary> getLastKnownHackersSummary(long longServerId);
+
+    /**
+     * Records a freshly fetched hacker summary.
+     *
+     * @param longServerId the long server ID
+     * @param summary      the summary returned by BFVHackers
+     */
+    void putHackersSummary(long longServerId, HackersSummary summary);
+}
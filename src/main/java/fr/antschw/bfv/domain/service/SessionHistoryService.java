@@ -0,0 +1,45 @@
+package fr.antschw.bfv.domain.service;
+
+import fr.antschw.bfv.domain.model.RollupResolution;
+import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.StatsRollup;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Port for the persistent, per-player history of monitoring samples.
+ * <p>
+ * Raw samples are kept for a limited retention window; hourly and daily rollups
+ * are kept indefinitely for long-term trends.
+ */
+public interface SessionHistoryService {
+
+    /**
+     * Appends a sample to a player's history.
+     *
+     * @param playerIdentifier the player name or ID
+     * @param stats            the sample to store
+     * @param sessionStart     true if the sample opens a new session
+     */
+    void append(String playerIdentifier, SessionStats stats, boolean sessionStart);
+
+    /**
+     * Loads the samples of a player's most recent session, oldest first.
+     *
+     * @param playerIdentifier the player name or ID
+     * @return the samples of the last session, or an empty list if none
+     */
+    List<SessionStats> getLastSession(String playerIdentifier);
+
+    /**
+     * Loads a player's rollups whose bucket starts within a time range, oldest first.
+     *
+     * @param playerIdentifier the player name or ID
+     * @param resolution       the bucket size
+     * @param from             start of the range (inclusive)
+     * @param to               end of the range (exclusive)
+     * @return the rollups in the range
+     */
+    List<StatsRollup> getRollups(String playerIdentifier, RollupResolution resolution, Instant from, Instant to);
+}
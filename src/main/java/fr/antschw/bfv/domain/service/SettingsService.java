@@ -1,5 +1,7 @@
 package fr.antschw.bfv.domain.service;
 
+import java.util.List;
+
 /**
  * Interface de service pour la gestion des paramètres persistants.
  */
@@ -33,6 +35,34 @@ public interface SettingsService {
      */
     void setPlayerName(String playerName);
 
+    /**
+     * Récupère les joueurs de l'escouade surveillés en plus du joueur principal.
+     *
+     * @return la liste des noms de joueurs
+     */
+    List<String> getWatchedPlayers();
+
+    /**
+     * Définit les joueurs de l'escouade surveillés en plus du joueur principal.
+     *
+     * @param players la liste des noms de joueurs
+     */
+    void setWatchedPlayers(List<String> players);
+
+    /**
+     * Récupère les serveurs surveillés (identifiants courts), interrogés périodiquement.
+     *
+     * @return la liste des identifiants courts
+     */
+    List<String> getWatchedServers();
+
+    /**
+     * Définit les serveurs surveillés.
+     *
+     * @param shortServerIds la liste des identifiants courts
+     */
+    void setWatchedServers(List<String> shortServerIds);
+
     /**
      * Indique si l'identifiant du joueur est utilisé.
      *
@@ -46,4 +76,131 @@ public interface SettingsService {
      * @param usePlayerId true pour utiliser l'ID, false pour le nom
      */
     void setUsePlayerId(boolean usePlayerId);
-}
\ No newline at end of file
+
+    /**
+     * Indique si les requêtes couvertes (hedged requests) vers BFVHackers sont activées.
+     *
+     * @return true si une seconde tentative peut être émise après le délai p95
+     */
+    boolean isHedgedRequestsEnabled();
+
+    /**
+     * Active ou désactive les requêtes couvertes vers BFVHackers.
+     *
+     * @param enabled true pour activer
+     */
+    void setHedgedRequestsEnabled(boolean enabled);
+
+    /**
+     * Indique si les connexions vers les API sont préchauffées au démarrage et à chaque scan.
+     *
+     * @return true si le préchauffage est activé
+     */
+    boolean isConnectionWarmupEnabled();
+
+    /**
+     * Active ou désactive le préchauffage des connexions vers les API.
+     *
+     * @param enabled true pour activer
+     */
+    void setConnectionWarmupEnabled(boolean enabled);
+
+    /**
+     * Récupère le budget de temps d'un scan, de la capture aux statistiques du dernier joueur.
+     *
+     * @return le budget en secondes
+     */
+    int getScanBudgetSeconds();
+
+    /**
+     * Définit le budget de temps d'un scan.
+     *
+     * @param seconds le budget en secondes
+     */
+    void setScanBudgetSeconds(int seconds);
+
+    /**
+     * Indique si le préchargement en arrière-plan des statistiques des joueurs fréquents est activé.
+     *
+     * @return true si le préchargement est activé
+     */
+    boolean isStatsPrefetchEnabled();
+
+    /**
+     * Active ou désactive le préchargement en arrière-plan des statistiques.
+     *
+     * @param enabled true pour activer
+     */
+    void setStatsPrefetchEnabled(boolean enabled);
+
+    /**
+     * Récupère le budget de requêtes par heure alloué au préchargement.
+     *
+     * @return le nombre maximal de requêtes par heure
+     */
+    int getPrefetchRequestsPerHour();
+
+    /**
+     * Définit le budget de requêtes par heure alloué au préchargement.
+     *
+     * @param requestsPerHour le nombre maximal de requêtes par heure
+     */
+    void setPrefetchRequestsPerHour(int requestsPerHour);
+
+    /**
+     * Récupère le budget de requêtes par heure alloué à la surveillance du joueur.
+     *
+     * @return le nombre maximal de requêtes par heure
+     */
+    int getMonitoringRequestsPerHour();
+
+    /**
+     * Définit le budget de requêtes par heure alloué à la surveillance du joueur.
+     *
+     * @param requestsPerHour le nombre maximal de requêtes par heure
+     */
+    void setMonitoringRequestsPerHour(int requestsPerHour);
+
+    /**
+     * Indique si l'API locale (résultats des scans et de la surveillance) est activée.
+     *
+     * @return true si l'API locale est activée
+     */
+    boolean isLocalApiEnabled();
+
+    /**
+     * Active ou désactive l'API locale.
+     *
+     * @param enabled true pour activer
+     */
+    void setLocalApiEnabled(boolean enabled);
+
+    /**
+     * Récupère le port d'écoute de l'API locale.
+     *
+     * @return le port TCP
+     */
+    int getLocalApiPort();
+
+    /**
+     * Définit le port d'écoute de l'API locale.
+     *
+     * @param port le port TCP
+     */
+    void setLocalApiPort(int port);
+
+    /**
+     * Récupère les origines web autorisées à lire l'API locale depuis un navigateur
+     * ({@code null} pour les pages ouvertes depuis un fichier).
+     *
+     * @return les origines autorisées, vide par défaut
+     */
+    List<String> getLocalApiAllowedOrigins();
+
+    /**
+     * Définit les origines web autorisées à lire l'API locale depuis un navigateur.
+     *
+     * @param origins les origines autorisées, par exemple {@code http://localhost:3000} ou {@code null}
+     */
+    void setLocalApiAllowedOrigins(List<String> origins);
+}
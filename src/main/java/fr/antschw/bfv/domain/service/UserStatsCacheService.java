@@ -1,6 +1,7 @@
 package fr.antschw.bfv.domain.service;
 
 import fr.antschw.bfv.domain.model.UserStats;
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -9,4 +10,9 @@ import java.util.Optional;
 public interface UserStatsCacheService {
     Optional<UserStats> getCachedStats(String username);
     void putStats(UserStats stats);
+
+    /**
+     * Returns when the cached stats of a player were fetched, if present and not expired.
+     */
+    Optional<Instant> getFetchTime(String username);
 }
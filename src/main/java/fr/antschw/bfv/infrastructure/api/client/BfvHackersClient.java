@@ -1,108 +1,293 @@
 package fr.antschw.bfv.infrastructure.api.client;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.inject.Singleton;
 import com.google.inject.Inject;
 import fr.antschw.bfv.application.util.AppConstants;
 import fr.antschw.bfv.domain.model.HackersSummary;
 import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.service.HackersSummaryService;
+import fr.antschw.bfv.domain.service.ServerInfoCacheService;
 import fr.antschw.bfv.domain.service.ServerInfoService;
+import fr.antschw.bfv.domain.service.SettingsService;
 import fr.antschw.bfv.domain.exception.ApiRequestException;
+import fr.antschw.bfv.infrastructure.api.resilience.CircuitBreaker;
+import fr.antschw.bfv.infrastructure.api.resilience.LatencyTracker;
+import fr.antschw.bfv.infrastructure.api.util.ApiTimeouts;
 import fr.antschw.bfv.infrastructure.api.util.ApiUrlBuilder;
+import fr.antschw.bfv.infrastructure.api.util.CompressedBodyHandlers;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Client for BFVHackers API to fetch cheater count using Jackson.
+ * Client for BFVHackers API to fetch the cheater breakdown of a server using Jackson.
+ * <p>
+ * Summaries fetched recently for the same server are served from the cache.
+ * Protected by a circuit breaker: while bfvhackers.com is unhealthy, calls fail
+ * fast and fall back to the last-known summary for the server. Optionally, a
+ * second (hedged) attempt is fired once the first one exceeds the observed p95 latency.
+ * <p>
+ * Cancelling a returned future aborts the HTTP exchanges still in flight, primary and
+ * hedged, without counting as a failure of the service.
  */
 @Singleton
-public class BfvHackersClient implements ServerInfoService {
+public class BfvHackersClient implements ServerInfoService, HackersSummaryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BfvHackersClient.class);
+
+    private static final int CIRCUIT_FAILURE_THRESHOLD = 3;
+    private static final Duration CIRCUIT_OPEN_DURATION = Duration.ofSeconds(60);
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final long HEDGE_DEFAULT_DELAY_MILLIS = 1500;
+    private static final int LATENCY_WINDOW = 50;
+    private static final int LATENCY_MIN_SAMPLES = 5;
 
     private final HttpClient httpClient;
-    private final ObjectMapper mapper;
+    private final ObjectReader summaryReader;
+    private final SettingsService settingsService;
+    private final ServerInfoCacheService cache;
+    private final CircuitBreaker circuitBreaker =
+            new CircuitBreaker(AppConstants.BFVHACKERS_NAME, CIRCUIT_FAILURE_THRESHOLD, CIRCUIT_OPEN_DURATION);
+    private final LatencyTracker latencyTracker = new LatencyTracker(LATENCY_WINDOW, LATENCY_MIN_SAMPLES);
 
     @Inject
-    public BfvHackersClient() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
-                .build();
-        this.mapper = new ObjectMapper()
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    public BfvHackersClient(SettingsService settingsService, ServerInfoCacheService cache, HttpClient httpClient, JsonCodec codec) {
+        this.settingsService = settingsService;
+        this.cache = cache;
+        this.httpClient = httpClient;
+        this.summaryReader = codec.readerFor(SummaryResponse.class);
     }
 
     @Override
     public ServerInfo fetchServerInfo(String serverId) throws ApiRequestException {
+        long longId = parseServerId(serverId);
         try {
-            URI uri = ApiUrlBuilder.buildBfvHackersUri(serverId);
-            HttpRequest request = HttpRequest.newBuilder()
+            return toServerInfo(longId, fetchHackersSummary(longId).join());
+        } catch (CompletionException e) {
+            throw toApiException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HackersSummary> fetchHackersSummary(long longServerId) {
+        Optional<HackersSummary> cached = cache.getHackersSummary(longServerId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        // Construite avant de consulter le disjoncteur : une erreur locale ne dit rien de la santé du service
+        HttpRequest request;
+        try {
+            URI uri = ApiUrlBuilder.buildBfvHackersUri(String.valueOf(longServerId));
+            request = CompressedBodyHandlers.acceptCompressed(HttpRequest.newBuilder())
                     .uri(uri)
-                    .timeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
+                    .timeout(ApiTimeouts.requestTimeout())
                     .header("Accept", "application/json")
                     .GET()
                     .build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new ApiRequestException("Error fetching cheater data", e));
+        }
 
-            HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ApiRequestException(
-                        "BFVHackers API returned status code: " + response.statusCode()
-                );
+        if (!circuitBreaker.tryAcquire()) {
+            try {
+                return CompletableFuture.completedFuture(fallback(longServerId,
+                        new ApiRequestException("BFVHackers circuit is open, skipping request")));
+            } catch (ApiRequestException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> sent = send(request);
+        CompletableFuture<HackersSummary> summary = sent.handle((response, error) -> {
+            try {
+                return handleResponse(longServerId, response, error);
+            } catch (ApiRequestException e) {
+                throw new CompletionException(e);
+            }
+        });
+        // Cancelling the summary (scan superseded or closed) aborts the requests themselves
+        summary.whenComplete((result, error) -> {
+            if (summary.isCancelled()) {
+                sent.cancel(true);
             }
+        });
+        return summary;
+    }
 
-            JsonNode json = mapper.readTree(response.body());
-            HackersSummary summary = parseHackersSummary(json);
-            
-            long longId = Long.parseLong(serverId);
-            ServerInfo info = new ServerInfo(
-                    "BFV Server " + serverId,
-                    "",
-                    longId,
-                    summary.numHackers()
+    /**
+     * Updates the circuit breaker with the outcome of a request and turns it into a summary,
+     * falling back to the last-known summary when the service is unhealthy.
+     */
+    private HackersSummary handleResponse(long longServerId, HttpResponse<byte[]> response, Throwable error)
+            throws ApiRequestException {
+        if (unwrap(error) instanceof CancellationException) {
+            // Abandoned by the caller: says nothing about the service's health
+            circuitBreaker.releaseTrial();
+            throw new ApiRequestException("BFVHackers request cancelled", unwrap(error));
+        }
+        if (error != null) {
+            circuitBreaker.recordFailure();
+            return fallback(longServerId, new ApiRequestException("Error fetching cheater data", unwrap(error)));
+        }
+        if (response.statusCode() >= 500) {
+            circuitBreaker.recordFailure();
+            return fallback(longServerId, new ApiRequestException(
+                    "BFVHackers API returned status code: " + response.statusCode()
+            ));
+        }
+        // Le service a répondu : il est sain, même si la réponse n'est pas exploitable
+        circuitBreaker.recordSuccess();
+        if (response.statusCode() != 200) {
+            throw new ApiRequestException(
+                    "BFVHackers API returned status code: " + response.statusCode()
             );
-            
-            // Stocker le résumé complet dans la variable statique pour accès par ServerView
-            latestSummary = summary;
-            
-            return info;
-        } catch (ApiRequestException e) {
-            throw e;
+        }
+
+        HackersSummary summary;
+        try {
+            summary = toHackersSummary(summaryReader.readValue(response.body()));
         } catch (Exception e) {
-            throw new ApiRequestException("Error fetching cheater data", e);
+            throw new ApiRequestException("Error parsing cheater data", e);
         }
+        cache.putHackersSummary(longServerId, summary);
+        return summary;
     }
-    
+
+    /**
+     * Sends the request, racing a hedged second attempt against the first one
+     * when hedging is enabled and the first attempt exceeds the p95 delay.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger(1);
+
+        CompletableFuture<HttpResponse<byte[]>> primary = sendTimed(request);
+        primary.whenComplete((response, error) -> settle(result, inFlight, response, error));
+        result.whenComplete((response, error) -> primary.cancel(true));
+
+        if (settingsService.isHedgedRequestsEnabled()) {
+            long delay = latencyTracker.percentile(HEDGE_PERCENTILE).orElse(HEDGE_DEFAULT_DELAY_MILLIS);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                inFlight.incrementAndGet();
+                LOGGER.debug("BFVHackers request still pending after {} ms, sending hedged request", delay);
+                CompletableFuture<HttpResponse<byte[]>> hedge = sendTimed(request);
+                hedge.whenComplete((response, error) -> settle(result, inFlight, response, error));
+                result.whenComplete((response, error) -> hedge.cancel(true));
+            });
+        }
+
+        Duration timeout = request.timeout().orElse(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS));
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends one attempt and records its latency on success.
+     * Returns the client's own future, so that cancelling it aborts the exchange.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendTimed(HttpRequest request) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                httpClient.sendAsync(request, CompressedBodyHandlers.ofDecodedBytes());
+        exchange.whenComplete((response, error) -> {
+            if (error == null) {
+                latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        });
+        return exchange;
+    }
+
+    /**
+     * Completes the race with the first successful attempt, or with the last failure.
+     */
+    private static <T> void settle(CompletableFuture<T> result, AtomicInteger inFlight, T value, Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else if (inFlight.decrementAndGet() == 0) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Returns the last-known summary for this server while the service is unhealthy,
+     * or rethrows the failure if the server was never fetched successfully.
+     */
+    private HackersSummary fallback(long longId, ApiRequestException failure) throws ApiRequestException {
+        HackersSummary lastKnown = cache.getLastKnownHackersSummary(longId).orElseThrow(() -> failure);
+        LOGGER.warn("{} - using last-known summary for server {}", failure.getMessage(), longId);
+        return lastKnown;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static ApiRequestException toApiException(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof ApiRequestException apiException
+                ? apiException
+                : new ApiRequestException("Error fetching cheater data", cause);
+    }
+
+    private static long parseServerId(String serverId) throws ApiRequestException {
+        try {
+            return Long.parseLong(serverId);
+        } catch (NumberFormatException e) {
+            throw new ApiRequestException("Invalid long server ID: " + serverId, e);
+        }
+    }
+
+    private ServerInfo toServerInfo(long longId, HackersSummary summary) {
+        return new ServerInfo(
+                "BFV Server " + longId,
+                "",
+                longId,
+                summary.numHackers()
+        );
+    }
+
     /**
      * Parse les données JSON en objet HackersSummary.
-     * 
+     *
      * @param json Le nœud JSON contenant la réponse de l'API
      * @return Un objet HackersSummary
      */
-    private HackersSummary parseHackersSummary(JsonNode json) {
+    private static HackersSummary toHackersSummary(SummaryResponse json) {
         return new HackersSummary(
-                json.path("total_players").asInt(0),
-                json.path("num_legit").asInt(0),
-                json.path("num_sus").asInt(0),
-                json.path("num_v_sus").asInt(0),
-                json.path("num_hackers").asInt(0),
-                json.path("age").asInt(0)
+                json.totalPlayers(),
+                json.numLegit(),
+                json.numSus(),
+                json.numVerySus(),
+                json.numHackers(),
+                json.age()
         );
     }
-    
-    // Variable statique pour stocker le dernier résumé obtenu
-    private static HackersSummary latestSummary;
-    
+
     /**
-     * Permet d'obtenir le dernier résumé des hackers récupéré par l'API.
-     * 
-     * @return Le dernier résumé ou null si aucun appel n'a été effectué
+     * Body of a cheater breakdown response; absent counts bind to 0.
      */
-    public static HackersSummary getLatestSummary() {
-        return latestSummary;
+    record SummaryResponse(@JsonProperty(AppConstants.JSON_TOTAL_PLAYERS) int totalPlayers,
+                           @JsonProperty(AppConstants.JSON_NUM_LEGIT) int numLegit,
+                           @JsonProperty(AppConstants.JSON_NUM_SUS) int numSus,
+                           @JsonProperty(AppConstants.JSON_NUM_V_SUS) int numVerySus,
+                           @JsonProperty(AppConstants.JSON_NUM_HACKERS) int numHackers,
+                           @JsonProperty(AppConstants.JSON_AGE) int age) {
     }
-}
\ No newline at end of file
+}
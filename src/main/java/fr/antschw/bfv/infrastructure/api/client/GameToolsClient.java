@@ -1,77 +1,85 @@
 package fr.antschw.bfv.infrastructure.api.client;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.inject.Singleton;
 import com.google.inject.Inject;
 import fr.antschw.bfv.application.util.AppConstants;
 import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.service.ServerInfoCacheService;
 import fr.antschw.bfv.domain.service.ServerInfoService;
 import fr.antschw.bfv.domain.exception.ApiRequestException;
+import fr.antschw.bfv.infrastructure.api.util.ApiTimeouts;
 import fr.antschw.bfv.infrastructure.api.util.ApiUrlBuilder;
+import fr.antschw.bfv.infrastructure.api.util.CompressedBodyHandlers;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.List;
 
 /**
  * Client for GameTools API to fetch server info using Jackson.
+ * Short IDs already resolved once are answered from the persisted mapping,
+ * skipping the /bfv/servers lookup entirely.
  */
 @Singleton
 public class GameToolsClient implements ServerInfoService {
 
     private final HttpClient httpClient;
-    private final ObjectMapper mapper;
+    private final ObjectReader serversReader;
+    private final ServerInfoCacheService cache;
 
     @Inject
-    public GameToolsClient() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
-                .build();
-        this.mapper = new ObjectMapper()
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    public GameToolsClient(ServerInfoCacheService cache, HttpClient httpClient, JsonCodec codec) {
+        this.cache = cache;
+        this.httpClient = httpClient;
+        this.serversReader = codec.readerFor(ServersResponse.class);
     }
 
     @Override
     public ServerInfo fetchServerInfo(String shortServerId) throws ApiRequestException {
+        var knownLongId = cache.getLongServerId(shortServerId);
+        if (knownLongId.isPresent()) {
+            return toServerInfo(shortServerId, knownLongId.get());
+        }
+
         try {
             URI uri = ApiUrlBuilder.buildGameToolsUri(shortServerId);
-            HttpRequest request = HttpRequest.newBuilder()
+            HttpRequest request = CompressedBodyHandlers.acceptCompressed(HttpRequest.newBuilder())
                     .uri(uri)
-                    .timeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
+                    .timeout(ApiTimeouts.requestTimeout())
                     .header("Accept", "application/json")
                     .GET()
                     .build();
 
-            HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ApiRequestException(
-                        "GameTools API returned status code: " + response.statusCode()
-                );
+            HttpResponse<InputStream> response =
+                    httpClient.send(request, CompressedBodyHandlers.ofDecodedStream());
+            ServersResponse root;
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new ApiRequestException(
+                            "GameTools API returned status code: " + response.statusCode()
+                    );
+                }
+                root = serversReader.readValue(body);
             }
-
-            JsonNode root = mapper.readTree(response.body());
-            JsonNode servers = root.path(AppConstants.JSON_SERVERS);
-            if (!servers.isArray() || servers.isEmpty()) {
+            List<ServerResponse> servers = root.servers();
+            if (servers == null || servers.isEmpty()) {
                 throw new ApiRequestException(
                         "No servers found for short ID: " + shortServerId
                 );
             }
 
-            for (JsonNode srv : servers) {
-                String prefix = srv.path(AppConstants.JSON_PREFIX).asText("");
-                if (prefix.contains("#" + shortServerId)) {
-                    long longId = Long.parseLong(srv.path(AppConstants.JSON_GAMEID).asText());
-                    return new ServerInfo(
-                            "Server #" + shortServerId,
-                            shortServerId,
-                            longId,
-                            0
-                    );
+            for (ServerResponse srv : servers) {
+                String prefix = srv.prefix() != null ? srv.prefix() : "";
+                if (hasShortIdToken(prefix, shortServerId)) {
+                    long longId = Long.parseLong(srv.gameId());
+                    cache.putLongServerId(shortServerId, longId);
+                    return toServerInfo(shortServerId, longId);
                 }
             }
 
@@ -84,4 +92,41 @@ public class GameToolsClient implements ServerInfoService {
             throw new ApiRequestException("Error fetching server info", e);
         }
     }
+
+    /**
+     * Checks that a server prefix contains the exact token {@code #<shortId>}, not followed by
+     * another digit: "#12" must not match a server whose prefix holds "#123".
+     */
+    static boolean hasShortIdToken(String prefix, String shortServerId) {
+        String token = "#" + shortServerId;
+        int from = 0;
+        int index;
+        while ((index = prefix.indexOf(token, from)) >= 0) {
+            int end = index + token.length();
+            if (end == prefix.length() || !Character.isDigit(prefix.charAt(end))) {
+                return true;
+            }
+            from = index + 1;
+        }
+        return false;
+    }
+
+    private ServerInfo toServerInfo(String shortServerId, long longId) {
+        return new ServerInfo(
+                "Server #" + shortServerId,
+                shortServerId,
+                longId,
+                0
+        );
+    }
+
+    /**
+     * Body of a servers response.
+     */
+    record ServersResponse(@JsonProperty(AppConstants.JSON_SERVERS) List<ServerResponse> servers) {
+    }
+
+    record ServerResponse(@JsonProperty(AppConstants.JSON_PREFIX) String prefix,
+                          @JsonProperty(AppConstants.JSON_GAMEID) String gameId) {
+    }
 }
@@ -1,8 +1,7 @@
 package fr.antschw.bfv.infrastructure.api.client;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.inject.Singleton;
 import com.google.inject.Inject;
 import fr.antschw.bfv.application.util.AppConstants;
@@ -12,71 +11,100 @@ import fr.antschw.bfv.domain.model.UserStats;
 import fr.antschw.bfv.domain.service.ServerPlayersService;
 import fr.antschw.bfv.domain.service.UserStatsService;
 import fr.antschw.bfv.domain.exception.ApiRequestException;
+import fr.antschw.bfv.infrastructure.api.util.ApiTimeouts;
 import fr.antschw.bfv.infrastructure.api.util.ApiUrlBuilder;
+import fr.antschw.bfv.infrastructure.api.util.CompressedBodyHandlers;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
 
 /**
  * Client for GameTools API to fetch player list and individual stats using Jackson.
+ * <p>
+ * Stats requests are conditional: the validators (ETag, Last-Modified) of the last response
+ * are kept per player alongside the parsed stats, and a 304 response reuses those stats without
+ * any parsing. When the upstream sends no validators, a CRC32C hash of the body detects an
+ * unchanged response and skips the JSON parsing as well. Responses are requested compressed;
+ * player lists are inflated straight into the parser, stats bodies only when they changed.
+ * Both are bound directly to response records by the shared {@link JsonCodec} readers.
  */
 @Singleton
 public class PlayerClient
         implements ServerPlayersService, UserStatsService {
 
+    private static final int MAX_VALIDATED_PLAYERS = 512;
+
     private final HttpClient httpClient;
-    private final ObjectMapper mapper;
+    private final ObjectReader playersReader;
+    private final ObjectReader statsReader;
+
+    // Last response per player, least recently used evicted first
+    private final Map<String, ValidatedStats> validatedStats = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ValidatedStats> eldest) {
+                    return size() > MAX_VALIDATED_PLAYERS;
+                }
+            });
 
     @Inject
-    public PlayerClient() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
-                .build();
-        this.mapper = new ObjectMapper()
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    public PlayerClient(HttpClient httpClient, JsonCodec codec) {
+        this.httpClient = httpClient;
+        this.playersReader = codec.readerFor(PlayersResponse.class);
+        this.statsReader = codec.readerFor(StatsResponse.class);
     }
 
     @Override
     public ServerPlayers fetchServerPlayers(String serverId) throws ApiRequestException {
         try {
             URI uri = ApiUrlBuilder.buildGameToolsPlayersUri(serverId);
-            HttpRequest request = HttpRequest.newBuilder()
+            HttpRequest request = CompressedBodyHandlers.acceptCompressed(HttpRequest.newBuilder())
                     .uri(uri)
-                    .timeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
+                    .timeout(ApiTimeouts.requestTimeout())
                     .header("Accept", "application/json")
                     .GET()
                     .build();
 
-            HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ApiRequestException(
-                        "GameTools Players API returned status code: " + response.statusCode()
-                );
+            HttpResponse<InputStream> response =
+                    httpClient.send(request, CompressedBodyHandlers.ofDecodedStream());
+            PlayersResponse root;
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new ApiRequestException(
+                            "GameTools Players API returned status code: " + response.statusCode()
+                    );
+                }
+                // Full-server lists are large: decode and parse as the bytes arrive
+                root = playersReader.readValue(body);
             }
-
-            JsonNode root = mapper.readTree(response.body());
-            String serverName = root.path("serverinfo")
-                    .path("name")
-                    .asText("Unknown Server");
+            String serverName = root.serverInfo() != null && root.serverInfo().name() != null
+                    ? root.serverInfo().name()
+                    : "Unknown Server";
 
             List<ServerPlayer> players = new ArrayList<>();
-            JsonNode teams = root.path(AppConstants.JSON_TEAMS);
-            if (teams.isArray()) {
-                for (JsonNode team : teams) {
-                    String teamName = team.path("name").asText("Unknown Team");
-                    for (JsonNode p : team.path(AppConstants.JSON_PLAYERS)) {
+            if (root.teams() != null) {
+                for (TeamResponse team : root.teams()) {
+                    String teamName = orDefault(team.name(), "Unknown Team");
+                    if (team.players() == null) {
+                        continue;
+                    }
+                    for (PlayerResponse p : team.players()) {
                         players.add(new ServerPlayer(
-                                p.path(AppConstants.JSON_NAME).asText("Unknown"),
-                                p.path(AppConstants.JSON_PLAYER_ID).asLong(0),
-                                p.path(AppConstants.JSON_USER_ID).asLong(0),
-                                p.path(AppConstants.JSON_PLATOON).asText(""),
-                                p.path(AppConstants.JSON_RANK).asInt(0),
+                                orDefault(p.name(), "Unknown"),
+                                p.playerId(),
+                                p.userId(),
+                                orDefault(p.platoon(), ""),
+                                p.rank(),
                                 teamName
                         ));
                     }
@@ -95,40 +123,130 @@ public class PlayerClient
     public UserStats fetchUserStats(String playerName) throws ApiRequestException {
         try {
             URI uri = ApiUrlBuilder.buildGameToolsStatsUri(playerName);
-            HttpRequest request = HttpRequest.newBuilder()
+            HttpRequest.Builder builder = CompressedBodyHandlers.acceptCompressed(HttpRequest.newBuilder())
                     .uri(uri)
-                    .timeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
+                    .timeout(ApiTimeouts.requestTimeout())
                     .header("Accept", "application/json")
-                    .GET()
-                    .build();
+                    .GET();
+
+            ValidatedStats previous = validatedStats.get(playerName);
+            if (previous != null) {
+                if (previous.etag() != null) {
+                    builder.header("If-None-Match", previous.etag());
+                }
+                if (previous.lastModified() != null) {
+                    builder.header("If-Modified-Since", previous.lastModified());
+                }
+            }
 
-            HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<byte[]> response =
+                    httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+            // Not modified: reuse the stats parsed from the previous response
+            if (response.statusCode() == 304 && previous != null) {
+                return previous.stats();
+            }
             if (response.statusCode() != 200) {
                 throw new ApiRequestException(
                         "GameTools Stats API returned status code: " + response.statusCode()
                 );
             }
 
-            JsonNode json = mapper.readTree(response.body());
-            return new UserStats(
-                    json.path(AppConstants.JSON_USERNAME).asText(playerName),
-                    json.path("userId").asLong(0),
-                    json.path("id").asLong(0),
-                    json.path(AppConstants.JSON_RANK).asInt(0),
-                    json.path(AppConstants.JSON_KILLS_PER_MINUTE).asDouble(0.0),
-                    json.path(AppConstants.JSON_ACCURACY).asText("0%"),
-                    json.path(AppConstants.JSON_HEADSHOTS).asText("0%"),
-                    json.path(AppConstants.JSON_TIME_PLAYED).asText("Unknown"),
-                    json.path(AppConstants.JSON_SECONDS_PLAYED).asLong(0),
-                    json.path(AppConstants.JSON_KILLS).asInt(0),
-                    json.path(AppConstants.JSON_DEATHS).asInt(0),
-                    json.path(AppConstants.JSON_KILL_DEATH).asDouble(0.0)
-            );
+            // The body is hashed as received, so an unchanged body is neither inflated nor parsed
+            byte[] body = response.body();
+            long bodyHash = hash(body);
+            UserStats stats;
+            if (previous != null && previous.bodyLength() == body.length && previous.bodyHash() == bodyHash) {
+                // Identical body without usable validators: skip parsing
+                stats = previous.stats();
+            } else {
+                try (InputStream decoded = CompressedBodyHandlers.decode(body, response.headers())) {
+                    stats = toUserStats(statsReader.readValue(decoded), playerName);
+                }
+            }
+
+            validatedStats.put(playerName, new ValidatedStats(
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null),
+                    bodyHash,
+                    body.length,
+                    stats));
+            return stats;
         } catch (ApiRequestException e) {
             throw e;
         } catch (Exception e) {
             throw new ApiRequestException("Error fetching user stats", e);
         }
     }
+
+    private static UserStats toUserStats(StatsResponse json, String playerName) {
+        return new UserStats(
+                orDefault(json.userName(), playerName),
+                json.userId(),
+                json.id(),
+                json.rank(),
+                json.killsPerMinute(),
+                orDefault(json.accuracy(), "0%"),
+                orDefault(json.headshots(), "0%"),
+                orDefault(json.timePlayed(), "Unknown"),
+                json.secondsPlayed(),
+                json.kills(),
+                json.deaths(),
+                json.killDeath()
+        );
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private static long hash(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return crc.getValue();
+    }
+
+    /**
+     * Validators and body hash of the last stats response of a player, with its parsed stats.
+     */
+    private record ValidatedStats(String etag, String lastModified, long bodyHash, int bodyLength, UserStats stats) {
+    }
+
+    /**
+     * Body of a players response; absent numbers bind to 0 and absent strings to null.
+     */
+    record PlayersResponse(@JsonProperty("serverinfo") ServerInfoResponse serverInfo,
+                           @JsonProperty(AppConstants.JSON_TEAMS) List<TeamResponse> teams) {
+    }
+
+    record ServerInfoResponse(@JsonProperty(AppConstants.JSON_NAME) String name) {
+    }
+
+    record TeamResponse(@JsonProperty(AppConstants.JSON_NAME) String name,
+                        @JsonProperty(AppConstants.JSON_PLAYERS) List<PlayerResponse> players) {
+    }
+
+    record PlayerResponse(@JsonProperty(AppConstants.JSON_NAME) String name,
+                          @JsonProperty(AppConstants.JSON_PLAYER_ID) long playerId,
+                          @JsonProperty(AppConstants.JSON_USER_ID) long userId,
+                          @JsonProperty(AppConstants.JSON_PLATOON) String platoon,
+                          @JsonProperty(AppConstants.JSON_RANK) int rank) {
+    }
+
+    /**
+     * Body of a stats response.
+     */
+    record StatsResponse(@JsonProperty(AppConstants.JSON_USERNAME) String userName,
+                         @JsonProperty("userId") long userId,
+                         @JsonProperty("id") long id,
+                         @JsonProperty(AppConstants.JSON_RANK) int rank,
+                         @JsonProperty(AppConstants.JSON_KILLS_PER_MINUTE) double killsPerMinute,
+                         @JsonProperty(AppConstants.JSON_ACCURACY) String accuracy,
+                         @JsonProperty(AppConstants.JSON_HEADSHOTS) String headshots,
+                         @JsonProperty(AppConstants.JSON_TIME_PLAYED) String timePlayed,
+                         @JsonProperty(AppConstants.JSON_SECONDS_PLAYED) long secondsPlayed,
+                         @JsonProperty(AppConstants.JSON_KILLS) int kills,
+                         @JsonProperty(AppConstants.JSON_DEATHS) int deaths,
+                         @JsonProperty(AppConstants.JSON_KILL_DEATH) double killDeath) {
+    }
 }
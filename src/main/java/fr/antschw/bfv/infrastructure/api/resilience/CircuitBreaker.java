@@ -0,0 +1,116 @@
+package fr.antschw.bfv.infrastructure.api.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Disjoncteur minimal protégeant un service distant.
+ * <p>
+ * Après {@code failureThreshold} échecs consécutifs, le circuit s'ouvre et
+ * toutes les requêtes sont refusées immédiatement pendant {@code openDuration}.
+ * Une seule requête d'essai est ensuite autorisée (semi-ouvert) : son succès
+ * referme le circuit, son échec le rouvre pour une nouvelle période.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * États possibles du disjoncteur.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * @param name             nom du service protégé (pour les logs)
+     * @param failureThreshold nombre d'échecs consécutifs avant ouverture
+     * @param openDuration     durée pendant laquelle les requêtes sont refusées
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Indique si une requête peut être émise maintenant.
+     * En état semi-ouvert, seule la première requête est autorisée.
+     *
+     * @return true si la requête peut partir, false si elle doit échouer immédiatement
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (Instant.now().isBefore(openedAt.plus(openDuration))) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                LOGGER.info("Circuit {} half-open, sending trial request", name);
+                return true;
+            case HALF_OPEN:
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Enregistre une réponse saine du service.
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            LOGGER.info("Circuit {} closed, service healthy again", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Enregistre un échec (timeout, erreur réseau, 5xx).
+     */
+    public synchronized void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                LOGGER.warn("Circuit {} opened after {} consecutive failure(s), failing fast for {}s",
+                        name, consecutiveFailures, openDuration.toSeconds());
+            }
+            state = State.OPEN;
+            openedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Libère une requête abandonnée avant sa réponse (annulée) : elle ne dit rien de la santé
+     * du service, mais l'essai semi-ouvert qu'elle était peut-être doit pouvoir être relancé.
+     */
+    public synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    /**
+     * @return l'état courant du disjoncteur
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
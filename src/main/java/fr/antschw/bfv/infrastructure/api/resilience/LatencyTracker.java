@@ -0,0 +1,54 @@
+package fr.antschw.bfv.infrastructure.api.resilience;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Fenêtre glissante des dernières latences observées, utilisée pour
+ * calculer un percentile (p95) servant de délai aux requêtes couvertes.
+ */
+public final class LatencyTracker {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+
+    /**
+     * @param windowSize nombre de latences conservées
+     * @param minSamples nombre minimal d'échantillons avant de produire un percentile
+     */
+    public LatencyTracker(int windowSize, int minSamples) {
+        this.samples = new long[windowSize];
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Ajoute une latence mesurée.
+     *
+     * @param millis durée de la requête en millisecondes
+     */
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Calcule le percentile demandé sur la fenêtre courante.
+     *
+     * @param percentile valeur entre 0 et 1 (ex : 0.95)
+     * @return la latence correspondante, ou vide si la fenêtre est trop peu remplie
+     */
+    public synchronized OptionalLong percentile(double percentile) {
+        if (count < minSamples) {
+            return OptionalLong.empty();
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return OptionalLong.of(sorted[Math.max(0, Math.min(index, count - 1))]);
+    }
+}
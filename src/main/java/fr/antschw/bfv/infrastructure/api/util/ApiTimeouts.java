@@ -0,0 +1,29 @@
+package fr.antschw.bfv.infrastructure.api.util;
+
+import fr.antschw.bfv.application.util.AppConstants;
+import fr.antschw.bfv.domain.model.ScanDeadline;
+
+import java.time.Duration;
+
+/**
+ * Utility class sizing API request timeouts.
+ */
+public final class ApiTimeouts {
+
+    private static final Duration FLOOR = Duration.ofSeconds(AppConstants.HTTP_MIN_TIMEOUT_SECONDS);
+    private static final Duration CAP = Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS);
+
+    private ApiTimeouts() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Timeout for a request issued from the current thread, derived from the scan
+     * deadline bound to it, if any.
+     *
+     * @return the request timeout
+     */
+    public static Duration requestTimeout() {
+        return ScanDeadline.requestTimeout(FLOOR, CAP);
+    }
+}
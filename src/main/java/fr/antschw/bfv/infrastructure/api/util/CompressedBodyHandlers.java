@@ -0,0 +1,170 @@
+package fr.antschw.bfv.infrastructure.api.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Utility class negotiating and decoding compressed API responses.
+ * <p>
+ * The JDK HttpClient neither sends {@code Accept-Encoding} nor decodes the body, so requests go
+ * through {@link #acceptCompressed(HttpRequest.Builder)} and responses through one of the body
+ * handlers below, which undo {@code gzip} and {@code deflate} according to {@code Content-Encoding}.
+ */
+public final class CompressedBodyHandlers {
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int BUFFER_SIZE = 8192;
+
+    private CompressedBodyHandlers() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Advertises the encodings the handlers of this class can decode.
+     *
+     * @param builder the request being built
+     * @return the same builder
+     */
+    public static HttpRequest.Builder acceptCompressed(HttpRequest.Builder builder) {
+        return builder.header("Accept-Encoding", ACCEPT_ENCODING);
+    }
+
+    /**
+     * Body handler streaming the decoded body.
+     * <p>
+     * The decoder is only built on the first read, so the blocking reads happen on the caller's
+     * thread and never on the client's executor. The stream must be closed by the caller.
+     *
+     * @return handler yielding the decoded body as a stream
+     */
+    public static HttpResponse.BodyHandler<InputStream> ofDecodedStream() {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofInputStream(),
+                raw -> new LazyDecodingInputStream(raw, contentEncoding(responseInfo.headers())));
+    }
+
+    /**
+     * Body handler collecting the whole body and decoding it in memory once received.
+     * <p>
+     * Meant for asynchronous requests and for callers that need the decoded bytes themselves.
+     *
+     * @return handler yielding the decoded body
+     */
+    public static HttpResponse.BodyHandler<byte[]> ofDecodedBytes() {
+        return responseInfo -> {
+            String encoding = contentEncoding(responseInfo.headers());
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    raw -> {
+                        if (encoding.isEmpty() || raw.length == 0) {
+                            return raw;
+                        }
+                        try (InputStream in = decode(new ByteArrayInputStream(raw), encoding)) {
+                            return in.readAllBytes();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        };
+    }
+
+    /**
+     * Decodes a body that was received still encoded, e.g. to hash the raw bytes first.
+     *
+     * @param raw     the body as received
+     * @param headers the response headers
+     * @return stream of the decoded body
+     * @throws IOException if the encoding is not supported or the body is corrupt
+     */
+    public static InputStream decode(byte[] raw, HttpHeaders headers) throws IOException {
+        return decode(new ByteArrayInputStream(raw), contentEncoding(headers));
+    }
+
+    private static String contentEncoding(HttpHeaders headers) {
+        String encoding = headers.firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+        return encoding.equals("identity") ? "" : encoding;
+    }
+
+    /**
+     * Wraps the raw body with the decoder matching its encoding.
+     */
+    private static InputStream decode(InputStream raw, String encoding) throws IOException {
+        return switch (encoding) {
+            case "" -> raw;
+            case "gzip", "x-gzip" -> new GZIPInputStream(raw, BUFFER_SIZE);
+            case "deflate" -> inflate(raw);
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    /**
+     * "deflate" is meant to be zlib-wrapped, but some servers send a raw deflate stream:
+     * the first two bytes tell them apart.
+     */
+    private static InputStream inflate(InputStream raw) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(raw, 2);
+        byte[] head = in.readNBytes(2);
+        in.unread(head);
+        boolean zlib = head.length == 2
+                && (head[0] & 0x0F) == 8
+                && (((head[0] & 0xFF) << 8) | (head[1] & 0xFF)) % 31 == 0;
+        return new InflaterInputStream(in, new Inflater(!zlib), BUFFER_SIZE);
+    }
+
+    /**
+     * Stream building its decoder on first use, then delegating to it.
+     */
+    private static final class LazyDecodingInputStream extends FilterInputStream {
+        private final String encoding;
+        private boolean decoding;
+
+        private LazyDecodingInputStream(InputStream raw, String encoding) {
+            super(raw);
+            this.encoding = encoding;
+        }
+
+        private InputStream decoded() throws IOException {
+            if (!decoding) {
+                in = decode(in, encoding);
+                decoding = true;
+            }
+            return in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return decoded().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return decoded().read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return decoded().skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return decoded().available();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fr.antschw.bfv.infrastructure.api.warmup;
+
+import com.google.inject.Inject;
+import fr.antschw.bfv.application.util.AppConstants;
+import fr.antschw.bfv.domain.service.ConnectionWarmupService;
+import fr.antschw.bfv.domain.service.SettingsService;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Préchauffe les connexions vers les hôtes des API.
+ * <p>
+ * Une requête HEAD par hôte, envoyée par le client HTTP partagé avec les clients d'API, fait
+ * payer la résolution DNS et la poignée de main TLS hors du chemin critique : la connexion
+ * reste ensuite dans le pool du client et sert à la première vraie requête. Un hôte préchauffé
+ * il y a moins de {@link #MIN_INTERVAL} n'est pas recontacté.
+ */
+@Singleton
+public class ConnectionWarmupAdapter implements ConnectionWarmupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionWarmupAdapter.class);
+    private static final Duration MIN_INTERVAL = Duration.ofSeconds(10);
+    private static final List<URI> HOSTS = List.of(
+            hostOf(AppConstants.GAMETOOLS_API_BASE_URL),
+            hostOf(AppConstants.BFVHACKERS_API_BASE_URL)
+    );
+
+    private final HttpClient httpClient;
+    private final SettingsService settingsService;
+
+    // Dernier préchauffage lancé par hôte (System.nanoTime)
+    private final Map<URI, Long> lastWarmup = new ConcurrentHashMap<>();
+
+    @Inject
+    public ConnectionWarmupAdapter(HttpClient httpClient, SettingsService settingsService) {
+        this.httpClient = httpClient;
+        this.settingsService = settingsService;
+    }
+
+    @Override
+    public void warmUp() {
+        if (!settingsService.isConnectionWarmupEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (URI host : HOSTS) {
+            Long previous = lastWarmup.get(host);
+            if (previous != null && now - previous < MIN_INTERVAL.toNanos()) {
+                continue;
+            }
+            lastWarmup.put(host, now);
+            warmUp(host, now);
+        }
+    }
+
+    private void warmUp(URI host, long start) {
+        HttpRequest request = HttpRequest.newBuilder(host)
+                .timeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        // Échec sans conséquence : la vraie requête ouvrira sa propre connexion
+                        lastWarmup.remove(host);
+                        LOGGER.debug("Connection warm-up to {} failed: {}", host, error.toString());
+                    } else {
+                        LOGGER.debug("Connection to {} warmed up in {} ms ({})", host,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), response.version());
+                    }
+                });
+    }
+
+    private static URI hostOf(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        return URI.create(uri.getScheme() + "://" + uri.getAuthority() + "/");
+    }
+}
@@ -0,0 +1,143 @@
+package fr.antschw.bfv.infrastructure.binding;
+
+import fr.antschw.bfv.application.util.AppConstants;
+import fr.antschw.bfv.domain.service.ConnectionWarmupService;
+import fr.antschw.bfv.domain.service.ServerInfoCacheService;
+import fr.antschw.bfv.domain.service.SettingsService;
+import fr.antschw.bfv.domain.service.UserStatsCacheService;
+import fr.antschw.bfv.application.orchestrator.LocalApiCoordinator;
+import fr.antschw.bfv.application.orchestrator.PlayerStatsFilter;
+import fr.antschw.bfv.application.orchestrator.PlayerStatsPrefetcher;
+import fr.antschw.bfv.application.orchestrator.ServerScanCoordinator;
+import fr.antschw.bfv.application.orchestrator.ServerWatchCoordinator;
+import fr.antschw.bfv.domain.service.HackersSummaryService;
+import fr.antschw.bfv.domain.service.LocalApiService;
+import fr.antschw.bfv.domain.service.PlayerMonitoringService;
+import fr.antschw.bfv.domain.service.ServerInfoService;
+import fr.antschw.bfv.domain.service.ServerPlayersService;
+import fr.antschw.bfv.domain.service.SessionHistoryService;
+import fr.antschw.bfv.domain.service.UserStatsService;
+import fr.antschw.bfv.infrastructure.api.client.BfvHackersClient;
+import fr.antschw.bfv.infrastructure.api.client.GameToolsClient;
+import fr.antschw.bfv.infrastructure.api.client.PlayerClient;
+import fr.antschw.bfv.infrastructure.api.type.ApiType;
+import fr.antschw.bfv.infrastructure.api.warmup.ConnectionWarmupAdapter;
+import fr.antschw.bfv.infrastructure.cache.ServerInfoCacheAdapter;
+import fr.antschw.bfv.infrastructure.cache.UserStatsCacheAdapter;
+import fr.antschw.bfv.infrastructure.history.SessionHistoryAdapter;
+import fr.antschw.bfv.infrastructure.localapi.LocalApiServer;
+import fr.antschw.bfv.infrastructure.monitoring.PlayerMonitoringAdapter;
+import fr.antschw.bfv.infrastructure.settings.SettingsServiceImpl;
+import fr.antschw.bfvocr.api.BFVOcrFactory;
+import fr.antschw.bfvocr.api.BFVOcrService;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Liaisons communes à l'application de bureau et au mode sans affichage :
+ * paramètres, clients d'API, caches, OCR et orchestration des scans.
+ * <p>
+ * Le {@link fr.antschw.bfv.domain.service.ScreenshotService} n'est pas lié ici : la capture
+ * d'écran dépend de l'affichage, c'est au module de l'environnement de le fournir.
+ */
+public class CoreModule extends AbstractModule {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreModule.class);
+
+    @Override
+    protected void configure() {
+        try {
+            LOGGER.info("Configuring CoreModule bindings");
+
+            // Service de paramètres (nouveau)
+            bind(SettingsService.class)
+                    .to(SettingsServiceImpl.class)
+                    .asEagerSingleton();
+
+            // Pré-ouverture des connexions vers les API
+            bind(ConnectionWarmupService.class)
+                    .to(ConnectionWarmupAdapter.class)
+                    .in(Singleton.class);
+
+            // GameTools server‐info client
+            bind(ServerInfoService.class)
+                    .annotatedWith(Names.named(ApiType.GAMETOOLS.getName()))
+                    .to(GameToolsClient.class)
+                    .in(Singleton.class);
+
+            // BFVHackers server‐info client
+            bind(ServerInfoService.class)
+                    .annotatedWith(Names.named(ApiType.BFVHACKERS.getName()))
+                    .to(BfvHackersClient.class)
+                    .in(Singleton.class);
+
+            // BFVHackers full cheater breakdown (same singleton client)
+            bind(HackersSummaryService.class)
+                    .to(BfvHackersClient.class);
+
+            // GameTools players‐list client
+            bind(ServerPlayersService.class)
+                    .annotatedWith(Names.named(ApiType.GAMETOOLS_PLAYERS.getName()))
+                    .to(PlayerClient.class)
+                    .in(Singleton.class);
+
+            // GameTools individual‐stats client
+            bind(UserStatsService.class)
+                    .annotatedWith(Names.named(ApiType.GAMETOOLS_PLAYERS.getName()))
+                    .to(PlayerClient.class)
+                    .in(Singleton.class);
+
+            // Cache for UserStats
+            bind(UserStatsCacheService.class)
+                    .to(UserStatsCacheAdapter.class)
+                    .asEagerSingleton();
+
+            // Cache for server ID mapping and hacker summaries
+            bind(ServerInfoCacheService.class)
+                    .to(ServerInfoCacheAdapter.class)
+                    .asEagerSingleton();
+
+            // Persistent session history (memory-mapped time series)
+            bind(SessionHistoryService.class).to(SessionHistoryAdapter.class).in(Singleton.class);
+
+            // Player monitoring
+            bind(PlayerMonitoringService.class).to(PlayerMonitoringAdapter.class).in(Singleton.class);
+
+            // API locale (overlays, bots) alimentée par les scans et la surveillance
+            bind(LocalApiService.class).to(LocalApiServer.class).in(Singleton.class);
+            bind(LocalApiCoordinator.class).in(Singleton.class);
+
+            // Orchestration
+            bind(ServerScanCoordinator.class).in(Singleton.class);
+            bind(PlayerStatsFilter.class);
+            bind(PlayerStatsPrefetcher.class).in(Singleton.class);
+            bind(ServerWatchCoordinator.class).in(Singleton.class);
+
+            bind(BFVOcrService.class).toInstance(BFVOcrFactory.createDefaultService());
+
+            LOGGER.info("CoreModule bindings configured successfully");
+        } catch (Exception e) {
+            LOGGER.error("Error configuring CoreModule bindings", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Client HTTP unique des clients d'API : ils partagent son pool de connexions,
+     * que le préchauffage remplit avant le premier scan.
+     */
+    @Provides
+    @Singleton
+    HttpClient provideHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(AppConstants.HTTP_TIMEOUT_SECONDS))
+                .build();
+    }
+}
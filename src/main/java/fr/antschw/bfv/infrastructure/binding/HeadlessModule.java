@@ -0,0 +1,23 @@
+package fr.antschw.bfv.infrastructure.binding;
+
+import fr.antschw.bfv.domain.service.ScreenshotService;
+import fr.antschw.bfv.infrastructure.screenshot.HeadlessScreenshotAdapter;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
+
+/**
+ * Liaisons du mode sans affichage : celles du {@link CoreModule}, sans interface ni
+ * capture d'écran.
+ */
+public class HeadlessModule extends AbstractModule {
+
+    @Override
+    protected void configure() {
+        install(new CoreModule());
+
+        bind(ScreenshotService.class)
+                .to(HeadlessScreenshotAdapter.class)
+                .in(Singleton.class);
+    }
+}
@@ -0,0 +1,130 @@
+package fr.antschw.bfv.infrastructure.cache;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.service.ServerInfoCacheService;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * In-memory cache of per-server lookups.
+ * <p>
+ * The short-ID → long-ID mapping is persisted to disk since it never changes;
+ * hacker summaries are kept in memory only, with a short TTL.
+ */
+@Singleton
+public class ServerInfoCacheAdapter implements ServerInfoCacheService {
+
+    private static final Logger LOGGER = getLogger(ServerInfoCacheAdapter.class);
+    private static final Duration HACKERS_TTL = Duration.ofMinutes(2);
+    private static final Path IDS_FILE = Path.of(System.getProperty("user.home"), ".bfvyze", "serverIds.json");
+
+    private static final TypeReference<Map<String, Long>> IDS_TYPE = new TypeReference<>() {};
+
+    private final ObjectReader idsReader;
+    private final ObjectWriter idsWriter;
+
+    private final Map<String, Long> longIdsByShortId = new ConcurrentHashMap<>();
+    private final Map<Long, CachedSummary> summaries = new ConcurrentHashMap<>();
+
+    @Inject
+    public ServerInfoCacheAdapter(JsonCodec codec) {
+        this.idsReader = codec.readerFor(IDS_TYPE);
+        this.idsWriter = codec.writerFor(IDS_TYPE).withDefaultPrettyPrinter();
+        loadFromDisk();
+    }
+
+    @Override
+    public Optional<Long> getLongServerId(String shortServerId) {
+        return Optional.ofNullable(longIdsByShortId.get(shortServerId));
+    }
+
+    @Override
+    public void putLongServerId(String shortServerId, long longServerId) {
+        Long previous = longIdsByShortId.put(shortServerId, longServerId);
+        if (previous == null || previous != longServerId) {
+            LOGGER.debug("Server #{} resolved to {}", shortServerId, longServerId);
+            saveToDisk();
+        }
+    }
+
+    @Override
+    public Optional<HackersSummary> getHackersSummary(long longServerId) {
+        CachedSummary entry = summaries.get(longServerId);
+        if (entry == null || entry.fetchTime.isBefore(Instant.now().minus(HACKERS_TTL))) {
+            return Optional.empty();
+        }
+        LOGGER.debug("Hackers summary cache hit for {}", longServerId);
+        return Optional.of(entry.summary);
+    }
+
+    @Override
+    public Optional<HackersSummary> getLastKnownHackersSummary(long longServerId) {
+        return Optional.ofNullable(summaries.get(longServerId)).map(CachedSummary::summary);
+    }
+
+    @Override
+    public void putHackersSummary(long longServerId, HackersSummary summary) {
+        if (summary == null) {
+            return;
+        }
+        summaries.put(longServerId, new CachedSummary(summary, Instant.now()));
+    }
+
+    private void loadFromDisk() {
+        File file = IDS_FILE.toFile();
+        if (!file.exists()) {
+            LOGGER.info("No server ID mapping found at {}", IDS_FILE);
+            return;
+        }
+        try {
+            Map<String, Long> diskIds = idsReader.readValue(file);
+            longIdsByShortId.putAll(diskIds);
+            LOGGER.info("Loaded {} server ID mappings", longIdsByShortId.size());
+        } catch (Exception e) {
+            LOGGER.warn("Failed to load server ID mapping, starting fresh", e);
+        }
+    }
+
+    private synchronized void saveToDisk() {
+        try {
+            File dir = IDS_FILE.getParent().toFile();
+            if (!dir.exists() && !dir.mkdirs()) {
+                LOGGER.error("Failed to create directory: {}", dir.getAbsolutePath());
+                return;
+            }
+
+            // Écrire d'abord dans un fichier temporaire puis renommer
+            File tempFile = new File(dir, "serverIds.tmp");
+            idsWriter.writeValue(tempFile, new TreeMap<>(longIdsByShortId));
+
+            File targetFile = IDS_FILE.toFile();
+            if (targetFile.exists() && !targetFile.delete()) {
+                LOGGER.warn("Could not delete existing server ID mapping");
+            }
+            if (!tempFile.renameTo(targetFile)) {
+                LOGGER.error("Failed to rename temporary server ID mapping");
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to save server ID mapping", e);
+        }
+    }
+
+    record CachedSummary(HackersSummary summary, Instant fetchTime) {}
+}
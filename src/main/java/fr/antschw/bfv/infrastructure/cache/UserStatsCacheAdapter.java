@@ -2,28 +2,46 @@ package fr.antschw.bfv.infrastructure.cache;
 
 import fr.antschw.bfv.domain.service.UserStatsCacheService;
 import fr.antschw.bfv.domain.model.UserStats;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
 
 import com.fasterxml.jackson.core.io.JsonEOFException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * JSON + in-memory cache adapter.
+ * <p>
+ * Les entrées modifiées sont écrites en arrière-plan (write-behind), par petits lots,
+ * dans un journal JSON en ajout seul, au plus {@link #FLUSH_INTERVAL_SECONDS} secondes
+ * après leur mise en cache. Le journal est régulièrement compacté dans le fichier
+ * instantané ; à l'arrêt, seul le reliquat non encore écrit doit être vidé.
  */
 @Singleton
 public class UserStatsCacheAdapter implements UserStatsCacheService {
@@ -31,21 +49,44 @@ public class UserStatsCacheAdapter implements UserStatsCacheService {
     private static final Logger LOGGER = getLogger(UserStatsCacheAdapter.class);
     private static final Duration TTL = Duration.ofDays(5);
     private static final Path CACHE_FILE = Path.of(System.getProperty("user.home"), ".bfvyze", "statsCache.json");
+    private static final Path JOURNAL_FILE = Path.of(System.getProperty("user.home"), ".bfvyze", "statsCache.journal");
 
-    // Configuration plus robuste de Jackson
-    private final ObjectMapper mapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())  // Pour gérer Instant
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final long FLUSH_INTERVAL_SECONDS = 2;
+    private static final int FLUSH_BATCH_SIZE = 50;
+    private static final int COMPACTION_MIN_LINES = 500;
+
+    private static final TypeReference<Map<String, CachedUserStats>> SNAPSHOT_TYPE = new TypeReference<>() {};
+
+    // Lecteurs et écrivains construits une fois (instantané complet et lignes du journal)
+    private final ObjectReader snapshotReader;
+    private final ObjectWriter snapshotWriter;
+    private final ObjectReader entryReader;
+    private final ObjectWriter entryWriter;
 
     private final Map<String, CachedUserStats> cache = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService writer;
+
+    // Nombre de lignes du journal depuis le dernier compactage (protégé par this)
+    private int journalLines;
 
     @Inject
-    public UserStatsCacheAdapter() {
+    public UserStatsCacheAdapter(JsonCodec codec) {
         LOGGER.info("Initializing stats cache adapter");
+        snapshotReader = codec.readerFor(SNAPSHOT_TYPE);
+        snapshotWriter = codec.writerFor(SNAPSHOT_TYPE);
+        entryReader = codec.readerFor(CachedUserStats.class);
+        entryWriter = codec.writerFor(CachedUserStats.class);
         loadFromDisk();
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stats-cache-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.scheduleWithFixedDelay(this::writeBehind, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            LOGGER.info("Shutdown hook triggered, saving cache...");
-            saveToDisk();
+            LOGGER.info("Shutdown hook triggered, flushing cache...");
+            flush();
         }));
     }
 
@@ -71,6 +112,115 @@ public class UserStatsCacheAdapter implements UserStatsCacheService {
         }
         LOGGER.debug("Caching stats for {}", stats.username());
         cache.put(stats.username(), new CachedUserStats(stats, Instant.now()));
+        dirty.add(stats.username());
+    }
+
+    @Override
+    public Optional<Instant> getFetchTime(String username) {
+        var entry = cache.get(username);
+        if (entry == null || entry.fetchTime.isBefore(Instant.now().minus(TTL))) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.fetchTime);
+    }
+
+    /**
+     * Écrit immédiatement toutes les entrées modifiées dans le journal.
+     * Appelé à l'arrêt : ne porte que sur les entrées des dernières secondes.
+     */
+    public synchronized void flush() {
+        writer.shutdown();
+        try {
+            appendDirtyEntries();
+        } catch (IOException e) {
+            LOGGER.error("Failed to flush cache journal", e);
+        }
+    }
+
+    /**
+     * Tâche périodique : vide les entrées modifiées puis compacte le journal s'il est trop long.
+     */
+    private synchronized void writeBehind() {
+        try {
+            appendDirtyEntries();
+            if (journalLines > Math.max(COMPACTION_MIN_LINES, cache.size())) {
+                compact();
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to write cache journal", e);
+        }
+    }
+
+    /**
+     * Ajoute les entrées modifiées au journal, par lots de {@link #FLUSH_BATCH_SIZE}.
+     */
+    private void appendDirtyEntries() throws IOException {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        ensureDirectory();
+        int written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(JOURNAL_FILE, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            List<String> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            Iterator<String> it = dirty.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next());
+                it.remove();
+                if (batch.size() == FLUSH_BATCH_SIZE || !it.hasNext()) {
+                    written += writeBatch(out, batch);
+                    batch.clear();
+                }
+            }
+        }
+        journalLines += written;
+        LOGGER.debug("Appended {} cache entries to journal", written);
+    }
+
+    private int writeBatch(BufferedWriter out, List<String> usernames) throws IOException {
+        int written = 0;
+        for (String username : usernames) {
+            CachedUserStats entry = cache.get(username);
+            if (entry != null) {
+                out.write(entryWriter.writeValueAsString(entry));
+                out.newLine();
+                written++;
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    /**
+     * Réécrit l'instantané complet puis vide le journal.
+     * Un crash entre les deux étapes est sans effet : le journal est rejoué par-dessus.
+     */
+    private void compact() throws IOException {
+        LOGGER.info("Compacting cache journal ({} lines, {} entries)", journalLines, cache.size());
+        ensureDirectory();
+
+        // Écrire d'abord dans un fichier temporaire puis renommer
+        File tempFile = new File(CACHE_FILE.getParent().toFile(), "statsCache.tmp");
+        snapshotWriter.writeValue(tempFile, cache);
+
+        // Supprimer l'ancien fichier s'il existe
+        File targetFile = CACHE_FILE.toFile();
+        if (targetFile.exists() && !targetFile.delete()) {
+            LOGGER.warn("Could not delete existing cache file");
+        }
+
+        // Renommer le fichier temporaire
+        if (!tempFile.renameTo(targetFile)) {
+            LOGGER.error("Failed to rename temporary cache file, keeping journal");
+            return;
+        }
+        Files.deleteIfExists(JOURNAL_FILE);
+        journalLines = 0;
+        LOGGER.info("Cache successfully compacted to {}", CACHE_FILE);
+    }
+
+    private void ensureDirectory() throws IOException {
+        Files.createDirectories(CACHE_FILE.getParent());
     }
 
     private void loadFromDisk() {
@@ -79,8 +229,7 @@ public class UserStatsCacheAdapter implements UserStatsCacheService {
             if (file.exists()) {
                 LOGGER.info("Loading cache from {}", CACHE_FILE);
                 try {
-                    var diskCache = mapper.readValue(file,
-                            new TypeReference<Map<String, CachedUserStats>>() {});
+                    Map<String, CachedUserStats> diskCache = snapshotReader.readValue(file);
                     cache.putAll(diskCache);
                     LOGGER.info("Loaded {} entries from cache", cache.size());
                 } catch (JsonEOFException e) {
@@ -96,6 +245,7 @@ public class UserStatsCacheAdapter implements UserStatsCacheService {
             } else {
                 LOGGER.info("No existing cache file found at {}", CACHE_FILE);
             }
+            replayJournal();
         } catch (Exception e) {
             LOGGER.error("Failed to load cache from disk", e);
             // Si quelque chose va mal, assurez-vous que le cache est vide pour éviter des problèmes
@@ -103,42 +253,36 @@ public class UserStatsCacheAdapter implements UserStatsCacheService {
         }
     }
 
-    public synchronized void saveToDisk() {
-        if (cache.isEmpty()) {
-            LOGGER.info("Cache is empty, nothing to save");
+    /**
+     * Rejoue le journal par-dessus l'instantané ; l'entrée la plus récente l'emporte.
+     * Une dernière ligne tronquée (crash pendant l'écriture) est ignorée.
+     */
+    private void replayJournal() throws IOException {
+        if (!Files.exists(JOURNAL_FILE)) {
             return;
         }
-
-        try {
-            LOGGER.info("Saving {} cache entries", cache.size());
-            var dir = CACHE_FILE.getParent().toFile();
-            if (!dir.exists()) {
-                boolean success = dir.mkdirs();
-                if (!success) {
-                    LOGGER.error("Failed to create directory: {}", dir.getAbsolutePath());
-                    return;
+        int replayed = 0;
+        try (BufferedReader in = Files.newBufferedReader(JOURNAL_FILE, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                journalLines++;
+                try {
+                    CachedUserStats entry = entryReader.readValue(line);
+                    if (entry.stats() == null || entry.stats().username() == null) {
+                        continue;
+                    }
+                    cache.merge(entry.stats().username(), entry,
+                            (current, journaled) -> journaled.fetchTime().isAfter(current.fetchTime()) ? journaled : current);
+                    replayed++;
+                } catch (IOException e) {
+                    LOGGER.warn("Skipping unreadable cache journal line");
                 }
             }
-
-            // Écrire d'abord dans un fichier temporaire puis renommer
-            File tempFile = new File(dir, "statsCache.tmp");
-            mapper.writerWithDefaultPrettyPrinter().writeValue(tempFile, cache);
-
-            // Supprimer l'ancien fichier s'il existe
-            File targetFile = CACHE_FILE.toFile();
-            if (targetFile.exists() && !targetFile.delete()) {
-                LOGGER.warn("Could not delete existing cache file");
-            }
-
-            // Renommer le fichier temporaire
-            if (tempFile.renameTo(targetFile)) {
-                LOGGER.info("Cache successfully saved to {}", CACHE_FILE);
-            } else {
-                LOGGER.error("Failed to rename temporary cache file");
-            }
-        } catch (Exception e) {
-            LOGGER.error("Failed to save cache to disk", e);
         }
+        LOGGER.info("Replayed {} entries from cache journal", replayed);
     }
 
     record CachedUserStats(UserStats stats, Instant fetchTime) {}
@@ -0,0 +1,201 @@
+package fr.antschw.bfv.infrastructure.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fichier d'enregistrements de taille fixe, en ajout seul, projeté en mémoire.
+ * <p>
+ * L'en-tête contient un nombre magique, la version, la taille d'un enregistrement, le nombre
+ * d'enregistrements écrits et l'indice du premier enregistrement encore valide (tête). Le compteur
+ * n'est incrémenté qu'une fois l'enregistrement écrit : un arrêt brutal pendant un ajout laisse
+ * au pire un emplacement non compté. Les indices exposés sont relatifs à la tête ; l'espace des
+ * enregistrements expirés est récupéré à l'ouverture, avant la projection du fichier.
+ */
+final class MappedRecordFile implements AutoCloseable {
+
+    private static final int MAGIC = 0x42465648; // "BFVH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int HEAD_OFFSET = 24;
+    private static final int GROWTH_RECORDS = 1024;
+
+    private final Path path;
+    private final int recordSize;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long count;
+    private long head;
+
+    /**
+     * Ouvre ou crée le fichier.
+     *
+     * @param path       chemin du fichier
+     * @param recordSize taille d'un enregistrement en octets
+     * @throws IOException si le fichier est illisible ou d'un format différent
+     */
+    MappedRecordFile(Path path, int recordSize) throws IOException {
+        this.path = path;
+        this.recordSize = recordSize;
+        Files.createDirectories(path.getParent());
+        compactIfNeeded(path, recordSize);
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                map(HEADER_SIZE + (long) GROWTH_RECORDS * recordSize);
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(RECORD_SIZE_OFFSET, recordSize);
+                buffer.putLong(COUNT_OFFSET, 0);
+            } else {
+                map(channel.size());
+                if (buffer.getInt(MAGIC_OFFSET) != MAGIC
+                        || buffer.getInt(VERSION_OFFSET) != VERSION
+                        || buffer.getInt(RECORD_SIZE_OFFSET) != recordSize) {
+                    throw new IOException("Unsupported record file format: " + path);
+                }
+                count = Math.min(buffer.getLong(COUNT_OFFSET), capacity());
+                head = Math.min(Math.max(buffer.getLong(HEAD_OFFSET), 0), count);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return le nombre d'enregistrements valides
+     */
+    synchronized long size() {
+        return count - head;
+    }
+
+    /**
+     * Ajoute un enregistrement ; l'écrivain reçoit une vue de {@code recordSize} octets.
+     */
+    synchronized void append(Consumer<ByteBuffer> writer) throws IOException {
+        if (count >= capacity()) {
+            map(HEADER_SIZE + (capacity() + GROWTH_RECORDS) * recordSize);
+        }
+        writer.accept(slot(count));
+        count++;
+        buffer.putLong(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Réécrit sur place l'enregistrement d'indice donné.
+     */
+    synchronized void update(long index, Consumer<ByteBuffer> writer) {
+        writer.accept(slot(physical(index)));
+    }
+
+    /**
+     * Lit l'enregistrement d'indice donné.
+     */
+    synchronized <T> T read(long index, Function<ByteBuffer, T> reader) {
+        return reader.apply(slot(physical(index)).asReadOnlyBuffer());
+    }
+
+    /**
+     * Lit un long à une position donnée d'un enregistrement, sans allocation.
+     */
+    synchronized long readLong(long index, int fieldOffset) {
+        return buffer.getLong(Math.toIntExact(HEADER_SIZE + physical(index) * recordSize + fieldOffset));
+    }
+
+    /**
+     * Fait expirer les {@code n} premiers enregistrements en avançant la tête.
+     */
+    synchronized void dropFirst(long n) {
+        if (n <= 0) {
+            return;
+        }
+        head = Math.min(head + n, count);
+        buffer.putLong(HEAD_OFFSET, head);
+    }
+
+    /**
+     * Force l'écriture des pages modifiées sur le disque.
+     */
+    synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private long physical(long index) {
+        if (index < 0 || index >= count - head) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + (count - head) + " in " + path);
+        }
+        return head + index;
+    }
+
+    /**
+     * Recopie les enregistrements valides en début de fichier quand la tête dépasse la moitié.
+     * Fait avant l'ouverture : la copie passe par un fichier temporaire renommé atomiquement,
+     * un arrêt brutal laisse donc soit l'ancien fichier, soit le nouveau.
+     */
+    private static void compactIfNeeded(Path path, int recordSize) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_SIZE) {
+            return;
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            in.read(header, 0);
+            long storedCount = header.getLong(COUNT_OFFSET);
+            long storedHead = header.getLong(HEAD_OFFSET);
+            if (header.getInt(RECORD_SIZE_OFFSET) != recordSize
+                    || storedHead <= 0 || storedHead > storedCount || storedHead < storedCount / 2
+                    || HEADER_SIZE + storedCount * recordSize > in.size()) {
+                return;
+            }
+
+            long remaining = storedCount - storedHead;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                header.putLong(COUNT_OFFSET, remaining);
+                header.putLong(HEAD_OFFSET, 0);
+                out.write(header.flip());
+                long position = HEADER_SIZE + storedHead * recordSize;
+                long length = remaining * recordSize;
+                long copied = 0;
+                while (copied < length) {
+                    copied += in.transferTo(position + copied, length - copied, out);
+                }
+                out.force(true);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ByteBuffer slot(long index) {
+        int offset = Math.toIntExact(HEADER_SIZE + index * recordSize);
+        return buffer.slice(offset, recordSize);
+    }
+
+    private long capacity() {
+        return (buffer.capacity() - HEADER_SIZE) / recordSize;
+    }
+
+    private void map(long size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+}
@@ -0,0 +1,150 @@
+package fr.antschw.bfv.infrastructure.history;
+
+import fr.antschw.bfv.domain.model.RollupResolution;
+import fr.antschw.bfv.domain.model.StatsRollup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Agrégats d'un joueur pour une résolution donnée, un enregistrement par intervalle.
+ * <p>
+ * Chaque relevé est replié dans l'intervalle courant : le dernier enregistrement est mis à
+ * jour sur place tant que l'intervalle ne change pas, un nouveau est ajouté sinon. Les
+ * intervalles journaliers suivent le fuseau horaire local.
+ */
+final class RollupStore implements AutoCloseable {
+
+    // Disposition d'un enregistrement
+    static final int RECORD_SIZE = 88;
+    private static final int BUCKET_START_OFFSET = 0; // long, epoch millis
+    private static final int SAMPLES_OFFSET = 8;      // int ; 12-15 réservés
+    private static final int MIN_KD_OFFSET = 16;      // doubles à partir d'ici
+    private static final int MAX_KD_OFFSET = 24;
+    private static final int LAST_KD_OFFSET = 32;
+    private static final int MIN_KPM_OFFSET = 40;
+    private static final int MAX_KPM_OFFSET = 48;
+    private static final int LAST_KPM_OFFSET = 56;
+    private static final int MIN_ACCURACY_OFFSET = 64;
+    private static final int MAX_ACCURACY_OFFSET = 72;
+    private static final int LAST_ACCURACY_OFFSET = 80;
+
+    private final RollupResolution resolution;
+    private final MappedRecordFile file;
+
+    RollupStore(Path path, RollupResolution resolution) throws IOException {
+        this.resolution = resolution;
+        this.file = new MappedRecordFile(path, RECORD_SIZE);
+    }
+
+    /**
+     * @return le nombre d'intervalles enregistrés
+     */
+    long size() {
+        return file.size();
+    }
+
+    /**
+     * Replie un relevé dans l'intervalle qui le contient.
+     * Un relevé antérieur au dernier intervalle est ignoré.
+     */
+    synchronized void add(long epochMillis, double killDeath, double killsPerMinute, double accuracy)
+            throws IOException {
+        long bucketStart = bucketStart(epochMillis);
+        long size = file.size();
+        long lastBucket = size > 0 ? file.readLong(size - 1, BUCKET_START_OFFSET) : Long.MIN_VALUE;
+
+        if (bucketStart == lastBucket) {
+            file.update(size - 1, buffer -> {
+                buffer.putInt(SAMPLES_OFFSET, buffer.getInt(SAMPLES_OFFSET) + 1);
+                fold(buffer, MIN_KD_OFFSET, killDeath);
+                fold(buffer, MIN_KPM_OFFSET, killsPerMinute);
+                fold(buffer, MIN_ACCURACY_OFFSET, accuracy);
+            });
+        } else if (bucketStart > lastBucket) {
+            file.append(buffer -> {
+                buffer.putLong(BUCKET_START_OFFSET, bucketStart);
+                buffer.putInt(SAMPLES_OFFSET, 1);
+                init(buffer, MIN_KD_OFFSET, killDeath);
+                init(buffer, MIN_KPM_OFFSET, killsPerMinute);
+                init(buffer, MIN_ACCURACY_OFFSET, accuracy);
+            });
+        }
+    }
+
+    /**
+     * Charge les intervalles commençant dans la plage donnée.
+     */
+    List<StatsRollup> range(Instant from, Instant to) {
+        long start = lowerBound(from.toEpochMilli());
+        long end = lowerBound(to.toEpochMilli());
+        List<StatsRollup> result = new ArrayList<>((int) Math.max(0, end - start));
+        for (long i = start; i < end; i++) {
+            result.add(file.read(i, RollupStore::toRollup));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private long bucketStart(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis)
+                .atZone(ZoneId.systemDefault())
+                .truncatedTo(resolution.unit())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    private long lowerBound(long epochMillis) {
+        long low = 0;
+        long high = file.size();
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (file.readLong(mid, BUCKET_START_OFFSET) < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Initialise un triplet min/max/dernier commençant à {@code offset}.
+     */
+    private static void init(ByteBuffer buffer, int offset, double value) {
+        buffer.putDouble(offset, value);
+        buffer.putDouble(offset + 8, value);
+        buffer.putDouble(offset + 16, value);
+    }
+
+    private static void fold(ByteBuffer buffer, int offset, double value) {
+        buffer.putDouble(offset, Math.min(buffer.getDouble(offset), value));
+        buffer.putDouble(offset + 8, Math.max(buffer.getDouble(offset + 8), value));
+        buffer.putDouble(offset + 16, value);
+    }
+
+    private static StatsRollup toRollup(ByteBuffer buffer) {
+        return new StatsRollup(
+                Instant.ofEpochMilli(buffer.getLong(BUCKET_START_OFFSET)),
+                buffer.getInt(SAMPLES_OFFSET),
+                buffer.getDouble(MIN_KD_OFFSET),
+                buffer.getDouble(MAX_KD_OFFSET),
+                buffer.getDouble(LAST_KD_OFFSET),
+                buffer.getDouble(MIN_KPM_OFFSET),
+                buffer.getDouble(MAX_KPM_OFFSET),
+                buffer.getDouble(LAST_KPM_OFFSET),
+                buffer.getDouble(MIN_ACCURACY_OFFSET),
+                buffer.getDouble(MAX_ACCURACY_OFFSET),
+                buffer.getDouble(LAST_ACCURACY_OFFSET)
+        );
+    }
+}
@@ -0,0 +1,273 @@
+package fr.antschw.bfv.infrastructure.history;
+
+import fr.antschw.bfv.domain.model.RollupResolution;
+import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.StatsRollup;
+import fr.antschw.bfv.domain.service.SessionHistoryService;
+
+import com.google.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static fr.antschw.bfv.application.util.AppConstants.MONITORING_RAW_RETENTION_DAYS;
+
+/**
+ * Historique des relevés de surveillance, un fichier de séries temporelles par joueur.
+ * <p>
+ * Chaque relevé est un enregistrement binaire de {@link #RECORD_SIZE} octets, lu directement
+ * depuis le fichier projeté en mémoire, sans analyse JSON. Les enregistrements étant ajoutés
+ * dans l'ordre chronologique, la limite de rétention se trouve par recherche dichotomique.
+ * <p>
+ * Chaque relevé est aussi replié, au fil de l'eau, dans des agrégats horaires et journaliers
+ * (min/max/dernier du K/D, du KPM et de la précision) conservés sans limite. Les relevés bruts
+ * expirent après {@code MONITORING_RAW_RETENTION_DAYS} jours.
+ */
+@Singleton
+public class SessionHistoryAdapter implements SessionHistoryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionHistoryAdapter.class);
+    private static final Path HISTORY_DIR = Path.of(System.getProperty("user.home"), ".bfvyze", "history");
+
+    // Disposition d'un enregistrement
+    private static final int RECORD_SIZE = 56;
+    private static final int TIMESTAMP_OFFSET = 0;      // long, epoch millis
+    private static final int SECONDS_PLAYED_OFFSET = 8; // long
+    private static final int KPM_OFFSET = 16;           // double
+    private static final int ACCURACY_OFFSET = 24;      // float, %
+    private static final int HEADSHOTS_OFFSET = 28;     // float, %
+    private static final int KILLS_OFFSET = 32;         // int
+    private static final int DEATHS_OFFSET = 36;        // int
+    private static final int FLAGS_OFFSET = 40;         // int ; 44-55 réservés
+
+    private static final int FLAG_SESSION_START = 1;
+
+    private static final Duration RAW_RETENTION = Duration.ofDays(MONITORING_RAW_RETENTION_DAYS);
+
+    private final Map<String, PlayerHistory> histories = new ConcurrentHashMap<>();
+
+    @Inject
+    public SessionHistoryAdapter() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll));
+    }
+
+    @Override
+    public void append(String playerIdentifier, SessionStats stats, boolean sessionStart) {
+        try {
+            PlayerHistory history = history(playerIdentifier);
+            history.raw.append(buffer -> {
+                buffer.putLong(TIMESTAMP_OFFSET, stats.timestamp().toEpochMilli());
+                buffer.putLong(SECONDS_PLAYED_OFFSET, stats.secondsPlayed());
+                buffer.putDouble(KPM_OFFSET, stats.killsPerMinute());
+                buffer.putFloat(ACCURACY_OFFSET, (float) parsePercentage(stats.accuracy()));
+                buffer.putFloat(HEADSHOTS_OFFSET, (float) parsePercentage(stats.headshots()));
+                buffer.putInt(KILLS_OFFSET, stats.kills());
+                buffer.putInt(DEATHS_OFFSET, stats.deaths());
+                buffer.putInt(FLAGS_OFFSET, sessionStart ? FLAG_SESSION_START : 0);
+            });
+            for (RollupStore rollup : history.rollups.values()) {
+                rollup.add(stats.timestamp().toEpochMilli(), stats.killDeath(),
+                        stats.killsPerMinute(), parsePercentage(stats.accuracy()));
+            }
+            expireRawSamples(history.raw);
+        } catch (IOException e) {
+            LOGGER.error("Failed to append history sample for {}", playerIdentifier, e);
+        }
+    }
+
+    @Override
+    public List<SessionStats> getLastSession(String playerIdentifier) {
+        try {
+            MappedRecordFile file = history(playerIdentifier).raw;
+            long size = file.size();
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            // Remonter jusqu'au dernier début de session
+            long start = size - 1;
+            while (start > 0 && !isSessionStart(file, start)) {
+                start--;
+            }
+            List<SessionStats> result = new ArrayList<>((int) (size - start));
+            for (long i = start; i < size; i++) {
+                result.add(file.read(i, buffer -> toSessionStats(playerIdentifier, buffer)));
+            }
+            return result;
+        } catch (IOException e) {
+            LOGGER.error("Failed to read last session of {}", playerIdentifier, e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<StatsRollup> getRollups(String playerIdentifier, RollupResolution resolution, Instant from, Instant to) {
+        try {
+            return history(playerIdentifier).rollups.get(resolution).range(from, to);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read {} rollups of {}", resolution, playerIdentifier, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Fait expirer les relevés bruts plus anciens que la durée de rétention.
+     * Ne coûte qu'une lecture tant que le plus ancien relevé est encore valide.
+     */
+    private static void expireRawSamples(MappedRecordFile file) {
+        long cutoff = Instant.now().minus(RAW_RETENTION).toEpochMilli();
+        if (file.size() > 0 && file.readLong(0, TIMESTAMP_OFFSET) < cutoff) {
+            file.dropFirst(lowerBound(file, cutoff));
+        }
+    }
+
+    /**
+     * Reconstruit les agrégats vides à partir des relevés bruts, pour les historiques
+     * enregistrés avant l'existence des agrégats.
+     */
+    private static void backfillRollups(MappedRecordFile raw, RollupStore rollup) throws IOException {
+        if (rollup.size() > 0) {
+            return;
+        }
+        for (long i = 0; i < raw.size(); i++) {
+            SessionStats stats = raw.read(i, buffer -> toSessionStats("", buffer));
+            rollup.add(stats.timestamp().toEpochMilli(), stats.killDeath(),
+                    stats.killsPerMinute(), parsePercentage(stats.accuracy()));
+        }
+    }
+
+    private static boolean isSessionStart(MappedRecordFile file, long index) {
+        return file.read(index, buffer -> (buffer.getInt(FLAGS_OFFSET) & FLAG_SESSION_START) != 0);
+    }
+
+    /**
+     * Indice du premier enregistrement dont l'horodatage est supérieur ou égal à {@code epochMillis}.
+     */
+    private static long lowerBound(MappedRecordFile file, long epochMillis) {
+        long low = 0;
+        long high = file.size();
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (file.readLong(mid, TIMESTAMP_OFFSET) < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private PlayerHistory history(String playerIdentifier) throws IOException {
+        try {
+            return histories.computeIfAbsent(playerIdentifier, id -> {
+                try {
+                    return PlayerHistory.open(baseName(id));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private static String baseName(String playerIdentifier) {
+        return playerIdentifier.replaceAll("[^A-Za-z0-9_.-]", "_");
+    }
+
+    private static SessionStats toSessionStats(String playerIdentifier, ByteBuffer buffer) {
+        int kills = buffer.getInt(KILLS_OFFSET);
+        int deaths = buffer.getInt(DEATHS_OFFSET);
+        return new SessionStats(
+                playerIdentifier,
+                Instant.ofEpochMilli(buffer.getLong(TIMESTAMP_OFFSET)),
+                kills,
+                deaths,
+                deaths > 0 ? (double) kills / deaths : kills,
+                buffer.getDouble(KPM_OFFSET),
+                formatPercentage(buffer.getFloat(ACCURACY_OFFSET)),
+                formatPercentage(buffer.getFloat(HEADSHOTS_OFFSET)),
+                buffer.getLong(SECONDS_PLAYED_OFFSET)
+        );
+    }
+
+    private static double parsePercentage(String percentage) {
+        try {
+            return Double.parseDouble(percentage.replace("%", "").trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return 0.0;
+        }
+    }
+
+    private static String formatPercentage(float value) {
+        return String.format(Locale.ROOT, "%.2f%%", value);
+    }
+
+    private void closeAll() {
+        for (PlayerHistory history : histories.values()) {
+            try {
+                history.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close history file", e);
+            }
+        }
+    }
+
+    /**
+     * Fichiers d'un joueur : relevés bruts et un fichier d'agrégats par résolution.
+     */
+    private record PlayerHistory(MappedRecordFile raw, Map<RollupResolution, RollupStore> rollups)
+            implements AutoCloseable {
+
+        static PlayerHistory open(String baseName) throws IOException {
+            MappedRecordFile raw = new MappedRecordFile(HISTORY_DIR.resolve(baseName + ".bfvh"), RECORD_SIZE);
+            Map<RollupResolution, RollupStore> rollups = new EnumMap<>(RollupResolution.class);
+            try {
+                for (RollupResolution resolution : RollupResolution.values()) {
+                    Path path = HISTORY_DIR.resolve(baseName + "." + suffix(resolution) + ".bfvr");
+                    RollupStore rollup = new RollupStore(path, resolution);
+                    rollups.put(resolution, rollup);
+                    backfillRollups(raw, rollup);
+                }
+                expireRawSamples(raw);
+            } catch (IOException e) {
+                raw.close();
+                for (RollupStore rollup : rollups.values()) {
+                    rollup.close();
+                }
+                throw e;
+            }
+            return new PlayerHistory(raw, rollups);
+        }
+
+        private static String suffix(RollupResolution resolution) {
+            return switch (resolution) {
+                case HOURLY -> "1h";
+                case DAILY -> "1d";
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            raw.close();
+            for (RollupStore rollup : rollups.values()) {
+                rollup.close();
+            }
+        }
+    }
+}
@@ -4,33 +4,57 @@ import com.github.kwhat.jnativehook.GlobalScreen;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyListener;
 import com.google.inject.Inject;
+import fr.antschw.bfv.domain.exception.ScreenshotCaptureException;
+import fr.antschw.bfv.domain.service.ConnectionWarmupService;
 import fr.antschw.bfv.domain.service.HotkeyConfigurationService;
 import fr.antschw.bfv.domain.exception.HotkeyListenerException;
 import fr.antschw.bfv.domain.service.HotkeyListenerService;
+import fr.antschw.bfv.domain.service.ScreenshotService;
 
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 
 /**
  * Implementation of HotkeyListenerService using JNativeHook.
+ * <p>
+ * La capture d'écran part dès l'appui, sur un thread dédié, sans attendre le thread JavaFX :
+ * l'image correspond ainsi à l'écran au moment de l'appui, même si l'interface est occupée.
+ * Les appuis répétés (touche maintenue) pendant une capture sont ignorés.
  */
 public class HotkeyListenerAdapter implements HotkeyListenerService, NativeKeyListener {
 
     private final HotkeyConfigurationService configurationService;
-    private Runnable callback;
+    private final ScreenshotService screenshotService;
+    private final ConnectionWarmupService connectionWarmup;
+    private final ExecutorService captureExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hotkey-capture");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean capturing = new AtomicBoolean();
+    private volatile Consumer<BufferedImage> callback;
     private static final Logger LOGGER = LoggerFactory.getLogger(HotkeyListenerAdapter.class);
 
     @Inject
-    public HotkeyListenerAdapter(HotkeyConfigurationService configurationService) {
+    public HotkeyListenerAdapter(HotkeyConfigurationService configurationService,
+                                 ScreenshotService screenshotService,
+                                 ConnectionWarmupService connectionWarmup) {
         this.configurationService = configurationService;
+        this.screenshotService = screenshotService;
+        this.connectionWarmup = connectionWarmup;
     }
 
     @Override
-    public void startListening(Runnable onHotkeyPressed) throws HotkeyListenerException {
+    public void startListening(Consumer<BufferedImage> onHotkeyCapture) throws HotkeyListenerException {
         try {
             // Deactivate internal logs JNativeHook
             java.util.logging.Logger jnativeLogger = java.util.logging.Logger.getLogger(GlobalScreen.class.getPackage().getName());
@@ -38,7 +62,7 @@ public class HotkeyListenerAdapter implements HotkeyListenerService, NativeKeyLi
 
             GlobalScreen.registerNativeHook();
             GlobalScreen.addNativeKeyListener(this);
-            this.callback = onHotkeyPressed;
+            this.callback = onHotkeyCapture;
             LOGGER.info("Global hotkey listener started.");
         } catch (Exception e) {
             LOGGER.error("Failed to start global hotkey listener.", e);
@@ -70,12 +94,29 @@ public class HotkeyListenerAdapter implements HotkeyListenerService, NativeKeyLi
         String currentHotkey = configurationService.getConfiguration().getHotkey();
         if (keyText.equalsIgnoreCase(currentHotkey)) {
             LOGGER.info("Configured hotkey [{}] pressed.", currentHotkey);
-            if (callback != null) {
-                callback.run();
+            Consumer<BufferedImage> target = callback;
+            if (target != null && capturing.compareAndSet(false, true)) {
+                captureExecutor.execute(() -> capture(target));
             }
         }
     }
 
+    /**
+     * Capture l'écran puis transmet l'image ; les connexions aux API s'ouvrent en parallèle.
+     */
+    private void capture(Consumer<BufferedImage> target) {
+        BufferedImage image = null;
+        try {
+            connectionWarmup.warmUp();
+            image = screenshotService.captureScreenshot();
+        } catch (ScreenshotCaptureException e) {
+            LOGGER.warn("Capture at hotkey press failed, the scan will capture again", e);
+        } finally {
+            capturing.set(false);
+        }
+        target.accept(image);
+    }
+
 
     @Override public void nativeKeyReleased(NativeKeyEvent nativeEvent) { }
     @Override public void nativeKeyTyped(NativeKeyEvent nativeEvent) { }
@@ -0,0 +1,71 @@
+package fr.antschw.bfv.infrastructure.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.google.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration Jackson unique, partagée par les clients d'API et les caches.
+ * <p>
+ * Un seul {@link ObjectMapper} est construit ; les composants en obtiennent des
+ * {@link ObjectReader} et {@link ObjectWriter} par type, construits une fois puis réutilisés
+ * (ils sont immuables et sûrs entre threads). Le module Blackbird remplace les accès par
+ * réflexion aux constructeurs et accesseurs des records par des lambdas générées.
+ */
+@Singleton
+public class JsonCodec {
+
+    private final ObjectMapper mapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    @Inject
+    public JsonCodec() {
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * @param type type lu
+     * @return lecteur dédié à ce type
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, ignored -> mapper.readerFor(type));
+    }
+
+    /**
+     * @param type type générique lu
+     * @return lecteur dédié à ce type
+     */
+    public ObjectReader readerFor(TypeReference<?> type) {
+        return readers.computeIfAbsent(type.getType(), ignored -> mapper.readerFor(type));
+    }
+
+    /**
+     * @param type type écrit
+     * @return écrivain dédié à ce type
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, ignored -> mapper.writerFor(type));
+    }
+
+    /**
+     * @param type type générique écrit
+     * @return écrivain dédié à ce type
+     */
+    public ObjectWriter writerFor(TypeReference<?> type) {
+        return writers.computeIfAbsent(type.getType(), ignored -> mapper.writerFor(type));
+    }
+}
@@ -0,0 +1,460 @@
+package fr.antschw.bfv.infrastructure.localapi;
+
+import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.ScanSnapshot;
+import fr.antschw.bfv.domain.model.ScanSnapshot.ScanPlayer;
+import fr.antschw.bfv.domain.service.LocalApiService;
+import fr.antschw.bfv.infrastructure.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.inject.Inject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * API locale en lecture seule, servie par le {@link HttpServer} du JDK sur l'interface de
+ * bouclage uniquement.
+ * <p>
+ * Points d'accès (JSON) :
+ * <ul>
+ *     <li>{@code GET /api/scan} : état complet du dernier scan</li>
+ *     <li>{@code GET /api/players} : joueurs du dernier scan, avec leurs statistiques</li>
+ *     <li>{@code GET /api/hackers} : synthèse BFVHackers du dernier scan</li>
+ *     <li>{@code GET /api/monitoring} : instantanés des joueurs surveillés</li>
+ *     <li>{@code GET /api/events} : flux Server-Sent Events ({@code scan}, {@code monitoring})</li>
+ * </ul>
+ * Seules les requêtes adressées à {@code localhost} ou à l'adresse de bouclage sont servies,
+ * contre le DNS rebinding. Une page web ne peut lire l'API que depuis une origine autorisée
+ * dans les paramètres ({@code null} pour un overlay ouvert depuis un fichier) : toute autre
+ * origine est refusée, et aucune n'est autorisée par défaut.
+ * <p>
+ * Les résultats publiés sont sérialisés une seule fois par état, puis servis à tous les
+ * clients. Les mises à jour d'un scan arrivent par rafales (une par joueur) : elles sont
+ * regroupées et poussées au plus toutes les {@value #PUSH_DELAY_MS} ms, avec le dernier état
+ * seulement.
+ * <p>
+ * Le thread de poussée n'écrit jamais sur une socket : il dépose chaque événement dans la file
+ * bornée de chaque client, vidée par une tâche d'écriture propre au client. Un client qui ne lit
+ * plus bloque au pire sa propre tâche ; dès que sa file déborde ({@value #MAX_PENDING_EVENTS}
+ * événements en retard), il est déconnecté sans retarder les autres.
+ */
+@Singleton
+public class LocalApiServer implements LocalApiService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalApiServer.class);
+
+    private static final long PUSH_DELAY_MS = 250;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final int MAX_PENDING_EVENTS = 16;
+    private static final String EVENT_SCAN = "scan";
+    private static final String EVENT_MONITORING = "monitoring";
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    private final ObjectWriter scanWriter;
+    private final ObjectWriter playersWriter;
+    private final ObjectWriter hackersWriter;
+    private final ObjectWriter monitoringWriter;
+
+    private final Set<SseClient> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scanPushPending = new AtomicBoolean();
+    private final AtomicBoolean monitoringPushPending = new AtomicBoolean();
+    private volatile Set<String> allowedOrigins = Set.of();
+
+    private volatile ScanSnapshot scan;
+    private volatile List<MonitoringSnapshot> monitoring = List.of();
+    private ScanPayload scanPayload = ScanPayload.EMPTY;
+    private MonitoringPayload monitoringPayload = MonitoringPayload.EMPTY;
+
+    private HttpServer server;
+    private ExecutorService handlers;
+    private ScheduledExecutorService pusher;
+    private ExecutorService writers;
+
+    @Inject
+    public LocalApiServer(JsonCodec codec) {
+        this.scanWriter = codec.writerFor(ScanSnapshot.class);
+        this.playersWriter = codec.writerFor(new TypeReference<List<ScanPlayer>>() {
+        });
+        this.hackersWriter = codec.writerFor(HackersSummary.class);
+        this.monitoringWriter = codec.writerFor(new TypeReference<List<MonitoringSnapshot>>() {
+        });
+    }
+
+    @Override
+    public synchronized void start(int port, List<String> allowedOrigins) throws IOException {
+        stop();
+        this.allowedOrigins = Set.copyOf(allowedOrigins);
+
+        HttpServer created = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        handlers = Executors.newFixedThreadPool(2, daemonThreads("local-api"));
+        pusher = Executors.newSingleThreadScheduledExecutor(daemonThreads("local-api-push"));
+        writers = Executors.newCachedThreadPool(daemonThreads("local-api-sse"));
+
+        created.createContext("/api/scan", exchange -> serve(exchange, () -> scanPayload().scan()));
+        created.createContext("/api/players", exchange -> serve(exchange, () -> scanPayload().players()));
+        created.createContext("/api/hackers", exchange -> serve(exchange, () -> scanPayload().hackers()));
+        created.createContext("/api/monitoring", exchange -> serve(exchange, () -> monitoringPayload().json()));
+        created.createContext("/api/events", this::subscribe);
+        created.setExecutor(handlers);
+        created.start();
+        server = created;
+
+        pusher.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        LOGGER.info("Local API listening on http://{}:{}/api", InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        clients.forEach(SseClient::close);
+        clients.clear();
+        server.stop(0);
+        handlers.shutdownNow();
+        pusher.shutdownNow();
+        writers.shutdownNow();
+        scanPushPending.set(false);
+        monitoringPushPending.set(false);
+        server = null;
+        handlers = null;
+        pusher = null;
+        writers = null;
+        LOGGER.info("Local API stopped");
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public void publishScan(ScanSnapshot snapshot) {
+        scan = snapshot;
+        schedulePush(scanPushPending, this::pushScan);
+    }
+
+    @Override
+    public void publishMonitoring(List<MonitoringSnapshot> snapshots) {
+        monitoring = List.copyOf(snapshots);
+        schedulePush(monitoringPushPending, this::pushMonitoring);
+    }
+
+    /**
+     * Planifie un envoi si aucun n'est déjà prévu ; l'envoi prendra le dernier état publié.
+     * Sans serveur démarré, rien n'est sérialisé avant la prochaine requête.
+     */
+    private void schedulePush(AtomicBoolean pending, Runnable push) {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = pusher;
+        }
+        if (executor == null || !pending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.schedule(push, PUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.set(false);
+        }
+    }
+
+    private void pushScan() {
+        scanPushPending.set(false);
+        broadcast(EVENT_SCAN, scanPayload().scan());
+    }
+
+    private void pushMonitoring() {
+        monitoringPushPending.set(false);
+        broadcast(EVENT_MONITORING, monitoringPayload().json());
+    }
+
+    /**
+     * @return le dernier scan publié en JSON, sérialisé une seule fois par état
+     */
+    private synchronized ScanPayload scanPayload() {
+        ScanSnapshot current = scan;
+        if (scanPayload.source() != current) {
+            try {
+                scanPayload = new ScanPayload(current,
+                        scanWriter.writeValueAsBytes(current),
+                        playersWriter.writeValueAsBytes(current == null ? List.of() : current.players()),
+                        hackersWriter.writeValueAsBytes(current == null ? null : current.hackers()));
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Failed to serialize scan for the local API: {}", e.getMessage());
+            }
+        }
+        return scanPayload;
+    }
+
+    /**
+     * @return les derniers instantanés de surveillance en JSON, sérialisés une seule fois
+     */
+    private synchronized MonitoringPayload monitoringPayload() {
+        List<MonitoringSnapshot> current = monitoring;
+        if (monitoringPayload.source() != current) {
+            try {
+                monitoringPayload = new MonitoringPayload(current, monitoringWriter.writeValueAsBytes(current));
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Failed to serialize monitoring for the local API: {}", e.getMessage());
+            }
+        }
+        return monitoringPayload;
+    }
+
+    private void serve(HttpExchange exchange, Supplier<byte[]> payload) throws IOException {
+        try (exchange) {
+            if (!allowRequest(exchange)) {
+                return;
+            }
+            byte[] body = payload.get();
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            boolean head = exchange.getRequestMethod().equals("HEAD");
+            exchange.sendResponseHeaders(200, head ? -1 : body.length);
+            if (!head) {
+                exchange.getResponseBody().write(body);
+            }
+        }
+    }
+
+    /**
+     * Ouvre un flux SSE : l'état courant est envoyé tout de suite, puis chaque mise à jour.
+     * L'échange reste ouvert après le retour du gestionnaire ; il est fermé à l'arrêt du
+     * serveur, dès qu'une écriture échoue (client parti) ou si le client prend trop de retard.
+     */
+    private void subscribe(HttpExchange exchange) throws IOException {
+        if (!allowRequest(exchange)) {
+            exchange.close();
+            return;
+        }
+        ExecutorService executor;
+        synchronized (this) {
+            executor = writers;
+        }
+        if (executor == null) {
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, 0);
+
+        SseClient client = new SseClient(exchange, executor);
+        clients.add(client);
+        if (!client.offer(event(EVENT_SCAN, scanPayload().scan()))
+                || !client.offer(event(EVENT_MONITORING, monitoringPayload().json()))) {
+            drop(client);
+        }
+    }
+
+    /**
+     * Refuse les requêtes adressées à un autre hôte (DNS rebinding) ou venant d'une page
+     * d'une origine non autorisée, puis tout ce qui n'est pas une lecture.
+     */
+    private boolean allowRequest(HttpExchange exchange) throws IOException {
+        if (!isLoopbackHost(exchange.getRequestHeaders().getFirst("Host"))) {
+            LOGGER.debug("Local API request refused, unexpected Host: {}", exchange.getRequestHeaders().getFirst("Host"));
+            exchange.sendResponseHeaders(403, -1);
+            return false;
+        }
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null) {
+            if (!allowedOrigins.contains(origin)) {
+                LOGGER.debug("Local API request refused, origin not allowed: {}", origin);
+                exchange.sendResponseHeaders(403, -1);
+                return false;
+            }
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", origin);
+            exchange.getResponseHeaders().set("Vary", "Origin");
+        }
+        String method = exchange.getRequestMethod();
+        if (method.equals("GET") || method.equals("HEAD")) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        exchange.sendResponseHeaders(405, -1);
+        return false;
+    }
+
+    /**
+     * Un client sans en-tête Host n'est pas un navigateur, donc pas une cible de DNS rebinding.
+     */
+    private static boolean isLoopbackHost(String host) {
+        if (host == null) {
+            return true;
+        }
+        String name = host.trim().toLowerCase(Locale.ROOT);
+        int portSeparator = name.startsWith("[") ? name.indexOf("]:") + 1 : name.lastIndexOf(':');
+        if (portSeparator > 0) {
+            name = name.substring(0, portSeparator);
+        }
+        return LOOPBACK_HOSTS.contains(name);
+    }
+
+    /**
+     * Dépose l'événement, encodé une seule fois, dans la file de chaque client ; ne bloque jamais.
+     */
+    private void broadcast(String event, byte[] data) {
+        enqueue(event(event, data));
+    }
+
+    private void heartbeat() {
+        enqueue(SseClient.PING);
+    }
+
+    private void enqueue(byte[] frame) {
+        for (SseClient client : clients) {
+            if (!client.offer(frame)) {
+                drop(client);
+            }
+        }
+    }
+
+    private void drop(SseClient client) {
+        if (clients.remove(client)) {
+            LOGGER.debug("Local API event stream client dropped (gone or too slow)");
+        }
+        client.close();
+    }
+
+    private static byte[] event(String event, byte[] data) {
+        byte[] header = ("event: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[header.length + data.length + 2];
+        System.arraycopy(header, 0, frame, 0, header.length);
+        System.arraycopy(data, 0, frame, header.length, data.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return frame;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Dernier scan publié et sa forme JSON, servie telle quelle à tous les clients.
+     */
+    private record ScanPayload(ScanSnapshot source, byte[] scan, byte[] players, byte[] hackers) {
+        static final ScanPayload EMPTY = new ScanPayload(null, bytes("null"), bytes("[]"), bytes("null"));
+    }
+
+    /**
+     * Derniers instantanés de surveillance publiés et leur forme JSON.
+     */
+    private record MonitoringPayload(List<MonitoringSnapshot> source, byte[] json) {
+        static final MonitoringPayload EMPTY = new MonitoringPayload(List.of(), bytes("[]"));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Client abonné au flux SSE : une file bornée d'événements encodés, vidée par une tâche
+     * d'écriture à lui, lancée à la demande sur l'exécuteur partagé.
+     */
+    private static final class SseClient {
+        private static final byte[] PING = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private final Executor writer;
+        private final BlockingQueue<byte[]> pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private SseClient(HttpExchange exchange, Executor writer) {
+            this.exchange = exchange;
+            this.out = exchange.getResponseBody();
+            this.writer = writer;
+        }
+
+        /**
+         * @return false si le client est fermé ou si sa file est pleine (client trop lent)
+         */
+        boolean offer(byte[] frame) {
+            if (closed.get() || !pending.offer(frame)) {
+                return false;
+            }
+            scheduleDrain();
+            return !closed.get();
+        }
+
+        private void scheduleDrain() {
+            if (!closed.get() && writing.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    writing.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                byte[] frame;
+                while (!closed.get() && (frame = pending.poll()) != null) {
+                    out.write(frame);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                close();
+            } finally {
+                writing.set(false);
+            }
+            // Un événement déposé pendant la fin de la boucle relance une écriture
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * Ferme l'échange hors du thread appelant : la fermeture écrit encore sur la socket
+         * et ne doit pas bloquer le thread de poussée.
+         */
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            pending.clear();
+            try {
+                writer.execute(exchange::close);
+            } catch (RejectedExecutionException e) {
+                exchange.close();
+            }
+        }
+    }
+}
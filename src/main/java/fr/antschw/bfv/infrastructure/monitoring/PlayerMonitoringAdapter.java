@@ -2,152 +2,405 @@ package fr.antschw.bfv.infrastructure.monitoring;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.RollupResolution;
+import fr.antschw.bfv.domain.model.SessionAggregates;
 import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.StatsRollup;
 import fr.antschw.bfv.domain.model.UserStats;
 import fr.antschw.bfv.domain.service.PlayerMonitoringService;
+import fr.antschw.bfv.domain.service.SessionHistoryService;
 import fr.antschw.bfv.domain.service.SettingsService;
 import fr.antschw.bfv.domain.exception.ApiRequestException;
 import fr.antschw.bfv.domain.service.UserStatsService;
 
-import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import static fr.antschw.bfv.application.util.AppConstants.GAMETOOLS_PLAYERS_NAME;
+import static fr.antschw.bfv.application.util.AppConstants.MONITORING_ACTIVE_INTERVAL_MINUTES;
+import static fr.antschw.bfv.application.util.AppConstants.MONITORING_BASE_INTERVAL_MINUTES;
+import static fr.antschw.bfv.application.util.AppConstants.MONITORING_MAX_INTERVAL_MINUTES;
 
 /**
- * Implementation of a PlayerMonitoringService that fetches player stats at regular intervals.
- * Modifié pour utiliser un intervalle de 12 minutes et sauvegarder les settings.
+ * Implementation of a PlayerMonitoringService that fetches player stats at adaptive intervals.
+ * <p>
+ * Chaque joueur surveillé a sa propre session. Un unique scheduler partagé vérifie toutes les
+ * {@link #TICK_SECONDS} secondes quelles sessions sont dues et les interroge l'une après l'autre ;
+ * les échéances sont décalées d'au moins {@link #STAGGER} pour étaler les requêtes.
+ * <p>
+ * Tant que le temps de jeu (secondsPlayed) progresse, le joueur est en partie et l'intervalle
+ * est court ; sinon l'intervalle double à chaque relevé sans progression, jusqu'à un plafond.
+ * L'intervalle ne descend jamais sous le plancher imposé par le budget de requêtes configuré.
+ * <p>
+ * Chaque relevé est aussi ajouté à l'historique persistant ; une session interrompue depuis
+ * moins de {@link #RESUME_WINDOW} (redémarrage de l'application) est reprise telle quelle.
+ * <p>
+ * Les agrégats de session (K/D, KPM, fenêtres glissantes, meilleur et pire intervalle) sont
+ * mis à jour une fois par relevé par un {@link SessionAggregator} ; l'interface lit l'instantané.
+ * Chaque relevé est ensuite publié aux écouteurs enregistrés, depuis le thread de surveillance.
+ * <p>
+ * Tout l'état de surveillance (joueur principal, stats courantes et initiales, début de session,
+ * historique, agrégats, échéances) tient dans un {@link MonitoringState} immuable derrière une
+ * {@link AtomicReference}, remplacé par un seul CAS par relevé. Les lectures de l'interface sont
+ * donc sans attente et toujours cohérentes, à condition de passer par un seul
+ * {@link MonitoringSnapshot} tiré d'un même état : jamais les stats courantes d'un relevé avec les
+ * stats initiales d'un autre. Les relevés d'une même session restent sérialisés par son verrou, seul
+ * l'agrégateur (état de travail mutable) étant partagé entre deux relevés. Effacer une session
+ * incrémente sa génération : un relevé en vol commencé avant l'effacement est alors ignoré,
+ * vérifié avant de toucher l'agrégateur puis dans le CAS ; il n'est ajouté à l'historique
+ * persistant qu'une fois retenu par le CAS. Si l'effacement tombe entre la vérification et le CAS,
+ * l'agrégateur est de toute façon remis à zéro au relevé suivant.
  */
 public class PlayerMonitoringAdapter implements PlayerMonitoringService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PlayerMonitoringAdapter.class);
-    private static final int UPDATE_INTERVAL_MINUTES = 12; // Modifié à 12 minutes
+    private static final long TICK_SECONDS = 15;
+    private static final Duration STAGGER = Duration.ofSeconds(30);
+    private static final Duration RESUME_WINDOW = Duration.ofMinutes(30);
 
     private final UserStatsService userStatsService;
     private final SettingsService settingsService;
+    private final SessionHistoryService historyService;
+    private final ScheduledExecutorService scheduler;
 
-    // On n'initialise pas le scheduler ici pour éviter les problèmes de démarrage
-    private ScheduledExecutorService scheduler;
-
-    private String playerIdentifier;
-    private boolean isPlayerId;
-    private Consumer<UserStats> onStatsUpdated;
-    private UserStats currentStats;
-    private UserStats initialStats; // Stats du début de session
-    private final List<SessionStats> sessionHistory = Collections.synchronizedList(new ArrayList<>());
-    private Instant sessionStartTime;
-    private long lastSecondsPlayed = -1;
+    private final AtomicReference<MonitoringState> state;
+    private final List<Consumer<MonitoringSnapshot>> listeners = new CopyOnWriteArrayList<>();
 
     @Inject
     public PlayerMonitoringAdapter(
             @Named(GAMETOOLS_PLAYERS_NAME) UserStatsService userStatsService,
-            SettingsService settingsService) {
+            SettingsService settingsService,
+            SessionHistoryService historyService) {
         this.userStatsService = userStatsService;
         this.settingsService = settingsService;
+        this.historyService = historyService;
 
         // Initialiser avec les valeurs sauvegardées
-        this.playerIdentifier = settingsService.getPlayerName();
-        this.isPlayerId = settingsService.isUsePlayerId();
-
-        LOGGER.info("PlayerMonitoringAdapter initialized with {} minute interval", UPDATE_INTERVAL_MINUTES);
-    }
-
-    @Override
-    public void startMonitoring(String playerIdentifier, boolean isPlayerId, Consumer<UserStats> onStatsUpdated) {
-        // Stop any existing monitoring
-        stopMonitoring();
+        String savedPlayer = settingsService.getPlayerName();
+        this.state = new AtomicReference<>(new MonitoringState(
+                savedPlayer == null || savedPlayer.isBlank() ? null : savedPlayer, Map.of()));
 
-        // Initialiser le scheduler uniquement quand on commence le monitoring
         this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "player-monitoring-thread");
             t.setDaemon(true);
             return t;
         });
+        scheduler.scheduleWithFixedDelay(this::tick, TICK_SECONDS, TICK_SECONDS, TimeUnit.SECONDS);
 
-        this.playerIdentifier = playerIdentifier;
-        this.isPlayerId = isPlayerId;
-        this.onStatsUpdated = onStatsUpdated;
-        this.sessionStartTime = Instant.now();
-        this.sessionHistory.clear();
-        this.lastSecondsPlayed = -1;
-        this.initialStats = null; // Réinitialiser les stats initiales
+        LOGGER.info("PlayerMonitoringAdapter initialized with adaptive interval ({}-{} minutes)",
+                MONITORING_ACTIVE_INTERVAL_MINUTES, MONITORING_MAX_INTERVAL_MINUTES);
+    }
 
-        // Fetch stats immediately
-        fetchPlayerStats();
+    @Override
+    public void startMonitoring(String playerIdentifier, boolean isPlayerId, Consumer<UserStats> onStatsUpdated) {
+        // Nouvelle session : ne pas être interrogée par le tick avant le premier relevé ci-dessous
+        PlayerSession session = new PlayerSession(playerIdentifier, isPlayerId, onStatsUpdated);
+        PlayerState initial = resumeSession(session).withNextPoll(Instant.MAX, 0);
+
+        // Remplacer le joueur principal et ajouter sa session en un seul changement d'état
+        state.updateAndGet(current -> {
+            MonitoringState next = current;
+            if (current.primaryPlayer() != null && !current.primaryPlayer().equals(playerIdentifier)) {
+                next = next.withoutPlayer(current.primaryPlayer());
+            }
+            return next.withPlayer(initial).withPrimary(playerIdentifier);
+        });
 
-        // Schedule regular updates every 12 minutes
-        scheduler.scheduleAtFixedRate(
-                this::fetchPlayerStats,
-                UPDATE_INTERVAL_MINUTES,
-                UPDATE_INTERVAL_MINUTES,
-                TimeUnit.MINUTES
-        );
+        // Fetch stats immediately, then let the shared tick reschedule it
+        poll(session);
 
-        LOGGER.info("Started monitoring player: {} with {} minute interval", playerIdentifier, UPDATE_INTERVAL_MINUTES);
+        LOGGER.info("Started monitoring player: {} with adaptive interval", playerIdentifier);
     }
 
     @Override
     public void stopMonitoring() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdownNow();
+        MonitoringState previous = state.getAndUpdate(current -> new MonitoringState(current.primaryPlayer(), Map.of()));
+        if (!previous.players().isEmpty()) {
             LOGGER.info("Stopped player monitoring");
         }
     }
 
     @Override
-    public Optional<UserStats> getCurrentStats() {
-        return Optional.ofNullable(currentStats);
+    public void addMonitoringListener(Consumer<MonitoringSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeMonitoringListener(Consumer<MonitoringSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void watchPlayer(String playerIdentifier, boolean isPlayerId) {
+        if (playerIdentifier == null || playerIdentifier.isBlank()
+                || state.get().players().containsKey(playerIdentifier)) {
+            return;
+        }
+        PlayerSession session = new PlayerSession(playerIdentifier, isPlayerId, null);
+        PlayerState resumed = resumeSession(session);
+        MonitoringState next = state.updateAndGet(current -> current.players().containsKey(playerIdentifier)
+                ? current
+                : current.withPlayer(resumed.withNextPoll(staggered(current, Instant.now(), session), 0)));
+        PlayerState watched = next.players().get(playerIdentifier);
+        if (watched.session() == session) {
+            LOGGER.info("Watching player: {} (first poll at {})", playerIdentifier, watched.nextPollAt());
+        }
+    }
+
+    @Override
+    public void unwatchPlayer(String playerIdentifier) {
+        if (playerIdentifier == null) {
+            return;
+        }
+        MonitoringState previous = state.getAndUpdate(current -> current.withoutPlayer(playerIdentifier));
+        if (previous.players().containsKey(playerIdentifier)) {
+            LOGGER.info("Stopped watching player: {}", playerIdentifier);
+        }
+    }
+
+    @Override
+    public List<String> getWatchedPlayers() {
+        MonitoringState current = state.get();
+        String primary = current.primaryPlayer();
+        return current.players().values().stream()
+                .sorted(Comparator.comparing((PlayerState p) -> !p.identifier().equals(primary))
+                        .thenComparing(PlayerState::sessionStartTime))
+                .map(PlayerState::identifier)
+                .toList();
     }
 
     @Override
-    public Optional<UserStats> getInitialStats() {
-        return Optional.ofNullable(initialStats);
+    public Optional<MonitoringSnapshot> getSnapshot(String playerIdentifier) {
+        return player(playerIdentifier).map(PlayerState::snapshot);
     }
 
     @Override
-    public List<SessionStats> getSessionHistory() {
-        return Collections.unmodifiableList(sessionHistory);
+    public Optional<MonitoringSnapshot> getPrimarySnapshot() {
+        // Joueur principal et session lus dans le même état
+        MonitoringState current = state.get();
+        return current.primaryPlayer() == null
+                ? Optional.empty()
+                : Optional.ofNullable(current.players().get(current.primaryPlayer())).map(PlayerState::snapshot);
     }
 
     @Override
-    public void clearSessionHistory() {
-        sessionHistory.clear();
-        lastSecondsPlayed = -1;
-        initialStats = null;
+    public List<SessionStats> getSessionHistory(String playerIdentifier) {
+        return player(playerIdentifier).map(PlayerState::history).orElse(Collections.emptyList());
     }
 
     @Override
-    public Instant getSessionStartTime() {
-        return sessionStartTime;
+    public List<StatsRollup> getStatsTrend(String playerIdentifier, RollupResolution resolution,
+                                           Instant from, Instant to) {
+        return historyService.getRollups(playerIdentifier, resolution, from, to);
+    }
+
+    @Override
+    public void clearSessionHistory(String playerIdentifier) {
+        // Sans verrou : l'agrégateur sera remis à zéro par le prochain relevé
+        player(playerIdentifier).ifPresent(p -> update(p.session(), PlayerState::cleared).ifPresent(this::publish));
     }
 
     @Override
     public Optional<String> getMonitoredPlayer() {
-        return playerIdentifier != null ? Optional.of(playerIdentifier) : Optional.empty();
+        return Optional.ofNullable(state.get().primaryPlayer());
+    }
+
+    /**
+     * État initial d'une session : la dernière session persistée du joueur si son dernier relevé
+     * est assez récent, une session vide sinon.
+     */
+    private PlayerState resumeSession(PlayerSession session) {
+        Instant now = Instant.now();
+        List<SessionStats> last = historyService.getLastSession(session.identifier);
+        if (last.isEmpty() || last.getLast().timestamp().isBefore(now.minus(RESUME_WINDOW))) {
+            return PlayerState.started(session, now);
+        }
+        // La session n'est pas encore publiée : l'agrégateur peut être rempli sans verrou
+        SessionStats first = last.getFirst();
+        Instant sessionStart = first.timestamp();
+        session.aggregator.reset(sessionStart);
+        last.forEach(session.aggregator::add);
+        UserStats initialStats = new UserStats(first.username(), 0, 0, 0, first.killsPerMinute(),
+                first.accuracy(), first.headshots(), "", first.secondsPlayed(),
+                first.kills(), first.deaths(), first.killDeath());
+        LOGGER.info("Resumed session of {} started at {} ({} samples)",
+                session.identifier, sessionStart, last.size());
+        return new PlayerState(session, sessionStart, null, initialStats,
+                session.aggregator.history(), session.aggregator.snapshot(),
+                last.getLast().secondsPlayed(), 0, false, now, 0);
+    }
+
+    private Optional<PlayerState> player(String playerIdentifier) {
+        return playerIdentifier == null
+                ? Optional.empty()
+                : Optional.ofNullable(state.get().players().get(playerIdentifier));
+    }
+
+    /**
+     * Remplace l'état d'une session par CAS, si elle est toujours surveillée.
+     * La fonction peut être rejouée en cas de conflit et doit donc être sans effet de bord.
+     *
+     * @return le nouvel état de la session, vide si elle a été retirée entre-temps
+     */
+    private Optional<PlayerState> update(PlayerSession session, UnaryOperator<PlayerState> change) {
+        MonitoringState next = state.updateAndGet(current -> {
+            PlayerState player = current.players().get(session.identifier);
+            return player == null || player.session() != session ? current : current.withPlayer(change.apply(player));
+        });
+        PlayerState player = next.players().get(session.identifier);
+        return player != null && player.session() == session ? Optional.of(player) : Optional.empty();
+    }
+
+    /**
+     * Notifie les écouteurs ; l'échec de l'un n'empêche pas la notification des autres.
+     */
+    private void publish(PlayerState player) {
+        MonitoringSnapshot snapshot = player.snapshot();
+        for (Consumer<MonitoringSnapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                LOGGER.error("Error in monitoring listener", e);
+            }
+        }
+    }
+
+    /**
+     * Tick partagé : interroge, dans l'ordre de leurs échéances, toutes les sessions dues.
+     * GameTools n'expose pas d'endpoint de stats groupées, les relevés dus au même tick
+     * sont donc envoyés l'un après l'autre.
+     */
+    private void tick() {
+        try {
+            Instant now = Instant.now();
+            List<PlayerState> due = new ArrayList<>();
+            for (PlayerState player : state.get().players().values()) {
+                if (!player.nextPollAt().isAfter(now)) {
+                    due.add(player);
+                }
+            }
+            due.sort(Comparator.comparing(PlayerState::nextPollAt));
+            for (PlayerState player : due) {
+                // La session a pu être retirée pendant le tick : poll l'ignore alors
+                poll(player.session());
+            }
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error in monitoring tick", e);
+        }
+    }
+
+    /**
+     * Effectue un relevé puis publie, en un seul CAS, son résultat et la prochaine échéance
+     * calculée selon l'activité observée.
+     */
+    private void poll(PlayerSession session) {
+        synchronized (session) {
+            Optional<PlayerState> before = current(session);
+            if (before.isEmpty()) {
+                return;
+            }
+            Sample sample = fetchPlayerStats(before.get());
+
+            Optional<PlayerState> after = update(session, p -> {
+                // Un relevé commencé avant un effacement de la session est ignoré
+                PlayerState next = sample == null || sample.generation() != p.generation() ? p : p.withSample(sample);
+                boolean active = sample != null && sample.playing();
+                int idlePolls = active ? 0 : p.idlePolls() + 1;
+                long delayMinutes = nextDelayMinutes(idlePolls, active);
+                Instant nextPollAt = staggered(state.get(), Instant.now().plus(Duration.ofMinutes(delayMinutes)), session);
+                return next.withNextPoll(nextPollAt, idlePolls);
+            });
+            if (after.isEmpty()) {
+                return;
+            }
+            // Persister seulement un relevé retenu par le CAS, jamais un relevé d'avant un effacement
+            if (sample != null && after.get().generation() == sample.generation()) {
+                historyService.append(session.identifier, sample.snapshot(), sample.sessionStart());
+            }
+            LOGGER.debug("Next stats poll for {} at {} ({})", session.identifier, after.get().nextPollAt(),
+                    sample != null && sample.playing() ? "in match" : "idle");
+
+            if (sample != null) {
+                // Notify listeners
+                if (session.onStatsUpdated != null) {
+                    session.onStatsUpdated.accept(sample.stats());
+                }
+                publish(after.get());
+            }
+        }
+    }
+
+    private Optional<PlayerState> current(PlayerSession session) {
+        PlayerState player = state.get().players().get(session.identifier);
+        return player != null && player.session() == session ? Optional.of(player) : Optional.empty();
+    }
+
+    /**
+     * Court intervalle en partie, backoff exponentiel sinon, borné par le plancher du budget.
+     */
+    private long nextDelayMinutes(int idlePolls, boolean active) {
+        long delay;
+        if (active) {
+            delay = MONITORING_ACTIVE_INTERVAL_MINUTES;
+        } else {
+            int doublings = Math.min(Math.max(idlePolls - 1, 0), 16);
+            delay = Math.min((long) MONITORING_BASE_INTERVAL_MINUTES << doublings, MONITORING_MAX_INTERVAL_MINUTES);
+        }
+        // Le budget est partagé par tous les joueurs surveillés
+        int requestsPerHour = Math.max(1, settingsService.getMonitoringRequestsPerHour());
+        long floor = (long) Math.ceil(60.0 * Math.max(1, state.get().players().size()) / requestsPerHour);
+        return Math.max(delay, floor);
     }
 
     /**
-     * Fetches the latest stats for the monitored player.
-     * Maintenant, un nouvel échantillon est systématiquement ajouté
-     * toutes les 12 minutes, qu'il y ait ou non un changement dans
-     * les statistiques de jeu.
+     * Repousse une échéance tant qu'elle tombe à moins de {@link #STAGGER} de celle d'une autre session.
      */
-    private void fetchPlayerStats() {
+    private static Instant staggered(MonitoringState current, Instant target, PlayerSession self) {
+        Instant candidate = target;
+        for (int i = 0; i <= current.players().size(); i++) {
+            Instant candidateAt = candidate;
+            boolean clash = current.players().values().stream()
+                    .filter(other -> other.session() != self && other.nextPollAt() != Instant.MAX)
+                    .anyMatch(other -> Duration.between(other.nextPollAt(), candidateAt).abs().compareTo(STAGGER) < 0);
+            if (!clash) {
+                break;
+            }
+            candidate = candidate.plus(STAGGER);
+        }
+        return candidate;
+    }
+
+    /**
+     * Fetches the latest stats for a watched player.
+     * Un nouvel échantillon est ajouté à chaque relevé, qu'il y ait ou non
+     * un changement dans les statistiques de jeu.
+     *
+     * @return le relevé, ou null en cas d'échec
+     */
+    private Sample fetchPlayerStats(PlayerState player) {
+        PlayerSession session = player.session();
+        String playerIdentifier = session.identifier;
         if (playerIdentifier == null || playerIdentifier.isBlank()) {
             LOGGER.warn("No player identifier set for monitoring");
-            return;
+            return null;
         }
 
         try {
@@ -156,9 +409,16 @@ public class PlayerMonitoringAdapter implements PlayerMonitoringService {
             // This would need to be adapted to handle player IDs
             // For now, we use player name only
             UserStats stats = userStatsService.fetchUserStats(playerIdentifier);
-            currentStats = stats;
+
+            // La session a pu être effacée ou retirée pendant la requête : ne rien enregistrer
+            Optional<PlayerState> latest = current(session);
+            if (latest.isEmpty() || latest.get().generation() != player.generation()) {
+                LOGGER.debug("Discarding stats of {} fetched before its session was cleared", playerIdentifier);
+                return null;
+            }
 
             // Si c'est la première fois qu'on récupère des stats, on les sauvegarde comme stats initiales
+            UserStats initialStats = player.initialStats();
             if (initialStats == null) {
                 initialStats = stats;
                 LOGGER.info("Initial stats saved for {}: kills={}, deaths={}, Time={}",
@@ -166,7 +426,6 @@ public class PlayerMonitoringAdapter implements PlayerMonitoringService {
             }
 
             // Create a session snapshot with current timestamp
-            // Cela garantit un échantillon toutes les 12 minutes exactement
             SessionStats snapshot = new SessionStats(
                     stats.username(),
                     Instant.now(),
@@ -179,22 +438,129 @@ public class PlayerMonitoringAdapter implements PlayerMonitoringService {
                     stats.secondsPlayed()
             );
 
-            // Toujours ajouter le nouvel échantillon
-            sessionHistory.add(snapshot);
-            lastSecondsPlayed = stats.secondsPlayed();
-
-            // Notify listeners
-            if (onStatsUpdated != null) {
-                onStatsUpdated.accept(stats);
+            // Toujours ajouter le nouvel échantillon, dans une session remise à zéro si elle vient de commencer
+            if (player.sessionStartPending()) {
+                session.aggregator.reset(player.sessionStartTime());
             }
+            session.aggregator.add(snapshot);
+            boolean playing = player.lastSecondsPlayed() >= 0 && stats.secondsPlayed() > player.lastSecondsPlayed();
 
             LOGGER.info("Updated stats for {}: kills={}, deaths={}, Time={}",
                     stats.username(), stats.kills(), stats.deaths(), stats.secondsPlayed());
+            return new Sample(stats, initialStats, session.aggregator.history(), session.aggregator.snapshot(),
+                    snapshot, player.sessionStartPending(), playing, player.generation());
 
         } catch (ApiRequestException e) {
             LOGGER.error("Failed to fetch stats for {}: {}", playerIdentifier, e.getMessage());
         } catch (Exception e) {
             LOGGER.error("Unexpected error monitoring player {}", playerIdentifier, e);
         }
+        return null;
+    }
+
+    /**
+     * Identité et configuration d'une session surveillée. L'agrégateur est son seul état
+     * mutable ; une fois la session publiée, il n'est utilisé que sous son verrou.
+     */
+    private static final class PlayerSession {
+        private final String identifier;
+        private final boolean isPlayerId;
+        private final Consumer<UserStats> onStatsUpdated;
+        private final SessionAggregator aggregator = new SessionAggregator(Instant.now());
+
+        private PlayerSession(String identifier, boolean isPlayerId, Consumer<UserStats> onStatsUpdated) {
+            this.identifier = identifier;
+            this.isPlayerId = isPlayerId;
+            this.onStatsUpdated = onStatsUpdated;
+        }
+    }
+
+    /**
+     * Résultat d'un relevé réussi, calculé hors du CAS.
+     */
+    private record Sample(
+            UserStats stats,
+            UserStats initialStats,
+            List<SessionStats> history,
+            SessionAggregates aggregates,
+            SessionStats snapshot,
+            boolean sessionStart,
+            boolean playing,
+            int generation) {
+    }
+
+    /**
+     * État immuable d'une session surveillée.
+     */
+    private record PlayerState(
+            PlayerSession session,
+            Instant sessionStartTime,
+            UserStats currentStats,
+            UserStats initialStats, // Stats du début de session
+            List<SessionStats> history,
+            SessionAggregates aggregates,
+            long lastSecondsPlayed,
+            int idlePolls,
+            boolean sessionStartPending,
+            Instant nextPollAt,
+            int generation) {
+
+        static PlayerState started(PlayerSession session, Instant now) {
+            return new PlayerState(session, now, null, null, List.of(),
+                    SessionAggregates.empty(now), -1, 0, true, now, 0);
+        }
+
+        String identifier() {
+            return session.identifier;
+        }
+
+        MonitoringSnapshot snapshot() {
+            return new MonitoringSnapshot(session.identifier, currentStats, initialStats, sessionStartTime, aggregates);
+        }
+
+        PlayerState withSample(Sample sample) {
+            return new PlayerState(session, sessionStartTime, sample.stats(), sample.initialStats(),
+                    sample.history(), sample.aggregates(), sample.stats().secondsPlayed(),
+                    idlePolls, false, nextPollAt, generation);
+        }
+
+        PlayerState withNextPoll(Instant at, int idle) {
+            return new PlayerState(session, sessionStartTime, currentStats, initialStats, history,
+                    aggregates, lastSecondsPlayed, idle, sessionStartPending, at, generation);
+        }
+
+        PlayerState cleared() {
+            return new PlayerState(session, sessionStartTime, currentStats, null, List.of(),
+                    SessionAggregates.empty(sessionStartTime), -1, 0, true, nextPollAt, generation + 1);
+        }
+    }
+
+    /**
+     * État immuable de toute la surveillance : joueur principal et sessions par joueur.
+     */
+    private record MonitoringState(String primaryPlayer, Map<String, PlayerState> players) {
+
+        MonitoringState {
+            players = Map.copyOf(players);
+        }
+
+        MonitoringState withPrimary(String player) {
+            return new MonitoringState(player, players);
+        }
+
+        MonitoringState withPlayer(PlayerState player) {
+            Map<String, PlayerState> next = new HashMap<>(players);
+            next.put(player.identifier(), player);
+            return new MonitoringState(primaryPlayer, next);
+        }
+
+        MonitoringState withoutPlayer(String player) {
+            if (!players.containsKey(player)) {
+                return this;
+            }
+            Map<String, PlayerState> next = new HashMap<>(players);
+            next.remove(player);
+            return new MonitoringState(primaryPlayer, next);
+        }
     }
-}
\ No newline at end of file
+}
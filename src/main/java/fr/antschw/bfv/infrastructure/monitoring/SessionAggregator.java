@@ -0,0 +1,199 @@
+package fr.antschw.bfv.infrastructure.monitoring;
+
+import fr.antschw.bfv.domain.model.SessionAggregates;
+import fr.antschw.bfv.domain.model.SessionAggregates.IntervalStats;
+import fr.antschw.bfv.domain.model.SessionAggregates.SessionPoint;
+import fr.antschw.bfv.domain.model.SessionAggregates.WindowStats;
+import fr.antschw.bfv.domain.model.SessionStats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Agrégats courants d'une session, mis à jour une seule fois par relevé.
+ * <p>
+ * Chaque ajout coûte O(1) amorti : les fenêtres glissantes avancent un indice de début qui ne
+ * recule jamais, et les points du graphique sont ajoutés à un tableau qui ne fait que croître.
+ * Un instantané publié voit les {@code n} premiers points de ce tableau ; les ajouts suivants
+ * écrivent au-delà (ou dans une copie agrandie) et ne le modifient donc jamais. Les relevés
+ * eux-mêmes sont conservés de la même façon et servent d'historique de session.
+ * <p>
+ * Les ajouts ne sont pas synchronisés : ils doivent venir d'un seul thread à la fois. La
+ * lecture de {@link #snapshot()} est sûre depuis n'importe quel thread.
+ */
+final class SessionAggregator {
+
+    private static final Duration SHORT_WINDOW = Duration.ofMinutes(30);
+    private static final Duration LONG_WINDOW = Duration.ofMinutes(60);
+
+    private Instant sessionStart;
+    private SessionStats baseline;
+    private SessionStats previous;
+    private SessionStats[] samples;
+    private SessionPoint[] points;
+    private int size;
+    private int shortWindowStart;
+    private int longWindowStart;
+    private IntervalStats bestInterval;
+    private IntervalStats worstInterval;
+
+    private volatile SessionAggregates snapshot;
+    private volatile List<SessionStats> history;
+
+    SessionAggregator(Instant sessionStart) {
+        reset(sessionStart);
+    }
+
+    /**
+     * Repart d'une session vide ; le prochain relevé servira de référence.
+     */
+    void reset(Instant sessionStart) {
+        this.sessionStart = sessionStart;
+        this.baseline = null;
+        this.previous = null;
+        this.samples = new SessionStats[64];
+        this.points = new SessionPoint[64];
+        this.size = 0;
+        this.shortWindowStart = 0;
+        this.longWindowStart = 0;
+        this.bestInterval = null;
+        this.worstInterval = null;
+        this.snapshot = SessionAggregates.empty(sessionStart);
+        this.history = List.of();
+    }
+
+    /**
+     * Replie un relevé dans les agrégats et publie un nouvel instantané.
+     */
+    void add(SessionStats stats) {
+        if (baseline == null) {
+            baseline = stats;
+        }
+        if (size == points.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+            points = Arrays.copyOf(points, size * 2);
+        }
+
+        int kills = Math.abs(stats.kills() - baseline.kills());
+        int deaths = Math.abs(stats.deaths() - baseline.deaths());
+        double killDeath = deaths > 0 ? (double) kills / deaths : kills;
+        double minutes = Duration.between(sessionStart, stats.timestamp()).toSeconds() / 60.0;
+        double killsPerMinute = minutes > 0 ? kills / minutes : 0;
+
+        samples[size] = stats;
+        points[size] = new SessionPoint(stats.timestamp(), minutes, killDeath, killsPerMinute,
+                parsePercentage(stats.headshots()));
+        size++;
+
+        if (previous != null) {
+            foldInterval(previous, stats);
+        }
+        previous = stats;
+
+        shortWindowStart = advance(shortWindowStart, stats.timestamp().minus(SHORT_WINDOW));
+        longWindowStart = advance(longWindowStart, stats.timestamp().minus(LONG_WINDOW));
+
+        snapshot = new SessionAggregates(
+                sessionStart,
+                kills,
+                deaths,
+                killDeath,
+                killsPerMinute,
+                stats.headshots(),
+                window(SHORT_WINDOW, shortWindowStart, stats),
+                window(LONG_WINDOW, longWindowStart, stats),
+                bestInterval,
+                worstInterval,
+                new PrefixView<>(points, size)
+        );
+        history = new PrefixView<>(samples, size);
+    }
+
+    /**
+     * @return le dernier instantané publié
+     */
+    SessionAggregates snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return vue immuable des relevés de la session, du plus ancien au plus récent
+     */
+    List<SessionStats> history() {
+        return history;
+    }
+
+    /**
+     * Avance le début de fenêtre jusqu'au dernier relevé antérieur ou égal à {@code cutoff}.
+     */
+    private int advance(int start, Instant cutoff) {
+        while (start + 1 < size && !samples[start + 1].timestamp().isAfter(cutoff)) {
+            start++;
+        }
+        return start;
+    }
+
+    private WindowStats window(Duration window, int start, SessionStats latest) {
+        SessionStats first = samples[start];
+        return new WindowStats(window,
+                Math.abs(latest.kills() - first.kills()),
+                Math.abs(latest.deaths() - first.deaths()),
+                Duration.between(first.timestamp(), latest.timestamp()).toSeconds() / 60.0);
+    }
+
+    /**
+     * Retient le meilleur et le pire intervalle entre deux relevés ; les intervalles sans
+     * kill ni mort (hors partie) sont ignorés.
+     */
+    private void foldInterval(SessionStats from, SessionStats to) {
+        IntervalStats interval = new IntervalStats(from.timestamp(), to.timestamp(),
+                Math.abs(to.kills() - from.kills()), Math.abs(to.deaths() - from.deaths()));
+        if (interval.kills() == 0 && interval.deaths() == 0) {
+            return;
+        }
+        if (bestInterval == null || interval.killDeath() > bestInterval.killDeath()) {
+            bestInterval = interval;
+        }
+        if (worstInterval == null || interval.killDeath() < worstInterval.killDeath()) {
+            worstInterval = interval;
+        }
+    }
+
+    private static double parsePercentage(String percentage) {
+        try {
+            return Double.parseDouble(percentage.replace("%", "").trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Vue immuable des {@code size} premiers éléments d'un tableau qui ne fait que croître.
+     */
+    private static final class PrefixView<T> extends AbstractList<T> implements RandomAccess {
+        private final T[] elements;
+        private final int size;
+
+        private PrefixView(T[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Element " + index + " of " + size);
+            }
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
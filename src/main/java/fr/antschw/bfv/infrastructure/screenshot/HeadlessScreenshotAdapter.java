@@ -0,0 +1,18 @@
+package fr.antschw.bfv.infrastructure.screenshot;
+
+import fr.antschw.bfv.domain.exception.ScreenshotCaptureException;
+import fr.antschw.bfv.domain.service.ScreenshotService;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Capture d'écran des environnements sans affichage : toute capture échoue, les
+ * scans doivent fournir leur propre image ou l'identifiant du serveur.
+ */
+public class HeadlessScreenshotAdapter implements ScreenshotService {
+
+    @Override
+    public BufferedImage captureScreenshot() throws ScreenshotCaptureException {
+        throw new ScreenshotCaptureException("No display available for screen capture");
+    }
+}
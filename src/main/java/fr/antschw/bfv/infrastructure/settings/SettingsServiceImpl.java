@@ -1,5 +1,6 @@
 package fr.antschw.bfv.infrastructure.settings;
 
+import fr.antschw.bfv.application.util.AppConstants;
 import fr.antschw.bfv.domain.service.SettingsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,8 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -25,8 +28,20 @@ public class SettingsServiceImpl implements SettingsService {
     private static final String KEY_HOTKEY = "hotkey";
     private static final String KEY_PLAYER_NAME = "playerName";
     private static final String KEY_USE_PLAYER_ID = "usePlayerId";
+    private static final String KEY_WATCHED_PLAYERS = "watchedPlayers";
+    private static final String KEY_WATCHED_SERVERS = "watchedServers";
+    private static final String KEY_HEDGED_REQUESTS = "hedgedRequests";
+    private static final String KEY_CONNECTION_WARMUP = "connectionWarmup";
+    private static final String KEY_SCAN_BUDGET_SECONDS = "scanBudgetSeconds";
+    private static final String KEY_STATS_PREFETCH = "statsPrefetch";
+    private static final String KEY_PREFETCH_REQUESTS_PER_HOUR = "prefetchRequestsPerHour";
+    private static final String KEY_MONITORING_REQUESTS_PER_HOUR = "monitoringRequestsPerHour";
+    private static final String KEY_LOCAL_API = "localApi";
+    private static final String KEY_LOCAL_API_PORT = "localApiPort";
+    private static final String KEY_LOCAL_API_ORIGINS = "localApiAllowedOrigins";
 
     private static final String DEFAULT_HOTKEY = "F12";
+    private static final int DEFAULT_PREFETCH_REQUESTS_PER_HOUR = 60;
 
     /**
      * Construit le service et charge les paramètres depuis le fichier.
@@ -57,6 +72,36 @@ public class SettingsServiceImpl implements SettingsService {
         saveSettings();
     }
 
+    @Override
+    public List<String> getWatchedPlayers() {
+        return Arrays.stream(properties.getProperty(KEY_WATCHED_PLAYERS, "").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public void setWatchedPlayers(List<String> players) {
+        properties.setProperty(KEY_WATCHED_PLAYERS, String.join(",", players));
+        saveSettings();
+    }
+
+    @Override
+    public List<String> getWatchedServers() {
+        return Arrays.stream(properties.getProperty(KEY_WATCHED_SERVERS, "").split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public void setWatchedServers(List<String> shortServerIds) {
+        properties.setProperty(KEY_WATCHED_SERVERS, String.join(",", shortServerIds));
+        saveSettings();
+    }
+
     @Override
     public boolean isUsePlayerId() {
         return Boolean.parseBoolean(properties.getProperty(KEY_USE_PLAYER_ID, "false"));
@@ -68,6 +113,125 @@ public class SettingsServiceImpl implements SettingsService {
         saveSettings();
     }
 
+    @Override
+    public boolean isHedgedRequestsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_HEDGED_REQUESTS, "false"));
+    }
+
+    @Override
+    public void setHedgedRequestsEnabled(boolean enabled) {
+        properties.setProperty(KEY_HEDGED_REQUESTS, String.valueOf(enabled));
+        saveSettings();
+    }
+
+    @Override
+    public boolean isConnectionWarmupEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_CONNECTION_WARMUP, "true"));
+    }
+
+    @Override
+    public void setConnectionWarmupEnabled(boolean enabled) {
+        properties.setProperty(KEY_CONNECTION_WARMUP, String.valueOf(enabled));
+        saveSettings();
+    }
+
+    @Override
+    public int getScanBudgetSeconds() {
+        return getIntProperty(KEY_SCAN_BUDGET_SECONDS, AppConstants.SCAN_DEFAULT_BUDGET_SECONDS);
+    }
+
+    @Override
+    public void setScanBudgetSeconds(int seconds) {
+        properties.setProperty(KEY_SCAN_BUDGET_SECONDS, String.valueOf(Math.max(1, seconds)));
+        saveSettings();
+    }
+
+    @Override
+    public boolean isStatsPrefetchEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_STATS_PREFETCH, "false"));
+    }
+
+    @Override
+    public void setStatsPrefetchEnabled(boolean enabled) {
+        properties.setProperty(KEY_STATS_PREFETCH, String.valueOf(enabled));
+        saveSettings();
+    }
+
+    @Override
+    public int getPrefetchRequestsPerHour() {
+        return getIntProperty(KEY_PREFETCH_REQUESTS_PER_HOUR, DEFAULT_PREFETCH_REQUESTS_PER_HOUR);
+    }
+
+    @Override
+    public void setPrefetchRequestsPerHour(int requestsPerHour) {
+        properties.setProperty(KEY_PREFETCH_REQUESTS_PER_HOUR, String.valueOf(Math.max(1, requestsPerHour)));
+        saveSettings();
+    }
+
+    @Override
+    public int getMonitoringRequestsPerHour() {
+        return getIntProperty(KEY_MONITORING_REQUESTS_PER_HOUR, AppConstants.MONITORING_DEFAULT_REQUESTS_PER_HOUR);
+    }
+
+    @Override
+    public void setMonitoringRequestsPerHour(int requestsPerHour) {
+        properties.setProperty(KEY_MONITORING_REQUESTS_PER_HOUR, String.valueOf(Math.max(1, requestsPerHour)));
+        saveSettings();
+    }
+
+    @Override
+    public boolean isLocalApiEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_LOCAL_API, "false"));
+    }
+
+    @Override
+    public void setLocalApiEnabled(boolean enabled) {
+        properties.setProperty(KEY_LOCAL_API, String.valueOf(enabled));
+        saveSettings();
+    }
+
+    @Override
+    public int getLocalApiPort() {
+        return getIntProperty(KEY_LOCAL_API_PORT, AppConstants.LOCAL_API_DEFAULT_PORT);
+    }
+
+    @Override
+    public void setLocalApiPort(int port) {
+        properties.setProperty(KEY_LOCAL_API_PORT, String.valueOf(Math.clamp(port, 1, 65535)));
+        saveSettings();
+    }
+
+    @Override
+    public List<String> getLocalApiAllowedOrigins() {
+        return Arrays.stream(properties.getProperty(KEY_LOCAL_API_ORIGINS, "").split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public void setLocalApiAllowedOrigins(List<String> origins) {
+        properties.setProperty(KEY_LOCAL_API_ORIGINS, String.join(",", origins));
+        saveSettings();
+    }
+
+    /**
+     * Lit une valeur entière, en revenant à la valeur par défaut si elle est absente ou invalide.
+     */
+    private int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value '{}' for setting {}, using default {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Charge les paramètres depuis le fichier.
      */
@@ -143,6 +307,17 @@ public class SettingsServiceImpl implements SettingsService {
         // Vérifier chaque paramètre
         return getHotkey().equals(DEFAULT_HOTKEY) &&
                 getPlayerName().isEmpty() &&
-                !isUsePlayerId();
+                getWatchedPlayers().isEmpty() &&
+                getWatchedServers().isEmpty() &&
+                !isUsePlayerId() &&
+                !isHedgedRequestsEnabled() &&
+                isConnectionWarmupEnabled() &&
+                getScanBudgetSeconds() == AppConstants.SCAN_DEFAULT_BUDGET_SECONDS &&
+                !isStatsPrefetchEnabled() &&
+                getPrefetchRequestsPerHour() == DEFAULT_PREFETCH_REQUESTS_PER_HOUR &&
+                getMonitoringRequestsPerHour() == AppConstants.MONITORING_DEFAULT_REQUESTS_PER_HOUR &&
+                !isLocalApiEnabled() &&
+                getLocalApiPort() == AppConstants.LOCAL_API_DEFAULT_PORT &&
+                getLocalApiAllowedOrigins().isEmpty();
     }
 }
\ No newline at end of file
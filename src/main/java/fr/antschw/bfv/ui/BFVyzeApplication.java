@@ -1,7 +1,10 @@
 package fr.antschw.bfv.ui;
 
+import fr.antschw.bfv.application.orchestrator.LocalApiCoordinator;
 import fr.antschw.bfv.application.orchestrator.ServerScanCoordinator;
+import fr.antschw.bfv.application.orchestrator.ServerWatchCoordinator;
 import fr.antschw.bfv.application.util.AppConstants;
+import fr.antschw.bfv.domain.service.ConnectionWarmupService;
 import fr.antschw.bfv.domain.service.HotkeyListenerService;
 import fr.antschw.bfv.domain.service.UserStatsCacheService;
 import fr.antschw.bfv.infrastructure.binding.AppModule;
@@ -37,6 +40,12 @@ public class BFVyzeApplication extends Application {
                 new AppModule()
         );
 
+        // Ouvrir les connexions aux API pendant la construction de l'interface
+        injector.getInstance(ConnectionWarmupService.class).warmUp();
+
+        // API locale, si activée : doit observer les scans dès le premier
+        injector.getInstance(LocalApiCoordinator.class).applySettings();
+
         // Appliquer le thème
         Application.setUserAgentStylesheet(new atlantafx.base.theme.PrimerLight().getUserAgentStylesheet());
 
@@ -111,25 +120,39 @@ public class BFVyzeApplication extends Application {
             LOGGER.warn("Failed to shutdown scan service on shutdown.", e);
         }
 
-        // 3) Sauvegarde du cache existante
+        // 3) Arrêt de la surveillance des serveurs
+        try {
+            injector.getInstance(ServerWatchCoordinator.class).shutdown();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to stop server watch on shutdown.", e);
+        }
+
+        // 4) Arrêt de l'API locale
+        try {
+            injector.getInstance(LocalApiCoordinator.class).shutdown();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to stop local API on shutdown.", e);
+        }
+
+        // 5) Vidage des dernières entrées du cache (le reste est déjà écrit en arrière-plan)
         super.stop();
         if (injector != null) {
             try {
                 UserStatsCacheService cacheAdapter = injector.getInstance(UserStatsCacheService.class);
                 if (cacheAdapter instanceof UserStatsCacheAdapter jsonCache) {
-                    LOGGER.info("Saving cache to disk...");
-                    jsonCache.saveToDisk();
+                    LOGGER.info("Flushing cache to disk...");
+                    jsonCache.flush();
                 }
             } catch (Exception e) {
                 LOGGER.error("Error saving cache: {}", e.getMessage(), e);
             }
         }
 
-        // 4) Libération des ressources OCR
+        // 6) Libération des ressources OCR
         BFVOcrFactory.shutdown();
         LOGGER.info("Application stopped, OCR resources released");
 
-        // 5) Forcer la sortie pour terminer tout thread non-daemon (AWT, JNativeHook…)
+        // 7) Forcer la sortie pour terminer tout thread non-daemon (AWT, JNativeHook…)
         System.exit(0);
     }
 
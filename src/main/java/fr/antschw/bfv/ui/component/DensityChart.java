@@ -0,0 +1,409 @@
+package fr.antschw.bfv.ui.component;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+
+/**
+ * Graphique en courbes dessiné sur un Canvas, pour les séries de plusieurs milliers de points.
+ * <p>
+ * Les points sont stockés dans des tableaux de doubles, sans nœud par point. Au dessin, la plage
+ * visible de chaque série est réduite par LTTB à environ un point par pixel de largeur.
+ * La molette zoome autour du curseur, un glisser déplace la vue, un double-clic revient à
+ * l'historique complet ; tant que la vue n'est pas zoomée, elle suit les nouveaux points.
+ */
+public class DensityChart extends Region {
+
+    private static final double MARGIN_LEFT = 48;
+    private static final double MARGIN_RIGHT = 12;
+    private static final double MARGIN_TOP = 10;
+    private static final double MARGIN_BOTTOM = 28;
+    private static final double ZOOM_FACTOR = 1.25;
+    private static final double MIN_SPAN = 1.0;
+    private static final Color AXIS_COLOR = Color.gray(0.55);
+    private static final Color GRID_COLOR = Color.gray(0.55, 0.25);
+
+    private final Canvas canvas = new Canvas();
+    private final Color[] colors;
+    private final boolean[] visible;
+    private double minXSpan;
+
+    // Libellés de l'axe X ; null pour afficher la valeur brute
+    private DoubleFunction<String> xLabelFormatter;
+
+    private double[] xs = new double[256];
+    private final double[][] ys;
+    private int size;
+
+    // Plage affichée ; NaN tant que la vue suit l'historique complet
+    private double viewMin = Double.NaN;
+    private double viewMax = Double.NaN;
+
+    // Tampons de sous-échantillonnage et de projection, réutilisés d'un dessin à l'autre
+    private double[] sampledX = new double[0];
+    private double[] sampledY = new double[0];
+
+    private double dragStartX = Double.NaN;
+    private boolean dirty = true;
+
+    /**
+     * @param minXSpan étendue minimale de l'axe X en vue complète
+     * @param colors   couleur de chaque série
+     */
+    public DensityChart(double minXSpan, Color... colors) {
+        this.minXSpan = minXSpan;
+        this.colors = colors.clone();
+        this.visible = new boolean[colors.length];
+        Arrays.fill(visible, true);
+        this.ys = new double[colors.length][256];
+
+        getStyleClass().add("density-chart");
+        getChildren().add(canvas);
+        setMinHeight(200);
+
+        addEventHandler(ScrollEvent.SCROLL, this::onScroll);
+        addEventHandler(MouseEvent.MOUSE_PRESSED, this::onMousePressed);
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, this::onMouseDragged);
+        addEventHandler(MouseEvent.MOUSE_CLICKED, e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                resetView();
+            }
+        });
+    }
+
+    /**
+     * Ajoute un point à toutes les séries ; les abscisses doivent être croissantes.
+     *
+     * @param x      abscisse du point
+     * @param values une ordonnée par série
+     */
+    public void append(double x, double... values) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            for (int i = 0; i < ys.length; i++) {
+                ys[i] = Arrays.copyOf(ys[i], size * 2);
+            }
+        }
+        xs[size] = x;
+        for (int i = 0; i < ys.length; i++) {
+            ys[i][size] = i < values.length ? values[i] : 0;
+        }
+        size++;
+        invalidate();
+    }
+
+    /**
+     * Supprime tous les points et revient à la vue complète.
+     */
+    public void clear() {
+        size = 0;
+        resetView();
+    }
+
+    /**
+     * Supprime tous les points en conservant la vue zoomée, avant de recharger les mêmes données
+     * mises à jour.
+     */
+    public void clearKeepingView() {
+        size = 0;
+        invalidate();
+    }
+
+    /**
+     * @return le nombre de points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Affiche ou masque une série.
+     */
+    public void setSeriesVisible(int series, boolean isVisible) {
+        visible[series] = isVisible;
+        invalidate();
+    }
+
+    /**
+     * Change l'étendue minimale de l'axe X en vue complète.
+     *
+     * @param minXSpan étendue minimale
+     */
+    public void setMinXSpan(double minXSpan) {
+        this.minXSpan = minXSpan;
+        invalidate();
+    }
+
+    /**
+     * Remplace les libellés numériques de l'axe X, par exemple par des dates.
+     *
+     * @param formatter libellé d'une abscisse, ou null pour la valeur brute
+     */
+    public void setXLabelFormatter(DoubleFunction<String> formatter) {
+        this.xLabelFormatter = formatter;
+        invalidate();
+    }
+
+    /**
+     * Revient à la vue de l'historique complet.
+     */
+    public void resetView() {
+        viewMin = Double.NaN;
+        viewMax = Double.NaN;
+        invalidate();
+    }
+
+    /**
+     * Arrondit une graduation à 1, 2 ou 5 fois une puissance de dix.
+     *
+     * @param raw graduation brute, strictement positive
+     * @return graduation arrondie
+     */
+    public static double niceTickUnit(double raw) {
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double normalized = raw / magnitude;
+        double nice = normalized <= 1 ? 1 : normalized <= 2 ? 2 : normalized <= 5 ? 5 : 10;
+        return nice * magnitude;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        if (dirty) {
+            dirty = false;
+            draw();
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return 600;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return 300;
+    }
+
+    /**
+     * Demande un nouveau dessin au prochain pulse : plusieurs ajouts successifs n'en coûtent qu'un.
+     */
+    private void invalidate() {
+        dirty = true;
+        requestLayout();
+    }
+
+    private boolean zoomed() {
+        return !Double.isNaN(viewMin);
+    }
+
+    private double fullMin() {
+        return size > 0 ? Math.min(xs[0], 0) : 0;
+    }
+
+    private double fullMax() {
+        double last = size > 0 ? xs[size - 1] : 0;
+        return Math.max(last, fullMin() + minXSpan);
+    }
+
+    private double currentMin() {
+        return zoomed() ? viewMin : fullMin();
+    }
+
+    private double currentMax() {
+        return zoomed() ? viewMax : fullMax();
+    }
+
+    private double plotWidth() {
+        return Math.max(1, canvas.getWidth() - MARGIN_LEFT - MARGIN_RIGHT);
+    }
+
+    private void onScroll(ScrollEvent event) {
+        if (size < 2 || event.getDeltaY() == 0) {
+            return;
+        }
+        double min = currentMin();
+        double max = currentMax();
+        double pivot = min + (event.getX() - MARGIN_LEFT) / plotWidth() * (max - min);
+        pivot = Math.max(min, Math.min(max, pivot));
+        double factor = event.getDeltaY() > 0 ? 1 / ZOOM_FACTOR : ZOOM_FACTOR;
+
+        double newMin = pivot - (pivot - min) * factor;
+        double newMax = pivot + (max - pivot) * factor;
+        if (newMax - newMin < MIN_SPAN) {
+            return;
+        }
+        setView(newMin, newMax);
+        event.consume();
+    }
+
+    private void onMousePressed(MouseEvent event) {
+        if (event.getButton() == MouseButton.PRIMARY) {
+            dragStartX = event.getX();
+        }
+    }
+
+    private void onMouseDragged(MouseEvent event) {
+        if (Double.isNaN(dragStartX) || !zoomed()) {
+            return;
+        }
+        double min = currentMin();
+        double max = currentMax();
+        double shift = (dragStartX - event.getX()) / plotWidth() * (max - min);
+        dragStartX = event.getX();
+        setView(min + shift, max + shift);
+        event.consume();
+    }
+
+    /**
+     * Applique une plage bornée à l'historique ; une plage qui le couvre entièrement
+     * redevient la vue complète, qui suit les nouveaux points.
+     */
+    private void setView(double min, double max) {
+        double fullMin = fullMin();
+        double fullMax = fullMax();
+        double span = Math.min(max - min, fullMax - fullMin);
+        if (span >= fullMax - fullMin) {
+            resetView();
+            return;
+        }
+        if (min < fullMin) {
+            min = fullMin;
+        }
+        if (min + span > fullMax) {
+            min = fullMax - span;
+        }
+        viewMin = min;
+        viewMax = min + span;
+        invalidate();
+    }
+
+    private void draw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.clearRect(0, 0, width, height);
+        if (width <= MARGIN_LEFT + MARGIN_RIGHT || height <= MARGIN_TOP + MARGIN_BOTTOM) {
+            return;
+        }
+
+        double minX = currentMin();
+        double maxX = currentMax();
+        double plotWidth = plotWidth();
+        double plotHeight = height - MARGIN_TOP - MARGIN_BOTTOM;
+
+        // Plage d'indices visible, élargie d'un point de chaque côté pour relier les bords
+        int from = Math.max(0, lowerBound(minX) - 1);
+        int to = Math.min(size, lowerBound(maxX) + 1);
+        int threshold = Math.max(3, (int) plotWidth);
+        if (sampledX.length < threshold) {
+            sampledX = new double[threshold];
+            sampledY = new double[threshold];
+        }
+
+        // Bornes Y : maximum des séries visibles dans la plage
+        double maxY = 0;
+        for (int s = 0; s < ys.length; s++) {
+            if (!visible[s]) {
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                maxY = Math.max(maxY, ys[s][i]);
+            }
+        }
+        double yTick = niceTickUnit(Math.max(maxY, 1.0) / 5);
+        double upperY = Math.max(1, Math.ceil(maxY * 1.05 / yTick)) * yTick;
+        double xTick = niceTickUnit(Math.max(maxX - minX, MIN_SPAN) / 8);
+
+        drawAxes(gc, minX, maxX, xTick, upperY, yTick, plotWidth, plotHeight);
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(MARGIN_LEFT, MARGIN_TOP, plotWidth, plotHeight);
+        gc.clip();
+        gc.setLineWidth(2);
+        for (int s = 0; s < ys.length; s++) {
+            if (!visible[s] || to - from < 1) {
+                continue;
+            }
+            int count = Lttb.downsample(xs, ys[s], from, to, threshold, sampledX, sampledY);
+            for (int i = 0; i < count; i++) {
+                sampledX[i] = MARGIN_LEFT + (sampledX[i] - minX) / (maxX - minX) * plotWidth;
+                sampledY[i] = MARGIN_TOP + plotHeight - sampledY[i] / upperY * plotHeight;
+            }
+            gc.setStroke(colors[s]);
+            gc.strokePolyline(sampledX, sampledY, count);
+        }
+        gc.restore();
+    }
+
+    private void drawAxes(GraphicsContext gc, double minX, double maxX, double xTick,
+                          double upperY, double yTick, double plotWidth, double plotHeight) {
+        gc.setLineWidth(1);
+        gc.setFill(AXIS_COLOR);
+        gc.setTextBaseline(VPos.CENTER);
+
+        // Graduations Y
+        gc.setTextAlign(TextAlignment.RIGHT);
+        for (double y = 0; y <= upperY + yTick / 2; y += yTick) {
+            double py = MARGIN_TOP + plotHeight - y / upperY * plotHeight;
+            gc.setStroke(GRID_COLOR);
+            gc.strokeLine(MARGIN_LEFT, py, MARGIN_LEFT + plotWidth, py);
+            gc.fillText(formatTick(y, yTick), MARGIN_LEFT - 6, py);
+        }
+
+        // Graduations X
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        for (double x = Math.ceil(minX / xTick) * xTick; x <= maxX; x += xTick) {
+            double px = MARGIN_LEFT + (x - minX) / (maxX - minX) * plotWidth;
+            gc.setStroke(GRID_COLOR);
+            gc.strokeLine(px, MARGIN_TOP, px, MARGIN_TOP + plotHeight);
+            String label = xLabelFormatter != null ? xLabelFormatter.apply(x) : formatTick(x, xTick);
+            gc.fillText(label, px, MARGIN_TOP + plotHeight + 6);
+        }
+
+        gc.setStroke(AXIS_COLOR);
+        gc.strokeLine(MARGIN_LEFT, MARGIN_TOP, MARGIN_LEFT, MARGIN_TOP + plotHeight);
+        gc.strokeLine(MARGIN_LEFT, MARGIN_TOP + plotHeight, MARGIN_LEFT + plotWidth, MARGIN_TOP + plotHeight);
+    }
+
+    private static String formatTick(double value, double tick) {
+        if (tick >= 1) {
+            return String.format("%.0f", value);
+        }
+        return tick >= 0.1 ? String.format("%.1f", value) : String.format("%.2f", value);
+    }
+
+    /**
+     * Indice du premier point d'abscisse supérieure ou égale à {@code x}.
+     */
+    private int lowerBound(double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
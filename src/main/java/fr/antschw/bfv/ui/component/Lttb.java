@@ -0,0 +1,93 @@
+package fr.antschw.bfv.ui.component;
+
+/**
+ * Sous-échantillonnage Largest-Triangle-Three-Buckets.
+ * <p>
+ * Conserve le premier et le dernier point, puis, pour chaque seau intermédiaire, le point qui
+ * forme le plus grand triangle avec le point retenu au seau précédent et la moyenne du seau
+ * suivant. Les pics et creux visibles d'une courbe survivent ainsi à la réduction.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Réduit les points {@code [from, to)} à au plus {@code threshold} points.
+     *
+     * @param xs        abscisses, triées par ordre croissant
+     * @param ys        ordonnées
+     * @param from      premier indice (inclus)
+     * @param to        dernier indice (exclu)
+     * @param threshold nombre de points voulu, au moins 3
+     * @param outX      abscisses retenues, de taille au moins {@code threshold}
+     * @param outY      ordonnées retenues, de taille au moins {@code threshold}
+     * @return le nombre de points écrits
+     * @throws IllegalArgumentException si {@code threshold} vaut moins de 3 : il faut au moins
+     *                                  les deux extrémités et un seau
+     */
+    static int downsample(double[] xs, double[] ys, int from, int to, int threshold,
+                          double[] outX, double[] outY) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB threshold must be at least 3: " + threshold);
+        }
+        int count = to - from;
+        if (count <= threshold) {
+            System.arraycopy(xs, from, outX, 0, count);
+            System.arraycopy(ys, from, outY, 0, count);
+            return count;
+        }
+
+        int written = 0;
+        outX[written] = xs[from];
+        outY[written] = ys[from];
+        written++;
+
+        // Les points intérieurs sont répartis en threshold - 2 seaux
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+        int selected = from;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int bucketStart = from + 1 + (int) Math.floor(bucket * bucketSize);
+            int bucketEnd = from + 1 + (int) Math.floor((bucket + 1) * bucketSize);
+
+            // Moyenne du seau suivant (le dernier point pour le dernier seau)
+            int nextStart = bucketEnd;
+            int nextEnd = Math.min(from + 1 + (int) Math.floor((bucket + 2) * bucketSize), to - 1);
+            double avgX = 0;
+            double avgY = 0;
+            if (nextStart >= nextEnd) {
+                avgX = xs[to - 1];
+                avgY = ys[to - 1];
+            } else {
+                for (int i = nextStart; i < nextEnd; i++) {
+                    avgX += xs[i];
+                    avgY += ys[i];
+                }
+                avgX /= nextEnd - nextStart;
+                avgY /= nextEnd - nextStart;
+            }
+
+            double ax = xs[selected];
+            double ay = ys[selected];
+            double maxArea = -1;
+            int maxIndex = bucketStart;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                double area = Math.abs((ax - avgX) * (ys[i] - ay) - (ax - xs[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            outX[written] = xs[maxIndex];
+            outY[written] = ys[maxIndex];
+            written++;
+            selected = maxIndex;
+        }
+
+        outX[written] = xs[to - 1];
+        outY[written] = ys[to - 1];
+        return written + 1;
+    }
+}
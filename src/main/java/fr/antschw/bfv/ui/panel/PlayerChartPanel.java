@@ -1,43 +1,108 @@
 package fr.antschw.bfv.ui.panel;
 
-import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.RollupResolution;
+import fr.antschw.bfv.domain.model.SessionAggregates;
+import fr.antschw.bfv.domain.model.SessionAggregates.SessionPoint;
+import fr.antschw.bfv.domain.model.StatsRollup;
 import fr.antschw.bfv.application.util.I18nUtils;
-import fr.antschw.bfv.domain.model.UserStats;
+import fr.antschw.bfv.ui.component.DensityChart;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
 import javafx.scene.Cursor;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import javafx.util.StringConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
+
+import static fr.antschw.bfv.application.util.AppConstants.MONITORING_BASE_INTERVAL_MINUTES;
 
 /**
  * Panel displaying charts of player statistics evolution during the session.
  * Avec légende cliquable et redimensionnement automatique du graphique.
- * Modifié pour calculer les statistiques de session basées sur le différentiel avec stats initiales.
+ * Les valeurs de session de chaque point sont précalculées par la surveillance (SessionAggregates).
+ * <p>
+ * Les séries restent attachées au graphique : une mise à jour n'ajoute que les nouveaux points,
+ * le style et l'infobulle sont posés une seule fois par nœud, et masquer une série ne fait que
+ * changer la visibilité de ses nœuds. L'axe Y est borné d'après le maximum, tenu à jour au fil
+ * des ajouts, des seules séries visibles.
+ * <p>
+ * Au-delà de {@link #CANVAS_THRESHOLD_POINTS} points, le LineChart (un nœud par point) est
+ * remplacé par un {@link DensityChart} dessiné sur Canvas, avec zoom et déplacement sur tout
+ * l'historique. Ce dernier reçoit tous les points dès le départ, la bascule est donc immédiate.
+ * <p>
+ * Le sélecteur de période affiche aussi la tendance sur plusieurs jours, tirée des agrégats
+ * horaires (7 jours) ou journaliers (90 jours) de l'historique persistant : dernière valeur de
+ * K/D, de KPM et de précision de chaque tranche, dans un second {@link DensityChart}.
  */
 public class PlayerChartPanel extends VBox {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlayerChartPanel.class);
     private final ResourceBundle bundle = I18nUtils.getBundle();
 
+    /**
+     * Période affichée : la session en cours, ou la tendance sur plusieurs jours.
+     */
+    public enum ChartRange {
+        SESSION(null, null),
+        WEEK(RollupResolution.HOURLY, Duration.ofDays(7)),
+        QUARTER(RollupResolution.DAILY, Duration.ofDays(90));
+
+        private final RollupResolution resolution;
+        private final Duration period;
+
+        ChartRange(RollupResolution resolution, Duration period) {
+            this.resolution = resolution;
+            this.period = period;
+        }
+
+        /**
+         * @return la taille des tranches de la tendance, null pour la session
+         */
+        public RollupResolution resolution() {
+            return resolution;
+        }
+
+        /**
+         * @return la profondeur de la tendance, null pour la session
+         */
+        public Duration period() {
+            return period;
+        }
+
+        /**
+         * @return true si la période est lue dans l'historique persistant
+         */
+        public boolean isTrend() {
+            return resolution != null;
+        }
+    }
+
     private LineChart<Number, Number> chart;
     private final XYChart.Series<Number, Number> kdSeries = new XYChart.Series<>();
     private final XYChart.Series<Number, Number> kpmSeries = new XYChart.Series<>();
     private final XYChart.Series<Number, Number> hsPercentSeries = new XYChart.Series<>();
+    private final List<XYChart.Series<Number, Number>> allSeries = List.of(kdSeries, kpmSeries, hsPercentSeries);
 
     // Composants de légende pour les séries
     private HBox kdLegendItem;
@@ -46,12 +111,17 @@ public class PlayerChartPanel extends VBox {
     private Circle kdCircle;
     private Circle kpmCircle;
     private Circle hsCircle;
+    private Label hsLabel;
+
+    private final Label headerLabel = new Label();
+    private final ComboBox<ChartRange> rangeSelector = new ComboBox<>();
+    private Consumer<ChartRange> onRangeChanged = range -> { };
 
     // Map pour suivre la visibilité des séries
     private final Map<XYChart.Series<Number, Number>, Boolean> seriesVisibility = new HashMap<>();
 
-    private Instant sessionStartTime;
-    private UserStats initialStats; // Ajout des stats initiales
+    // Maximum courant de chaque série, pour borner l'axe Y sans parcourir les points
+    private final Map<XYChart.Series<Number, Number>, Double> seriesMax = new HashMap<>();
 
     // Couleurs personnalisées pour les séries
     private static final String KD_COLOR = "#4CAF50";  // Vert
@@ -61,11 +131,24 @@ public class PlayerChartPanel extends VBox {
     // Nombre actuel de points dans le graphique
     private int currentPointCount = 0;
 
-    // Intervalle de fetch en minutes (pour le calcul de l'axe X)
-    private static final int FETCH_INTERVAL_MINUTES = 12; // Modifié à 12 minutes
+    // Nombre de points au-delà duquel le rendu passe sur Canvas
+    private static final int CANVAS_THRESHOLD_POINTS = 300;
 
-    // Taille initiale de la vue en minutes
-    private static final int INITIAL_VIEW_MINUTES = 36; // Modifié pour 3 points à 12 minutes
+    // Taille initiale de la vue en minutes (3 intervalles de base)
+    private static final int INITIAL_VIEW_MINUTES = 3 * MONITORING_BASE_INTERVAL_MINUTES;
+
+    // Rendu haute densité, affiché à la place du LineChart pour les longues sessions
+    private final DensityChart densityChart = new DensityChart(INITIAL_VIEW_MINUTES,
+            Color.web(KD_COLOR), Color.web(KPM_COLOR), Color.web(HS_COLOR));
+    private boolean canvasMode = false;
+
+    // Tendance sur plusieurs jours, abscisses en tranches depuis le début de la période
+    private final DensityChart trendChart = new DensityChart(1,
+            Color.web(KD_COLOR), Color.web(KPM_COLOR), Color.web(HS_COLOR));
+    private static final DateTimeFormatter HOUR_LABEL = DateTimeFormatter.ofPattern("dd/MM HH'h'")
+            .withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("dd/MM")
+            .withZone(ZoneId.systemDefault());
 
     public PlayerChartPanel() {
         LOGGER.info("Initializing PlayerChartPanel");
@@ -75,18 +158,44 @@ public class PlayerChartPanel extends VBox {
 
         try {
             // Header label
-            Label headerLabel = new Label(bundle.getString("stats.chart.title"));
+            headerLabel.setText(bundle.getString("stats.chart.title"));
             headerLabel.getStyleClass().add("header-label");
 
+            // Sélecteur de période : session en cours ou tendance sur plusieurs jours
+            rangeSelector.getItems().setAll(ChartRange.values());
+            rangeSelector.setValue(ChartRange.SESSION);
+            rangeSelector.setConverter(new StringConverter<>() {
+                @Override
+                public String toString(ChartRange range) {
+                    return range == null ? "" : bundle.getString("stats.chart.range." + range.name().toLowerCase(Locale.ROOT));
+                }
+
+                @Override
+                public ChartRange fromString(String text) {
+                    return rangeSelector.getValue();
+                }
+            });
+            rangeSelector.valueProperty().addListener((obs, oldVal, newVal) -> {
+                if (newVal != null && newVal != oldVal) {
+                    applyRange();
+                    onRangeChanged.accept(newVal);
+                }
+            });
+            Region headerSpacer = new Region();
+            HBox.setHgrow(headerSpacer, Priority.ALWAYS);
+            HBox headerBox = new HBox(10, headerLabel, headerSpacer, rangeSelector);
+            headerBox.setAlignment(Pos.CENTER_LEFT);
+
             // Set up the chart with fixed initial scale
-            NumberAxis xAxis = new NumberAxis(0, INITIAL_VIEW_MINUTES, 12); // Modifié pour échelle de 12 minutes
+            NumberAxis xAxis = new NumberAxis(0, INITIAL_VIEW_MINUTES, MONITORING_BASE_INTERVAL_MINUTES);
             xAxis.setLabel(bundle.getString("stats.chart.x_axis"));
             xAxis.setTickLabelRotation(0);
             xAxis.setAnimated(false);
 
-            NumberAxis yAxis = new NumberAxis();
+            NumberAxis yAxis = new NumberAxis(0, 1, 0.2);
             yAxis.setLabel(bundle.getString("stats.chart.y_axis"));
             yAxis.setAnimated(false);
+            yAxis.setAutoRanging(false);
 
             chart = new LineChart<>(xAxis, yAxis);
             chart.setTitle(null); // We use the header label instead
@@ -106,12 +215,29 @@ public class PlayerChartPanel extends VBox {
             seriesVisibility.put(kpmSeries, true);
             seriesVisibility.put(hsPercentSeries, true);
 
+            // Attacher les séries une fois pour toutes, le style de ligne est posé dès que le nœud existe
+            for (XYChart.Series<Number, Number> series : allSeries) {
+                seriesMax.put(series, 0.0);
+                chart.getData().add(series);
+                styleSeriesNode(series);
+            }
+
             // Créer une légende cliquable
             HBox legend = createLegend();
 
+            // Le rendu Canvas reste caché tant que la session est courte
+            densityChart.setVisible(false);
+            densityChart.setManaged(false);
+            Tooltip.install(densityChart, new Tooltip(bundle.getString("stats.chart.zoom_hint")));
+            trendChart.setVisible(false);
+            trendChart.setManaged(false);
+            Tooltip.install(trendChart, new Tooltip(bundle.getString("stats.chart.trend_hint")));
+
             // Add all elements to the panel
             VBox.setVgrow(chart, Priority.ALWAYS);
-            this.getChildren().addAll(headerLabel, legend, chart);
+            VBox.setVgrow(densityChart, Priority.ALWAYS);
+            VBox.setVgrow(trendChart, Priority.ALWAYS);
+            this.getChildren().addAll(headerBox, legend, chart, densityChart, trendChart);
 
             LOGGER.info("PlayerChartPanel initialized successfully");
         } catch (Exception e) {
@@ -169,7 +295,7 @@ public class PlayerChartPanel extends VBox {
         hsCircle.setFill(Color.web(HS_COLOR));
         hsCircle.setStroke(Color.web(HS_COLOR).darker());
         hsCircle.setStrokeWidth(1);
-        Label hsLabel = new Label(bundle.getString("stats.chart.headshots"));
+        hsLabel = new Label(bundle.getString("stats.chart.headshots"));
         hsLegendItem = new HBox(5, hsCircle, hsLabel);
         hsLegendItem.getStyleClass().add("legend-item");
         hsLegendItem.setCursor(Cursor.HAND);
@@ -198,210 +324,287 @@ public class PlayerChartPanel extends VBox {
             legendCircle.setOpacity(0.5);
         }
 
-        // Update chart data based on visibility
-        updateSeriesVisibility();
+        // Masquer ou afficher les nœuds sans détacher la série
+        applyVisibility(series, visible);
+        adjustYAxisRange();
+        densityChart.setSeriesVisible(allSeries.indexOf(series), visible);
+        trendChart.setSeriesVisible(allSeries.indexOf(series), visible);
     }
 
     /**
-     * Sets the start time of the session.
+     * Sets the action run when the user picks another period; it should load the trend
+     * through {@link #showTrend} when the period is a trend.
+     *
+     * @param onRangeChanged called with the new period
      */
-    public void setSessionStartTime(Instant startTime) {
-        this.sessionStartTime = startTime;
+    public void setOnRangeChanged(Consumer<ChartRange> onRangeChanged) {
+        this.onRangeChanged = onRangeChanged;
     }
 
     /**
-     * Définit les statistiques initiales (de début de session).
+     * @return the period currently shown
      */
-    public void setInitialStats(UserStats stats) {
-        this.initialStats = stats;
+    public ChartRange getRange() {
+        return rangeSelector.getValue();
     }
 
     /**
-     * Formats a headshot percentage string (e.g., "20.5%") as a double.
+     * Affiche la tendance de la période sélectionnée, à partir des agrégats de l'historique.
+     * Chaque tranche est placée à sa date de début ; la vue zoomée est conservée.
+     *
+     * @param rollups les agrégats de la période, du plus ancien au plus récent
      */
-    private double parsePercentage(String percentage) {
-        try {
-            // Remove % symbol and parse as double
-            return Double.parseDouble(percentage.replace("%", ""));
-        } catch (NumberFormatException | NullPointerException e) {
-            LOGGER.debug("Error parsing percentage: {}", percentage, e);
-            return 0.0;
+    public void showTrend(List<StatsRollup> rollups) {
+        ChartRange range = getRange();
+        if (!range.isTrend()) {
+            return;
         }
+        Instant from = Instant.now().minus(range.period());
+        double unitMillis = range.resolution().unit().getDuration().toMillis();
+        DateTimeFormatter labels = range.resolution() == RollupResolution.HOURLY ? HOUR_LABEL : DAY_LABEL;
+
+        trendChart.clearKeepingView();
+        trendChart.setMinXSpan(range.period().toMillis() / unitMillis);
+        trendChart.setXLabelFormatter(x -> labels.format(from.plusMillis((long) (x * unitMillis))));
+        for (StatsRollup rollup : rollups) {
+            double x = (rollup.bucketStart().toEpochMilli() - from.toEpochMilli()) / unitMillis;
+            trendChart.append(x, rollup.lastKillDeath(), rollup.lastKillsPerMinute(), rollup.lastAccuracy());
+        }
+    }
+
+    /**
+     * Affiche le graphique de la période sélectionnée ; la tendance n'a pas de % de headshots
+     * dans ses agrégats, sa troisième série est la précision.
+     */
+    private void applyRange() {
+        boolean trend = getRange().isTrend();
+        trendChart.clear();
+        headerLabel.setText(bundle.getString(trend ? "stats.chart.trend_title" : "stats.chart.title"));
+        hsLabel.setText(bundle.getString(trend ? "stats.chart.accuracy" : "stats.chart.headshots"));
+        updateVisibleChart();
+    }
+
+    /**
+     * Montre un seul des trois graphiques, selon la période et le mode de rendu de la session.
+     */
+    private void updateVisibleChart() {
+        boolean trend = getRange().isTrend();
+        chart.setVisible(!trend && !canvasMode);
+        chart.setManaged(!trend && !canvasMode);
+        densityChart.setVisible(!trend && canvasMode);
+        densityChart.setManaged(!trend && canvasMode);
+        trendChart.setVisible(trend);
+        trendChart.setManaged(trend);
     }
 
     /**
-     * Updates the chart with session history data.
-     * Modifié pour calculer les métriques de session basées sur les stats initiales.
+     * Vide le graphique, par exemple lors d'un changement de joueur affiché.
      */
-    public void updateChart(List<SessionStats> history) {
+    public void reset() {
+        currentPointCount = 0;
+        kdSeries.getData().clear();
+        kpmSeries.getData().clear();
+        hsPercentSeries.getData().clear();
+        seriesMax.replaceAll((series, max) -> 0.0);
+        adjustYAxisRange();
+        densityChart.clear();
+        trendChart.clear();
+        setCanvasMode(false);
+    }
+
+    /**
+     * Updates the chart with the session's precomputed points.
+     * Seuls les points absents du graphique sont ajoutés ; une session plus courte que
+     * le graphique (session effacée) le fait repartir de zéro.
+     */
+    public void updateChart(SessionAggregates aggregates) {
         try {
-            if (chart == null || history == null || history.isEmpty() || sessionStartTime == null || initialStats == null) {
+            if (chart == null || aggregates == null || aggregates.points().isEmpty()) {
                 LOGGER.debug("Cannot update chart - missing session data");
                 return;
             }
 
+            List<SessionPoint> points = aggregates.points();
+
             // Vérifier si le nombre de points a changé
-            if (history.size() == currentPointCount) {
+            if (points.size() == currentPointCount) {
                 LOGGER.debug("No new data points, skipping chart update");
                 return;
             }
+            if (points.size() < currentPointCount) {
+                reset();
+            }
 
-            LOGGER.debug("Updating chart with {} data points (was {})", history.size(), currentPointCount);
-            currentPointCount = history.size();
-
-            // Clear existing data
-            kdSeries.getData().clear();
-            kpmSeries.getData().clear();
-            hsPercentSeries.getData().clear();
-
-            // Ajouter les données en utilisant les formules pour les calculs de session
-            for (int i = 0; i < history.size(); i++) {
-                SessionStats stats = history.get(i);
-
-                // Position en X basée sur l'intervalle fixe entre les échantillons
-                double minutesSinceStart = i * FETCH_INTERVAL_MINUTES;
+            LOGGER.debug("Appending {} data points (was {})", points.size() - currentPointCount, currentPointCount);
 
-                // Calculer le K/D de session (absolue de la différence pour éviter les valeurs négatives)
-                int sessionKills = Math.abs(stats.kills() - initialStats.kills());
-                int sessionDeaths = Math.abs(stats.deaths() - initialStats.deaths());
-                double sessionKd = sessionDeaths > 0 ? (double) sessionKills / sessionDeaths : sessionKills;
+            // Position en X basée sur l'horodatage réel (les relevés ne sont pas équidistants)
+            for (SessionPoint point : points.subList(currentPointCount, points.size())) {
+                densityChart.append(point.minutes(), point.killDeath(), point.killsPerMinute(), point.headshots());
+                if (!canvasMode) {
+                    appendPoint(kdSeries, point.minutes(), point.killDeath());
+                    appendPoint(kpmSeries, point.minutes(), point.killsPerMinute());
+                    appendPoint(hsPercentSeries, point.minutes(), point.headshots());
+                }
+            }
+            currentPointCount = points.size();
 
-                // Calculer le KPM basé sur le temps réel écoulé
-                Duration timeSinceStart = Duration.between(sessionStartTime, stats.timestamp());
-                double minutesElapsed = timeSinceStart.toSeconds() / 60.0;
-                double sessionKpm = minutesElapsed > 0 ? (double) sessionKills / minutesElapsed : 0;
+            if (!canvasMode && currentPointCount > CANVAS_THRESHOLD_POINTS) {
+                LOGGER.info("Switching chart to canvas rendering ({} points)", currentPointCount);
+                setCanvasMode(true);
+                return;
+            }
 
-                // Calculer le % de headshots
-                // Note: comme nous n'avons pas directement le nombre de headshots, on utilise le % global
-                double headshots = parsePercentage(stats.headshots());
+            // Adapter les axes à la durée de session et aux valeurs visibles
+            adjustXAxisRange(points.getLast().minutes());
+            adjustYAxisRange();
+        } catch (Exception e) {
+            LOGGER.error("Error updating chart", e);
+        }
+    }
 
-                // Ajouter les points au graphique
-                kdSeries.getData().add(new XYChart.Data<>(minutesSinceStart, sessionKd));
-                kpmSeries.getData().add(new XYChart.Data<>(minutesSinceStart, sessionKpm));
-                hsPercentSeries.getData().add(new XYChart.Data<>(minutesSinceStart, headshots));
+    /**
+     * Bascule entre le LineChart et le rendu Canvas ; en mode Canvas, les points du
+     * LineChart sont retirés pour libérer leurs nœuds.
+     */
+    private void setCanvasMode(boolean enabled) {
+        if (canvasMode == enabled) {
+            return;
+        }
+        canvasMode = enabled;
+        updateVisibleChart();
+        if (enabled) {
+            for (XYChart.Series<Number, Number> series : allSeries) {
+                series.getData().clear();
             }
+        }
+    }
 
-            // Adapter l'axe des X en fonction de la durée de session
-            adjustXAxisRange(history.size());
-
-            // Mise à jour de l'affichage en fonction de la visibilité des séries
-            updateSeriesVisibility();
+    /**
+     * Ajoute un point à une série ; son style et son infobulle sont posés une seule fois,
+     * à la création de son nœud.
+     */
+    private void appendPoint(XYChart.Series<Number, Number> series, double minutes, double value) {
+        XYChart.Data<Number, Number> data = new XYChart.Data<>(minutes, value);
+        series.getData().add(data);
+        seriesMax.merge(series, value, Math::max);
 
-            // Appliquer le style et les tooltips
-            applySeriesStyles();
-        } catch (Exception e) {
-            LOGGER.error("Error updating chart", e);
+        if (data.getNode() != null) {
+            styleDataNode(series, data);
+        } else {
+            data.nodeProperty().addListener((obs, oldNode, newNode) -> {
+                if (newNode != null) {
+                    styleDataNode(series, data);
+                }
+            });
         }
     }
 
     /**
-     * Adjusts the X-axis range based on the number of data points.
-     * Initially shows 36 minutes (3 points at 12min each), then expands as needed.
+     * Adjusts the X-axis range based on the time covered by the data points.
+     * Initially shows 36 minutes (3 base intervals), then expands as needed.
      */
-    private void adjustXAxisRange(int dataPointCount) {
+    private void adjustXAxisRange(double totalMinutes) {
         if (chart == null) return;
 
         NumberAxis xAxis = (NumberAxis) chart.getXAxis();
 
-        // Calculate minutes represented by all data points
-        double totalMinutes = (dataPointCount - 1) * FETCH_INTERVAL_MINUTES;
-
         // Keep initial view of 36 minutes until we exceed that
         if (totalMinutes <= INITIAL_VIEW_MINUTES) {
             xAxis.setUpperBound(INITIAL_VIEW_MINUTES);
         } else {
             // Extend the view to show all data
             // Round up to next multiple of interval for cleaner display
-            double upperBound = Math.ceil(totalMinutes / FETCH_INTERVAL_MINUTES) * FETCH_INTERVAL_MINUTES;
+            double upperBound = Math.ceil(totalMinutes / MONITORING_BASE_INTERVAL_MINUTES) * MONITORING_BASE_INTERVAL_MINUTES;
             xAxis.setUpperBound(upperBound);
         }
     }
 
     /**
-     * Updates the visibility of chart series based on seriesVisibility map.
+     * Borne l'axe Y au maximum des séries visibles, arrondi à une graduation lisible.
      */
-    private void updateSeriesVisibility() {
-        try {
-            if (chart == null) {
-                return;
-            }
-
-            chart.getData().clear();
+    private void adjustYAxisRange() {
+        if (chart == null) return;
 
-            if (seriesVisibility.get(kdSeries)) {
-                chart.getData().add(kdSeries);
+        double max = 0;
+        for (Map.Entry<XYChart.Series<Number, Number>, Double> entry : seriesMax.entrySet()) {
+            if (seriesVisibility.get(entry.getKey())) {
+                max = Math.max(max, entry.getValue());
             }
+        }
 
-            if (seriesVisibility.get(kpmSeries)) {
-                chart.getData().add(kpmSeries);
-            }
+        NumberAxis yAxis = (NumberAxis) chart.getYAxis();
+        double tickUnit = DensityChart.niceTickUnit(Math.max(max, 1.0) / 5);
+        yAxis.setTickUnit(tickUnit);
+        yAxis.setUpperBound(Math.max(1, Math.ceil(max * 1.05 / tickUnit)) * tickUnit);
+    }
 
-            if (seriesVisibility.get(hsPercentSeries)) {
-                chart.getData().add(hsPercentSeries);
+    /**
+     * Shows or hides the line and the symbols of a series, keeping it attached to the chart.
+     */
+    private void applyVisibility(XYChart.Series<Number, Number> series, boolean visible) {
+        if (series.getNode() != null) {
+            series.getNode().setVisible(visible);
+        }
+        for (XYChart.Data<Number, Number> data : series.getData()) {
+            if (data.getNode() != null) {
+                data.getNode().setVisible(visible);
             }
-        } catch (Exception e) {
-            LOGGER.error("Error updating series visibility", e);
         }
     }
 
     /**
-     * Applies styles and tooltips to all series in the chart.
+     * Applies the line style of a series once its node exists.
      */
-    private void applySeriesStyles() {
-        try {
-            for (XYChart.Series<Number, Number> series : chart.getData()) {
-                if (series == null || series.getNode() == null) continue;
-
-                // Apply style to the series line
-                if (series == kdSeries) {
-                    series.getNode().setStyle("-fx-stroke: " + KD_COLOR + "; -fx-stroke-width: 2px;");
-                } else if (series == kpmSeries) {
-                    series.getNode().setStyle("-fx-stroke: " + KPM_COLOR + "; -fx-stroke-width: 2px;");
-                } else if (series == hsPercentSeries) {
-                    series.getNode().setStyle("-fx-stroke: " + HS_COLOR + "; -fx-stroke-width: 2px;");
-                }
-
-                // Apply style to each data point and add tooltips
-                for (XYChart.Data<Number, Number> data : series.getData()) {
-                    if (data.getNode() == null) continue;
-
-                    String fillColor;
-                    String seriesName;
-
-                    if (series == kdSeries) {
-                        fillColor = KD_COLOR;
-                        seriesName = bundle.getString("stats.chart.kd");
-                    } else if (series == kpmSeries) {
-                        fillColor = KPM_COLOR;
-                        seriesName = bundle.getString("stats.chart.kpm");
-                    } else if (series == hsPercentSeries) {
-                        fillColor = HS_COLOR;
-                        seriesName = bundle.getString("stats.chart.headshots");
-                    } else {
-                        continue;
-                    }
-
-                    // Style the data point
-                    data.getNode().setStyle(
-                            "-fx-background-color: " + fillColor + ", white;" +
-                                    "-fx-background-radius: 5px;" +
-                                    "-fx-padding: 5px;"
-                    );
-
-                    // Add tooltip
-                    double time = data.getXValue().doubleValue();
-                    double value = data.getYValue().doubleValue();
-                    String tooltip = String.format("%s: %.2f\n%s: %.1f %s",
-                            seriesName, value,
-                            bundle.getString("stats.chart.x_axis"), time,
-                            bundle.getString("stats.session.minutes"));
-
-                    javafx.scene.control.Tooltip.install(data.getNode(),
-                            new javafx.scene.control.Tooltip(tooltip));
-                }
+    private void styleSeriesNode(XYChart.Series<Number, Number> series) {
+        String style = "-fx-stroke: " + colorOf(series) + "; -fx-stroke-width: 2px;";
+        if (series.getNode() != null) {
+            series.getNode().setStyle(style);
+        }
+        series.nodeProperty().addListener((obs, oldNode, newNode) -> {
+            if (newNode != null) {
+                newNode.setStyle(style);
+                newNode.setVisible(seriesVisibility.get(series));
             }
+        });
+    }
+
+    /**
+     * Applies the style, visibility and tooltip of a data point, once per node.
+     */
+    private void styleDataNode(XYChart.Series<Number, Number> series, XYChart.Data<Number, Number> data) {
+        try {
+            String fillColor = colorOf(series);
+            String seriesName = series.getName();
+
+            // Style the data point
+            data.getNode().setStyle(
+                    "-fx-background-color: " + fillColor + ", white;" +
+                            "-fx-background-radius: 5px;" +
+                            "-fx-padding: 5px;"
+            );
+            data.getNode().setVisible(seriesVisibility.get(series));
+
+            // Add tooltip
+            double time = data.getXValue().doubleValue();
+            double value = data.getYValue().doubleValue();
+            String tooltip = String.format("%s: %.2f\n%s: %.1f %s",
+                    seriesName, value,
+                    bundle.getString("stats.chart.x_axis"), time,
+                    bundle.getString("stats.session.minutes"));
+
+            javafx.scene.control.Tooltip.install(data.getNode(),
+                    new javafx.scene.control.Tooltip(tooltip));
         } catch (Exception e) {
-            LOGGER.debug("Error applying series styles", e);
+            LOGGER.debug("Error applying data point style", e);
+        }
+    }
+
+    private String colorOf(XYChart.Series<Number, Number> series) {
+        if (series == kdSeries) {
+            return KD_COLOR;
+        } else if (series == kpmSeries) {
+            return KPM_COLOR;
         }
+        return HS_COLOR;
     }
-}
\ No newline at end of file
+}
@@ -15,6 +15,7 @@ import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
+import javafx.scene.control.Tooltip;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -24,7 +25,9 @@ import javafx.beans.value.ObservableValue;
 
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.ResourceBundle;
 import java.util.List;
 
@@ -44,6 +47,11 @@ public class PlayersPanel extends VBox {
     private final Label countLabel = new Label("0");
     private final ProgressIndicator countSpinner = new ProgressIndicator();
 
+    // Joueurs dont les stats ne sont pas encore arrivées, et indication d'un scan à budget épuisé
+    private final Set<String> pendingStats = new HashSet<>();
+    private final Label partialLabel = new Label();
+    private boolean partial = false;
+
     // Composant timer (référence externe)
     private TimerComponent timeComponent;
 
@@ -64,6 +72,11 @@ public class PlayersPanel extends VBox {
         // Configuration du compteur
         countLabel.getStyleClass().add("count-label");
 
+        // Indication de scan partiel, visible tant que des stats arrivent après la fin du budget
+        partialLabel.getStyleClass().add("partial-label");
+        partialLabel.setVisible(false);
+        partialLabel.setManaged(false);
+
         // Spacer pour pousser le temps à droite
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
@@ -71,7 +84,7 @@ public class PlayersPanel extends VBox {
         // Mise en page horizontale pour l'en-tête avec temps à droite
         HBox header = new HBox(10);
         header.setAlignment(Pos.CENTER_LEFT);
-        header.getChildren().addAll(headerLabel, countLabel, countSpinner, spacer);
+        header.getChildren().addAll(headerLabel, countLabel, countSpinner, partialLabel, spacer);
 
         // Le timeComponent sera injecté plus tard via setTimeLabel()
 
@@ -296,6 +309,8 @@ public class PlayersPanel extends VBox {
     public void startLoading() {
         data.clear();
         rowMap.clear();
+        pendingStats.clear();
+        setPartial(false);
 
         // Réinitialiser le compteur et afficher le spinner
         countLabel.setText("0");
@@ -314,6 +329,7 @@ public class PlayersPanel extends VBox {
         PlayerTableRow row = new PlayerTableRow(name);
         data.add(row);
         rowMap.put(name, row);
+        pendingStats.add(name);
     }
 
     /**
@@ -326,6 +342,7 @@ public class PlayersPanel extends VBox {
         PlayerTableRow row = new PlayerTableRow(name, playerId);
         data.add(row);
         rowMap.put(name, row);
+        pendingStats.add(name);
     }
 
     /**
@@ -338,6 +355,7 @@ public class PlayersPanel extends VBox {
                              List<String> metrics) {
         PlayerTableRow row = rowMap.get(name);
         if (row==null) return;
+        pendingStats.remove(name);
 
         if (kd==null) {
             row.setError(true);
@@ -366,6 +384,16 @@ public class PlayersPanel extends VBox {
 
         // Optimiser les largeurs des colonnes quand tous les joueurs sont chargés
         optimizeColumnWidths();
+
+        // Scan partiel : les dernières stats sont arrivées
+        if (partial) {
+            if (pendingStats.isEmpty()) {
+                setPartial(false);
+                countSpinner.setVisible(false);
+            } else {
+                updatePartialLabel();
+            }
+        }
     }
 
     /**
@@ -383,10 +411,37 @@ public class PlayersPanel extends VBox {
 
     /** Called when all fetching is done. */
     public void finishLoading() {
+        finishLoading(true);
+    }
+
+    /**
+     * Called when the scan is over for the user.
+     *
+     * @param complete false if the scan budget ran out: rows still missing their stats keep
+     *                 filling in, and the header says so until the last one arrives
+     */
+    public void finishLoading(boolean complete) {
         table.setPlaceholder(new Label(bundle.getString("server.players.empty")));
-        countSpinner.setVisible(false);
+        boolean stillLoading = !complete && !pendingStats.isEmpty();
+        countSpinner.setVisible(stillLoading);
+        setPartial(stillLoading);
 
         // Optimiser les colonnes après le chargement complet
         optimizeColumnWidths();
     }
+
+    private void setPartial(boolean partial) {
+        this.partial = partial;
+        partialLabel.setVisible(partial);
+        partialLabel.setManaged(partial);
+        if (partial) {
+            updatePartialLabel();
+        }
+    }
+
+    private void updatePartialLabel() {
+        partialLabel.setText(bundle.getString("server.players.partial")
+                .replace("{0}", String.valueOf(pendingStats.size())));
+        partialLabel.setTooltip(new Tooltip(bundle.getString("server.players.partial_hint")));
+    }
 }
\ No newline at end of file
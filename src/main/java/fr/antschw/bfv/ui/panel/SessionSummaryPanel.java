@@ -1,6 +1,6 @@
 package fr.antschw.bfv.ui.panel;
 
-import fr.antschw.bfv.application.orchestrator.PlayerMonitoringCoordinator;
+import fr.antschw.bfv.domain.model.SessionAggregates;
 import fr.antschw.bfv.domain.model.UserStats;
 import fr.antschw.bfv.application.util.I18nUtils;
 import fr.antschw.bfv.ui.component.TimerComponent;
@@ -33,6 +33,9 @@ public class SessionSummaryPanel extends VBox {
     private final Label sessionHeadshotsLabel = new Label("--");
     private final Label sessionHeadshotsTrendIcon = createTrendIcon();
     private final Label sessionKillsLabel = new Label("--");
+    private final Label last30KdLabel = new Label("--");
+    private final Label last60KdLabel = new Label("--");
+    private final Label bestIntervalLabel = new Label("--");
 
     // FlowPane pour adapter le contenu horizontalement
     private final FlowPane statsContainer = new FlowPane();
@@ -75,7 +78,10 @@ public class SessionSummaryPanel extends VBox {
                     createStatBox("stats.session.kills", sessionKillsLabel, null),
                     createStatBox("stats.session.kd", sessionKdLabel, sessionKdTrendIcon),
                     createStatBox("stats.session.kpm", sessionKpmLabel, sessionKpmTrendIcon),
-                    createStatBox("stats.session.headshots", sessionHeadshotsLabel, sessionHeadshotsTrendIcon)
+                    createStatBox("stats.session.headshots", sessionHeadshotsLabel, sessionHeadshotsTrendIcon),
+                    createStatBox("stats.session.last_30", last30KdLabel, null),
+                    createStatBox("stats.session.last_60", last60KdLabel, null),
+                    createStatBox("stats.session.best_interval", bestIntervalLabel, null)
             );
 
             // Add all to panel
@@ -185,9 +191,9 @@ public class SessionSummaryPanel extends VBox {
 
     /**
      * Updates the panel with session metrics.
-     * Les métriques de session sont maintenant basées sur la différence depuis le début.
+     * Les métriques sont lues telles quelles dans l'instantané d'agrégats, sans recalcul.
      */
-    public void updateSessionMetrics(PlayerMonitoringCoordinator.SessionMetrics metrics) {
+    public void updateSessionMetrics(SessionAggregates metrics) {
         try {
             if (metrics == null) {
                 return;
@@ -198,6 +204,11 @@ public class SessionSummaryPanel extends VBox {
             sessionKpmLabel.setText(String.format("%.2f", metrics.killsPerMinute()));
             sessionHeadshotsLabel.setText(metrics.headshots());
             sessionKillsLabel.setText(String.valueOf(metrics.kills()));
+            last30KdLabel.setText(String.format("%.2f", metrics.last30Minutes().killDeath()));
+            last60KdLabel.setText(String.format("%.2f", metrics.last60Minutes().killDeath()));
+            SessionAggregates.IntervalStats best = metrics.bestInterval();
+            bestIntervalLabel.setText(best == null ? "--"
+                    : String.format("%d/%d (%.2f)", best.kills(), best.deaths(), best.killDeath()));
 
             // Update trend icons if we have initial stats to compare against
             if (hasInitialStats) {
@@ -2,14 +2,23 @@ package fr.antschw.bfv.ui.panel;
 
 import fr.antschw.bfv.application.util.I18nUtils;
 import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.model.WatchedServer;
 import fr.antschw.bfv.ui.component.TimerComponent;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.GridPane;
@@ -18,12 +27,20 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 
 /**
  * Panel that displays the server information and player statistics in a responsive layout,
  * alongside a history section showing previously scanned server IDs.
  * Maintenant avec support pour TimerComponent.
+ * <p>
+ * Les serveurs surveillés apparaissent dans l'historique avec leur synthèse BFVHackers à jour ;
+ * le menu contextuel d'une entrée ajoute ou retire le serveur de la surveillance.
  */
 public class StatusPanel extends HBox {
 
@@ -68,13 +85,26 @@ public class StatusPanel extends HBox {
     // Main container that holds server info and categories
     private final VBox mainContainer = new VBox(10);
 
-    // History data
+    // History data (identifiants courts, le plus récent en tête)
     private final ObservableList<String> historyData = FXCollections.observableArrayList();
+    private final ListView<String> historyList = new ListView<>(historyData);
     private final VBox historyBox = new VBox();
+    private final TextField watchIdField = new TextField();
+
+    // Serveurs surveillés, par identifiant court
+    private final Map<String, WatchedServer> watchedServers = new HashMap<>();
+    private Consumer<String> onWatch = shortId -> { };
+    private Consumer<String> onUnwatch = shortId -> { };
 
     // Minimum width for horizontal layout
     private static final double MIN_WIDTH_FOR_HORIZONTAL = 500;
 
+    // État "danger" du thème pour signaler un identifiant court invalide
+    private static final PseudoClass INVALID = PseudoClass.getPseudoClass("danger");
+
+    private static final DateTimeFormatter UPDATE_TIME = DateTimeFormatter.ofPattern("HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
     public StatusPanel() {
         // HBox spacing between grid and history box
         this.setSpacing(20);
@@ -182,19 +212,31 @@ public class StatusPanel extends HBox {
         Label historyTitle = new Label(bundle.getString("server.history.title"));
         historyTitle.getStyleClass().add("header-label");
 
-        ListView<String> historyList = new ListView<>(historyData);
-        historyList.setPrefWidth(120);
-        historyList.setMaxWidth(120);
+        historyList.setPrefWidth(160);
+        historyList.setMaxWidth(160);
         historyList.setPrefHeight(120);
         historyList.setFixedCellSize(22);
         historyList.getStyleClass().add("history-list");
-
-        historyBox.getChildren().addAll(historyTitle, historyList);
+        historyList.setCellFactory(list -> new HistoryCell());
+
+        // Saisie d'un identifiant court à surveiller sans l'avoir scanné
+        watchIdField.setPromptText(bundle.getString("server.history.watch_prompt"));
+        watchIdField.setOnAction(e -> submitWatchId());
+        watchIdField.textProperty().addListener((obs, oldVal, newVal) -> watchIdField.pseudoClassStateChanged(INVALID, false));
+        Button watchButton = new Button(bundle.getString("server.history.watch_add"));
+        watchButton.setTooltip(new Tooltip(bundle.getString("server.history.watch")));
+        watchButton.setOnAction(e -> submitWatchId());
+        HBox watchBox = new HBox(4, watchIdField, watchButton);
+        watchBox.setAlignment(Pos.CENTER_LEFT);
+        watchBox.setMaxWidth(160);
+        HBox.setHgrow(watchIdField, Priority.ALWAYS);
+
+        historyBox.getChildren().addAll(historyTitle, historyList, watchBox);
         historyBox.setSpacing(4);
         historyBox.getStyleClass().add("history-panel");
         historyBox.setPadding(new Insets(0, 4, 4, 4));
-        historyBox.setPrefWidth(130);
-        historyBox.setMaxWidth(130);
+        historyBox.setPrefWidth(170);
+        historyBox.setMaxWidth(170);
 
         VBox.setVgrow(historyList, Priority.ALWAYS);
     }
@@ -300,9 +342,53 @@ public class StatusPanel extends HBox {
 
     /** Add new server ID to history if not already present */
     public void addToHistory(String shortId) {
-        String entry = "#" + shortId;
-        if (!historyData.contains(entry)) {
-            historyData.addFirst(entry);
+        if (!historyData.contains(shortId)) {
+            historyData.addFirst(shortId);
+        }
+    }
+
+    /**
+     * Set the actions of the history context menu and of the short ID field
+     *
+     * @param onWatch   called with the short ID of a server to watch
+     * @param onUnwatch called with the short ID of a server to stop watching
+     */
+    public void setWatchActions(Consumer<String> onWatch, Consumer<String> onUnwatch) {
+        this.onWatch = onWatch;
+        this.onUnwatch = onUnwatch;
+    }
+
+    /**
+     * Watch the server typed in the short ID field, then clear it; a malformed ID is flagged instead
+     */
+    private void submitWatchId() {
+        String shortId = watchIdField.getText().trim();
+        if (shortId.isEmpty()) {
+            return;
+        }
+        if (!ServerInfo.isValidShortId(shortId)) {
+            watchIdField.pseudoClassStateChanged(INVALID, true);
+            return;
+        }
+        onWatch.accept(shortId);
+        watchIdField.clear();
+    }
+
+    /**
+     * Show the latest state of a watched server in the history, adding it if needed
+     */
+    public void updateWatchedServer(WatchedServer server) {
+        watchedServers.put(server.shortServerId(), server);
+        addToHistory(server.shortServerId());
+        historyList.refresh();
+    }
+
+    /**
+     * Show a server as no longer watched; it stays in the history
+     */
+    public void removeWatchedServer(String shortId) {
+        if (watchedServers.remove(shortId) != null) {
+            historyList.refresh();
         }
     }
 
@@ -325,6 +411,7 @@ public class StatusPanel extends HBox {
         verySusValueLabel.setText("0");
         susValueLabel.setText("0");
         legitValueLabel.setText("0");
+        Tooltip.install(categoryGrid, null);
     }
 
     /**
@@ -360,6 +447,23 @@ public class StatusPanel extends HBox {
         legitValueLabel.setText(String.valueOf(summary.numLegit()));
     }
 
+    /**
+     * Show the player categories as unknown, when the BFVHackers summary could not be fetched
+     */
+    public void setHackersUnavailable() {
+        hackersSpinner.setVisible(false);
+        verySusSpinner.setVisible(false);
+        susSpinner.setVisible(false);
+        legitSpinner.setVisible(false);
+
+        // "—" plutôt que 0 : un résumé manquant ne signifie pas un serveur sans tricheur
+        hackersValueLabel.setText("—");
+        verySusValueLabel.setText("—");
+        susValueLabel.setText("—");
+        legitValueLabel.setText("—");
+        Tooltip.install(categoryGrid, new Tooltip(bundle.getString("server.hackers.unavailable")));
+    }
+
     /**
      * Legacy method for backward compatibility
      */
@@ -397,4 +501,80 @@ public class StatusPanel extends HBox {
     public TimerComponent getTimeLabel() {
         return timeComponent;
     }
-}
\ No newline at end of file
+
+    /**
+     * History entry: the server ID, followed for watched servers by its live hacker,
+     * very suspicious and suspicious counts.
+     */
+    private final class HistoryCell extends ListCell<String> {
+        private final Label idLabel = new Label();
+        private final Label hackersLabel = new Label();
+        private final Label verySusLabel = new Label();
+        private final Label susLabel = new Label();
+        private final HBox content;
+        private final MenuItem watchItem = new MenuItem(bundle.getString("server.history.watch"));
+        private final MenuItem unwatchItem = new MenuItem(bundle.getString("server.history.unwatch"));
+
+        private HistoryCell() {
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            hackersLabel.getStyleClass().add("status-hackers");
+            verySusLabel.getStyleClass().add("status-verysus");
+            susLabel.getStyleClass().add("status-sus");
+            content = new HBox(6, idLabel, spacer, hackersLabel, verySusLabel, susLabel);
+            content.setAlignment(Pos.CENTER_LEFT);
+
+            watchItem.setOnAction(e -> onWatch.accept(getItem()));
+            unwatchItem.setOnAction(e -> onUnwatch.accept(getItem()));
+        }
+
+        @Override
+        protected void updateItem(String shortId, boolean empty) {
+            super.updateItem(shortId, empty);
+            setText(null);
+            if (empty || shortId == null) {
+                setGraphic(null);
+                setTooltip(null);
+                setContextMenu(null);
+                return;
+            }
+
+            idLabel.setText("#" + shortId);
+            WatchedServer server = watchedServers.get(shortId);
+            HackersSummary summary = server != null ? server.hackers() : null;
+            hackersLabel.setText(summary != null ? String.valueOf(summary.numHackers()) : "");
+            verySusLabel.setText(summary != null ? String.valueOf(summary.numVerySus()) : "");
+            susLabel.setText(summary != null ? String.valueOf(summary.numSus()) : "");
+            idLabel.getStyleClass().remove("history-watched");
+            if (server != null) {
+                idLabel.getStyleClass().add("history-watched");
+            }
+            setGraphic(content);
+
+            setTooltip(server != null ? new Tooltip(describe(server)) : null);
+            setContextMenu(new ContextMenu(server != null ? unwatchItem : watchItem));
+        }
+
+        private String describe(WatchedServer server) {
+            StringBuilder text = new StringBuilder();
+            if (server.server() != null && server.server().serverName() != null) {
+                text.append(server.server().serverName()).append('\n');
+            }
+            HackersSummary summary = server.hackers();
+            if (summary == null) {
+                text.append(bundle.getString("server.history.watch_pending"));
+            } else {
+                text.append(bundle.getString("server.hackers.label")).append(' ').append(summary.numHackers()).append('\n')
+                        .append(bundle.getString("server.very_sus.label")).append(' ').append(summary.numVerySus()).append('\n')
+                        .append(bundle.getString("server.sus.label")).append(' ').append(summary.numSus()).append('\n')
+                        .append(bundle.getString("server.legit.label")).append(' ').append(summary.numLegit()).append('\n')
+                        .append(bundle.getString("server.history.watch_updated")
+                                .replace("{0}", UPDATE_TIME.format(server.updatedAt())));
+            }
+            if (server.error() != null) {
+                text.append('\n').append(bundle.getString("server.history.watch_error").replace("{0}", server.error()));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package fr.antschw.bfv.ui.view;
 
 import fr.antschw.bfv.application.orchestrator.PlayerStatsFilter;
+import fr.antschw.bfv.application.orchestrator.ScanListener;
 import fr.antschw.bfv.application.orchestrator.ServerScanCoordinator;
+import fr.antschw.bfv.application.orchestrator.ServerWatchCoordinator;
 import fr.antschw.bfv.application.util.AppConstants;
 import fr.antschw.bfv.application.util.I18nUtils;
 import fr.antschw.bfv.domain.exception.HotkeyListenerException;
 import fr.antschw.bfv.domain.model.HackersSummary;
+import fr.antschw.bfv.domain.model.ServerInfo;
+import fr.antschw.bfv.domain.model.ServerPlayer;
+import fr.antschw.bfv.domain.model.UserStats;
 import fr.antschw.bfv.domain.service.HotkeyConfigurationService;
 import fr.antschw.bfv.domain.service.HotkeyListenerService;
-import fr.antschw.bfv.infrastructure.api.client.BfvHackersClient;
 import fr.antschw.bfv.ui.component.TimerComponent;
 import fr.antschw.bfv.ui.panel.PlayersPanel;
 import fr.antschw.bfv.ui.panel.ScanControlPanel;
@@ -21,6 +25,7 @@ import javafx.scene.control.Separator;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 
+import java.awt.image.BufferedImage;
 import java.time.Instant;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -45,11 +50,12 @@ public class ServerView {
     public ServerView(ServerScanCoordinator scanService,
                       HotkeyConfigurationService hotkeyConfig,
                       HotkeyListenerService hotkeyListener,
-                      PlayerStatsFilter playerStatsFilter) {
+                      PlayerStatsFilter playerStatsFilter,
+                      ServerWatchCoordinator serverWatch) {
         this.scanService = scanService;
         this.playerStatsFilter = playerStatsFilter;
 
-        controlPane = new ScanControlPanel(hotkeyConfig, this::runScan);
+        controlPane = new ScanControlPanel(hotkeyConfig, () -> runScan(null));
         root.setPadding(new Insets(AppConstants.WINDOW_PADDING));
 
         // Configurer le timer
@@ -70,14 +76,30 @@ public class ServerView {
         VBox.setVgrow(statusPane, Priority.NEVER);
         VBox.setVgrow(controlPane, Priority.NEVER);
 
+        // Serveurs surveillés : synthèse à jour dans l'historique, sans OCR
+        statusPane.setWatchActions(serverWatch::watch, shortId -> {
+            serverWatch.unwatch(shortId);
+            statusPane.removeWatchedServer(shortId);
+        });
+        serverWatch.getWatchedServers().forEach(statusPane::updateWatchedServer);
+        serverWatch.addListener(server -> Platform.runLater(() -> {
+            if (serverWatch.isWatched(server.shortServerId())) {
+                statusPane.updateWatchedServer(server);
+            }
+        }));
+
         try {
-            hotkeyListener.startListening(() -> Platform.runLater(this::runScan));
+            // La capture est déjà faite quand l'interface est prévenue
+            hotkeyListener.startListening(image -> Platform.runLater(() -> runScan(image)));
         } catch (HotkeyListenerException e) {
             // log error...
         }
     }
 
-    private void runScan() {
+    /**
+     * @param image capture prise à l'appui du raccourci, ou null pour capturer au lancement du scan
+     */
+    private void runScan(BufferedImage image) {
         controlPane.setScanning(true);
         statusPane.reset();
         playersPane.startLoading();
@@ -86,92 +108,78 @@ public class ServerView {
         scanTimer.reset();
         scanTimer.start();
 
-        new Thread(() -> {
-            try {
-                // 1) OCR
-                String shortId = scanService.extractServerId();
+        scanService.runScan(image, new ScanListener() {
+            @Override
+            public void onServerId(String shortId) {
                 Platform.runLater(() -> {
                     statusPane.addToHistory(shortId);
                     statusPane.setOcrStatus("#" + shortId, false);
                 });
+            }
 
-
-                // 2) GameTools
-                var info = scanService.queryGameTools(shortId);
+            @Override
+            public void onServerInfo(ServerInfo info) {
                 Platform.runLater(() ->
                         statusPane.setGameToolsStatus("ID " + info.longServerId(), false)
                 );
+            }
 
-                // 3) Hackers
-                var hackInfo = scanService.queryBfvHackers(String.valueOf(info.longServerId()), info);
-
-                // Récupérer le résumé complet des hackers depuis le client
-                HackersSummary summary = BfvHackersClient.getLatestSummary();
-
+            @Override
+            public void onHackersSummary(HackersSummary summary) {
                 Platform.runLater(() -> {
                     if (summary != null) {
-                        // Utiliser la nouvelle méthode avec le résumé complet
                         statusPane.setHackersStatus(summary, false);
                     } else {
-                        // Fallback: créer un résumé simplifié
-                        statusPane.setHackersStatus(
-                                new HackersSummary(
-                                        0, // total inconnu
-                                        0, // legit inconnu
-                                        0, // sus inconnu
-                                        0, // very sus inconnu
-                                        hackInfo.cheaterCount(), // nombre de hackers
-                                        0  // âge inconnu
-                                ),
-                                false
-                        );
+                        statusPane.setHackersUnavailable();
                     }
                 });
+            }
 
-                // 4) Players async
-                scanService.queryPlayersAsync(
-                        shortId,
-                        player -> Platform.runLater(() ->
-                                playersPane.addPlayer(player.name(), player.playerId())
-                        ),
-                        (player, stats) -> Platform.runLater(() -> {
-                            // Get the list of metrics that flagged this player
-                            List<String> metrics = stats != null
-                                    ? playerStatsFilter.getInterestingMetrics(stats)
-                                    : List.of();
-
-                            playersPane.updatePlayer(
-                                    player.name(),
-                                    stats != null ? stats.killDeath() : null,
-                                    stats != null ? stats.killsPerMinute() : null,
-                                    stats != null ? stats.rank() : null,
-                                    stats != null ? stats.accuracy() : null,
-                                    metrics
-                            );
-                        })
-                );
+            @Override
+            public void onPlayer(ServerPlayer player) {
+                Platform.runLater(() -> playersPane.addPlayer(player.name(), player.playerId()));
+            }
 
-                // Arrêter le timer à la fin du scan
+            @Override
+            public void onPlayerStats(ServerPlayer player, UserStats stats) {
+                // Get the list of metrics that flagged this player
+                List<String> metrics = stats != null
+                        ? playerStatsFilter.getInterestingMetrics(stats)
+                        : List.of();
+
+                Platform.runLater(() -> playersPane.updatePlayer(
+                        player.name(),
+                        stats != null ? stats.killDeath() : null,
+                        stats != null ? stats.killsPerMinute() : null,
+                        stats != null ? stats.rank() : null,
+                        stats != null ? stats.accuracy() : null,
+                        metrics
+                ));
+            }
+
+            @Override
+            public void onFinished(boolean complete) {
+                // Arrêter le timer à la fin du scan ; si le budget est épuisé, les retardataires
+                // continuent de remplir leurs lignes en arrière-plan, ce que le panneau signale
                 Platform.runLater(() -> {
                     scanTimer.stop();
-                    playersPane.finishLoading();
+                    playersPane.finishLoading(complete);
                     controlPane.setScanning(false);
                 });
+            }
 
-            } catch (Exception ex) {
+            @Override
+            public void onFailed(Exception ex) {
                 Platform.runLater(() -> {
                     statusPane.setOcrStatus("Error: " + ex.getMessage(), false);
                     statusPane.setGameToolsStatus("", false);
-                    statusPane.setHackersStatus(
-                            new HackersSummary(0, 0, 0, 0, 0, 0),
-                            false
-                    );
+                    statusPane.setHackersUnavailable();
                     scanTimer.stop();
                     playersPane.finishLoading();
                     controlPane.setScanning(false);
                 });
             }
-        }).start();
+        });
     }
 
     /** Return the root pane to embed in your scene. */
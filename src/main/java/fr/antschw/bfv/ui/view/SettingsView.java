@@ -3,8 +3,11 @@ package fr.antschw.bfv.ui.view;
 import com.google.inject.Inject;
 import fr.antschw.bfv.domain.service.HotkeyConfigurationService;
 import fr.antschw.bfv.domain.service.SettingsService;
+import fr.antschw.bfv.application.util.AppConstants;
 import fr.antschw.bfv.application.util.I18nUtils;
+import fr.antschw.bfv.application.orchestrator.LocalApiCoordinator;
 import fr.antschw.bfv.application.orchestrator.PlayerMonitoringCoordinator;
+import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -15,6 +18,8 @@ import javafx.scene.layout.VBox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.ResourceBundle;
 
 /**
@@ -27,6 +32,7 @@ public class SettingsView {
     private final ResourceBundle bundle = I18nUtils.getBundle();
     private final HotkeyConfigurationService hotkeyConfigurationService;
     private final PlayerMonitoringCoordinator monitoringCoordinator;
+    private final LocalApiCoordinator localApiCoordinator;
     private final SettingsService settingsService;
     private final StatsView statsView;
 
@@ -40,6 +46,20 @@ public class SettingsView {
     private final CheckBox usePlayerIdCheck = new CheckBox();
     private final Button savePlayerButton = new Button();
     private final Label playerStatusLabel = new Label();
+    private final TextField squadField = new TextField();
+    private final Button saveSquadButton = new Button();
+
+    // Network section
+    private final CheckBox hedgedRequestsCheck = new CheckBox();
+    private final CheckBox connectionWarmupCheck = new CheckBox();
+    private final CheckBox statsPrefetchCheck = new CheckBox();
+    private final Spinner<Integer> prefetchBudgetSpinner = new Spinner<>(10, 600, 60, 10);
+    private final Spinner<Integer> monitoringBudgetSpinner = new Spinner<>(1, 60, 20, 1);
+    private final Spinner<Integer> scanBudgetSpinner = new Spinner<>(3, 60, 12, 1);
+    private final CheckBox localApiCheck = new CheckBox();
+    private final Spinner<Integer> localApiPortSpinner = new Spinner<>(1024, 65535, AppConstants.LOCAL_API_DEFAULT_PORT, 1);
+    private final TextField localApiOriginsField = new TextField();
+    private final Label localApiStatusLabel = new Label();
 
     /**
      * Constructs the SettingsView with injected services.
@@ -48,10 +68,12 @@ public class SettingsView {
     public SettingsView(
             HotkeyConfigurationService hotkeyConfigurationService,
             PlayerMonitoringCoordinator monitoringCoordinator,
+            LocalApiCoordinator localApiCoordinator,
             SettingsService settingsService,
             StatsView statsView) {
         this.hotkeyConfigurationService = hotkeyConfigurationService;
         this.monitoringCoordinator = monitoringCoordinator;
+        this.localApiCoordinator = localApiCoordinator;
         this.settingsService = settingsService;
         this.statsView = statsView;
         initLayout();
@@ -129,19 +151,41 @@ public class SettingsView {
             playerInputBox.setAlignment(Pos.CENTER_LEFT);
             playerInputBox.getChildren().addAll(playerNameField, usePlayerIdCheck, savePlayerButton);
 
+            // Squad members monitored alongside the main player
+            squadField.setText(String.join(", ", settingsService.getWatchedPlayers()));
+            squadField.setPromptText(bundle.getString("settings.squad.prompt"));
+            squadField.getStyleClass().add("settings-field");
+            squadField.setPrefWidth(300);
+
+            saveSquadButton.setText(bundle.getString("settings.save"));
+            saveSquadButton.setOnAction(e -> saveSquadSettings());
+
+            HBox squadInputBox = new HBox(10, squadField, saveSquadButton);
+            squadInputBox.setAlignment(Pos.CENTER_LEFT);
+
             VBox playerSection = new VBox(5);
             playerSection.getChildren().addAll(
                     playerTitle,
                     playerInputBox,
+                    new Label(bundle.getString("settings.squad")),
+                    squadInputBox,
                     playerStatusLabel
             );
 
+            // Network Section
+            VBox networkSection = createNetworkSection();
+
+            Separator networkSeparator = new Separator();
+            networkSeparator.setPadding(new Insets(10, 0, 10, 0));
+
             // Add all to main view
             view.getChildren().addAll(
                     title,
                     hotkeySection,
                     separator,
-                    playerSection
+                    playerSection,
+                    networkSeparator,
+                    networkSection
             );
 
             LOGGER.info("SettingsView initialized successfully");
@@ -152,6 +196,173 @@ public class SettingsView {
         }
     }
 
+    /**
+     * Crée la section des options réseau, enregistrées dès leur modification.
+     */
+    private VBox createNetworkSection() {
+        Label networkTitle = new Label(bundle.getString("settings.network"));
+        networkTitle.getStyleClass().add("section-title");
+
+        hedgedRequestsCheck.setText(bundle.getString("settings.network.hedged"));
+        hedgedRequestsCheck.setSelected(settingsService.isHedgedRequestsEnabled());
+        hedgedRequestsCheck.getStyleClass().add("switch-checkbox");
+        hedgedRequestsCheck.selectedProperty().addListener((obs, oldVal, newVal) ->
+                settingsService.setHedgedRequestsEnabled(newVal));
+
+        connectionWarmupCheck.setText(bundle.getString("settings.network.warmup"));
+        connectionWarmupCheck.setSelected(settingsService.isConnectionWarmupEnabled());
+        connectionWarmupCheck.getStyleClass().add("switch-checkbox");
+        connectionWarmupCheck.selectedProperty().addListener((obs, oldVal, newVal) ->
+                settingsService.setConnectionWarmupEnabled(newVal));
+
+        scanBudgetSpinner.getValueFactory().setValue(settingsService.getScanBudgetSeconds());
+        scanBudgetSpinner.setPrefWidth(90);
+        scanBudgetSpinner.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                settingsService.setScanBudgetSeconds(newVal);
+            }
+        });
+
+        HBox scanBudgetBox = new HBox(10,
+                new Label(bundle.getString("settings.network.scan_budget")),
+                scanBudgetSpinner);
+        scanBudgetBox.setAlignment(Pos.CENTER_LEFT);
+
+        statsPrefetchCheck.setText(bundle.getString("settings.network.prefetch"));
+        statsPrefetchCheck.setSelected(settingsService.isStatsPrefetchEnabled());
+        statsPrefetchCheck.getStyleClass().add("switch-checkbox");
+        statsPrefetchCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            settingsService.setStatsPrefetchEnabled(newVal);
+            prefetchBudgetSpinner.setDisable(!newVal);
+        });
+
+        prefetchBudgetSpinner.getValueFactory().setValue(settingsService.getPrefetchRequestsPerHour());
+        prefetchBudgetSpinner.setPrefWidth(90);
+        prefetchBudgetSpinner.setDisable(!statsPrefetchCheck.isSelected());
+        prefetchBudgetSpinner.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                settingsService.setPrefetchRequestsPerHour(newVal);
+            }
+        });
+
+        HBox budgetBox = new HBox(10,
+                new Label(bundle.getString("settings.network.prefetch_budget")),
+                prefetchBudgetSpinner);
+        budgetBox.setAlignment(Pos.CENTER_LEFT);
+
+        monitoringBudgetSpinner.getValueFactory().setValue(settingsService.getMonitoringRequestsPerHour());
+        monitoringBudgetSpinner.setPrefWidth(90);
+        monitoringBudgetSpinner.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                settingsService.setMonitoringRequestsPerHour(newVal);
+            }
+        });
+
+        HBox monitoringBudgetBox = new HBox(10,
+                new Label(bundle.getString("settings.network.monitoring_budget")),
+                monitoringBudgetSpinner);
+        monitoringBudgetBox.setAlignment(Pos.CENTER_LEFT);
+
+        localApiCheck.setText(bundle.getString("settings.network.local_api"));
+        localApiCheck.setSelected(settingsService.isLocalApiEnabled());
+        localApiCheck.getStyleClass().add("switch-checkbox");
+        localApiCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            settingsService.setLocalApiEnabled(newVal);
+            localApiPortSpinner.setDisable(!newVal);
+            localApiOriginsField.setDisable(!newVal);
+            applyLocalApiSettings();
+        });
+
+        localApiPortSpinner.getValueFactory().setValue(settingsService.getLocalApiPort());
+        localApiPortSpinner.setEditable(true);
+        localApiPortSpinner.setPrefWidth(100);
+        localApiPortSpinner.setDisable(!localApiCheck.isSelected());
+        // Le port n'est appliqué qu'à la validation (Entrée ou perte du focus), pas à chaque pas ni frappe
+        localApiPortSpinner.getEditor().addEventHandler(ActionEvent.ACTION, e -> saveLocalApiPort());
+        localApiPortSpinner.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (!focused) {
+                saveLocalApiPort();
+            }
+        });
+
+        HBox localApiPortBox = new HBox(10,
+                new Label(bundle.getString("settings.network.local_api_port")),
+                localApiPortSpinner);
+        localApiPortBox.setAlignment(Pos.CENTER_LEFT);
+
+        // Origines web autorisées, appliquées à la validation (Entrée ou perte du focus)
+        localApiOriginsField.setText(String.join(", ", settingsService.getLocalApiAllowedOrigins()));
+        localApiOriginsField.setPromptText(bundle.getString("settings.network.local_api_origins.prompt"));
+        localApiOriginsField.getStyleClass().add("settings-field");
+        localApiOriginsField.setPrefWidth(300);
+        localApiOriginsField.setDisable(!localApiCheck.isSelected());
+        localApiOriginsField.setOnAction(e -> saveLocalApiOrigins());
+        localApiOriginsField.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (!focused) {
+                saveLocalApiOrigins();
+            }
+        });
+
+        HBox localApiOriginsBox = new HBox(10,
+                new Label(bundle.getString("settings.network.local_api_origins")),
+                localApiOriginsField);
+        localApiOriginsBox.setAlignment(Pos.CENTER_LEFT);
+
+        localApiStatusLabel.getStyleClass().addAll("status-text", "error-text");
+        localApiStatusLabel.setVisible(false);
+        localApiStatusLabel.setManaged(false);
+
+        VBox networkSection = new VBox(5);
+        networkSection.getChildren().addAll(networkTitle, hedgedRequestsCheck, connectionWarmupCheck, scanBudgetBox, statsPrefetchCheck, budgetBox,
+                monitoringBudgetBox, localApiCheck, localApiPortBox, localApiOriginsBox, localApiStatusLabel);
+        return networkSection;
+    }
+
+    /**
+     * Valide la saisie du port et redémarre l'API locale si le port a changé.
+     */
+    private void saveLocalApiPort() {
+        try {
+            localApiPortSpinner.commitValue();
+        } catch (NumberFormatException e) {
+            localApiPortSpinner.cancelEdit();
+            return;
+        }
+        Integer port = localApiPortSpinner.getValue();
+        if (port == null || port == settingsService.getLocalApiPort()) {
+            return;
+        }
+        settingsService.setLocalApiPort(port);
+        applyLocalApiSettings();
+    }
+
+    /**
+     * Enregistre les origines autorisées et redémarre l'API locale si elles ont changé.
+     */
+    private void saveLocalApiOrigins() {
+        List<String> origins = Arrays.stream(localApiOriginsField.getText().split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .distinct()
+                .toList();
+        if (origins.equals(settingsService.getLocalApiAllowedOrigins())) {
+            return;
+        }
+        settingsService.setLocalApiAllowedOrigins(origins);
+        applyLocalApiSettings();
+    }
+
+    /**
+     * Applique les paramètres de l'API locale et signale un échec de démarrage (port occupé…).
+     */
+    private void applyLocalApiSettings() {
+        boolean applied = localApiCoordinator.applySettings();
+        localApiStatusLabel.setText(applied ? "" : bundle.getString("settings.network.local_api_error")
+                .replace("{0}", String.valueOf(settingsService.getLocalApiPort())));
+        localApiStatusLabel.setVisible(!applied);
+        localApiStatusLabel.setManaged(!applied);
+    }
+
     private void updateCurrentKeyLabel() {
         try {
             String hotkey = hotkeyConfigurationService.getConfiguration().getHotkey();
@@ -232,6 +443,29 @@ public class SettingsView {
         }
     }
 
+    private void saveSquadSettings() {
+        try {
+            List<String> players = Arrays.stream(squadField.getText().split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .distinct()
+                    .toList();
+
+            monitoringCoordinator.updateWatchedPlayers(players);
+            statsView.refreshOnPlayerChange();
+
+            playerStatusLabel.setText(bundle.getString("settings.squad.saved").replace("{0}", String.valueOf(players.size())));
+            playerStatusLabel.getStyleClass().removeAll("error-text");
+            playerStatusLabel.getStyleClass().add("success-text");
+
+            LOGGER.info("Squad updated: {}", players);
+        } catch (Exception e) {
+            LOGGER.error("Error saving squad settings", e);
+            playerStatusLabel.setText("Error: " + e.getMessage());
+            playerStatusLabel.getStyleClass().add("error-text");
+        }
+    }
+
     /**
      * Returns the root node for this view.
      *
@@ -3,31 +3,32 @@ package fr.antschw.bfv.ui.view;
 import com.google.inject.Inject;
 import fr.antschw.bfv.application.orchestrator.PlayerMonitoringCoordinator;
 import fr.antschw.bfv.application.util.I18nUtils;
-import fr.antschw.bfv.domain.model.SessionStats;
+import fr.antschw.bfv.domain.model.MonitoringSnapshot;
+import fr.antschw.bfv.domain.model.SessionAggregates;
 import fr.antschw.bfv.domain.model.UserStats;
 import fr.antschw.bfv.ui.panel.PlayerChartPanel;
 import fr.antschw.bfv.ui.panel.PlayerGeneralPanel;
 import fr.antschw.bfv.ui.panel.SessionSummaryPanel;
-import javafx.application.Platform;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * View responsible for displaying player statistics and session monitoring.
  * Settings for player monitoring are now in SettingsView.
- * Modifié avec mise à jour automatique toutes les 12 minutes.
+ * Rafraîchie une fois par nouveau relevé, sur notification de la surveillance.
  */
 public class StatsView {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatsView.class);
@@ -36,19 +37,19 @@ public class StatsView {
     private final PlayerMonitoringCoordinator monitoringCoordinator;
 
     private final Label headerLabel = new Label();
+    private final ComboBox<String> playerSelector = new ComboBox<>();
+    private final HBox playerSelectorBox = new HBox(8);
     private final PlayerGeneralPanel generalPanel;
     private final PlayerChartPanel chartPanel;
     private final SessionSummaryPanel summaryPanel;
 
-    // Intervalle de mise à jour fixe de 12 minutes
-    private static final int FETCH_INTERVAL_MINUTES = 12;
-
-    // Utilisation d'un scheduler unique pour toutes les mises à jour
-    private ScheduledExecutorService uiUpdater;
-
     // Pour suivre si les stats ont changé
     private UserStats lastDisplayedStats = null;
 
+    // Joueur affiché parmi les joueurs surveillés (null = joueur principal)
+    private String selectedPlayer = null;
+    private boolean updatingSelector = false;
+
     /**
      * Constructs the StatsView.
      */
@@ -74,9 +75,25 @@ public class StatsView {
             Separator separator1 = new Separator();
             Separator separator2 = new Separator();
 
+            // Sélecteur de joueur, visible seulement si plusieurs joueurs sont surveillés
+            playerSelector.valueProperty().addListener((obs, oldVal, newVal) -> {
+                if (!updatingSelector && newVal != null && !newVal.equals(oldVal)) {
+                    selectPlayer(newVal);
+                }
+            });
+            playerSelectorBox.setAlignment(Pos.CENTER_RIGHT);
+            playerSelectorBox.getChildren().addAll(new Label(bundle.getString("stats.player_selector")), playerSelector);
+            playerSelectorBox.setVisible(false);
+            playerSelectorBox.setManaged(false);
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            HBox headerBox = new HBox(10, headerLabel, spacer, playerSelectorBox);
+            headerBox.setAlignment(Pos.CENTER_LEFT);
+
             // Add all panels - sans PlayerSettingsPanel
             root.getChildren().addAll(
-                    headerLabel,
+                    headerBox,
                     generalPanel,
                     separator1,
                     chartPanel,
@@ -87,8 +104,11 @@ public class StatsView {
             // Set growth behaviors - graphique plus grand
             VBox.setVgrow(chartPanel, Priority.ALWAYS);
 
-            // Start UI updates immediately to show current player if any
-            startUiUpdates();
+            // Tendance sur plusieurs jours, lue dans l'historique à la demande
+            chartPanel.setOnRangeChanged(range -> refreshTrend());
+
+            // Redessiner à chaque nouveau relevé (les notifications arrivent sur le thread JavaFX)
+            monitoringCoordinator.addSnapshotListener(this::onSnapshot);
 
             // Update header with current player
             updateHeaderLabel();
@@ -107,7 +127,7 @@ public class StatsView {
      */
     public VBox getView() {
         // Si un joueur est suivi, mais que la vue n'est pas à jour, forcer la mise à jour
-        if (monitoringCoordinator.getCurrentStats() != null && lastDisplayedStats == null) {
+        if (lastDisplayedStats == null) {
             refreshView();
         }
         return root;
@@ -118,7 +138,7 @@ public class StatsView {
      */
     private void updateHeaderLabel() {
         try {
-            String player = monitoringCoordinator.getMonitoredPlayer();
+            String player = displayedPlayer();
             if (player == null || player.isEmpty()) {
                 headerLabel.setText(bundle.getString("stats.title").replace("{0}", ""));
             } else {
@@ -130,118 +150,138 @@ public class StatsView {
     }
 
     /**
-     * Starts the UI update scheduler.
-     * Maintenant configuré pour rafraîchir les données toutes les 12 minutes exactement.
+     * Redessine la vue à chaque nouveau relevé publié par la surveillance, avec l'instantané reçu.
+     * Un relevé d'un autre joueur surveillé ne met à jour que le sélecteur.
      */
-    private void startUiUpdates() {
-        try {
-            LOGGER.info("Starting UI updater");
-
-            if (uiUpdater != null && !uiUpdater.isShutdown()) {
-                uiUpdater.shutdown();
-            }
-
-            // Create a new scheduler
-            uiUpdater = Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "stats-ui-updater");
-                t.setDaemon(true);
-                return t;
-            });
-
-            // Mise à jour complète des stats toutes les 12 minutes
-            uiUpdater.scheduleAtFixedRate(
-                    () -> Platform.runLater(this::refreshView),
-                    0, FETCH_INTERVAL_MINUTES, TimeUnit.MINUTES
-            );
-
-            LOGGER.info("UI updater started successfully with {} minute interval", FETCH_INTERVAL_MINUTES);
-        } catch (Exception e) {
-            LOGGER.error("Error starting UI updater", e);
+    private void onSnapshot(MonitoringSnapshot snapshot) {
+        if (snapshot.playerIdentifier().equals(displayedPlayer())) {
+            render(snapshot);
+        } else {
+            updatePlayerSelector();
         }
     }
 
     /**
-     * Refreshes the entire view.
-     * Mise à jour indépendante des changements des stats.
+     * Refreshes the entire view from the displayed player's current snapshot.
      */
     private void refreshView() {
+        render(monitoringCoordinator.getSnapshot(displayedPlayer()));
+    }
+
+    /**
+     * Redessine la vue à partir d'un seul instantané : stats courantes, stats initiales, début
+     * de session et agrégats proviennent toujours du même relevé.
+     *
+     * @param snapshot l'instantané du joueur affiché, ou null s'il n'est plus surveillé
+     */
+    private void render(MonitoringSnapshot snapshot) {
         try {
             LOGGER.debug("Refreshing view with updated stats");
 
             // Update header text with current player
             updateHeaderLabel();
 
-            // Get the latest data
-            UserStats currentStats = monitoringCoordinator.getCurrentStats();
-            UserStats initialStats = monitoringCoordinator.getInitialStats();
+            updatePlayerSelector();
+            refreshTrend();
 
             // Skip if no data
-            if (currentStats == null) {
+            if (snapshot == null || snapshot.stats() == null) {
                 return;
             }
+            UserStats currentStats = snapshot.stats();
+            UserStats initialStats = snapshot.initialStats();
 
             // Update the general panel
             generalPanel.updateStats(currentStats);
             lastDisplayedStats = currentStats;
 
             // Update session-specific panels if a session is active
-            if (monitoringCoordinator.getSessionStartTime() != null) {
+            if (snapshot.sessionStartTime() != null) {
                 // Définir/mettre à jour le temps de départ pour le timer
-                Instant startTime = monitoringCoordinator.getSessionStartTime();
-                summaryPanel.setSessionStartTime(startTime);
+                summaryPanel.setSessionStartTime(snapshot.sessionStartTime());
 
                 // Update initial stats for trend icons
                 if (initialStats != null) {
                     summaryPanel.setInitialStats(initialStats);
-
-                    // Mettre à jour aussi les stats initiales dans le chart panel
-                    chartPanel.setInitialStats(initialStats);
-                }
-
-                // Get session history
-                List<SessionStats> history = monitoringCoordinator.getSessionHistory();
-
-                // Update chart avec l'historique mis à jour
-                if (!history.isEmpty()) {
-                    chartPanel.setSessionStartTime(startTime);
-                    chartPanel.updateChart(history);
                 }
 
-                // Calculate and update session metrics
-                PlayerMonitoringCoordinator.SessionMetrics metrics =
-                        monitoringCoordinator.calculateSessionMetrics();
-                summaryPanel.updateSessionMetrics(metrics);
+                // Agrégats de session tenus à jour par la surveillance : aucun recalcul ici
+                SessionAggregates aggregates = snapshot.aggregates();
+                chartPanel.updateChart(aggregates);
+                summaryPanel.updateSessionMetrics(aggregates);
             }
         } catch (Exception e) {
             LOGGER.error("Error refreshing view", e);
         }
     }
 
+    /**
+     * Recharge la tendance du joueur affiché si le graphique montre une période sur plusieurs jours.
+     */
+    private void refreshTrend() {
+        PlayerChartPanel.ChartRange range = chartPanel.getRange();
+        if (range.isTrend()) {
+            chartPanel.showTrend(monitoringCoordinator.getStatsTrend(
+                    displayedPlayer(), range.resolution(), range.period()));
+        }
+    }
+
     /**
      * Called from SettingsView when player settings change.
      * Should be called by SettingsView after player monitoring is started.
      */
     public void refreshOnPlayerChange() {
         try {
-            startUiUpdates(); // Restart UI updates
+            // Revenir au joueur principal et repartir d'un graphique vide
+            selectedPlayer = null;
+            chartPanel.reset();
 
-            // Update initial stats for trend calculation
-            UserStats currentStats = monitoringCoordinator.getCurrentStats();
-            UserStats initialStats = monitoringCoordinator.getInitialStats();
+            // Mettre à jour l'affichage complet depuis un seul instantané du joueur principal
+            render(monitoringCoordinator.getSnapshot());
+        } catch (Exception e) {
+            LOGGER.error("Error refreshing on player change", e);
+        }
+    }
 
-            if (initialStats != null) {
-                chartPanel.setInitialStats(initialStats);
-                summaryPanel.setInitialStats(initialStats);
-            }
+    /**
+     * Joueur actuellement affiché : celui sélectionné s'il est toujours surveillé, sinon le joueur principal.
+     */
+    private String displayedPlayer() {
+        if (selectedPlayer != null && monitoringCoordinator.getWatchedPlayers().contains(selectedPlayer)) {
+            return selectedPlayer;
+        }
+        return monitoringCoordinator.getMonitoredPlayer();
+    }
 
-            if (currentStats != null) {
-                lastDisplayedStats = currentStats;
-            }
+    /**
+     * Affiche un autre joueur surveillé.
+     */
+    private void selectPlayer(String player) {
+        selectedPlayer = player;
+        lastDisplayedStats = null;
+        chartPanel.reset();
+        refreshView();
+    }
 
-            // Mettre à jour l'affichage complet
-            refreshView();
-        } catch (Exception e) {
-            LOGGER.error("Error refreshing on player change", e);
+    /**
+     * Met à jour la liste du sélecteur avec les joueurs surveillés.
+     */
+    private void updatePlayerSelector() {
+        List<String> players = monitoringCoordinator.getWatchedPlayers();
+        updatingSelector = true;
+        try {
+            if (!playerSelector.getItems().equals(players)) {
+                playerSelector.getItems().setAll(players);
+            }
+            String displayed = displayedPlayer();
+            if (!Objects.equals(playerSelector.getValue(), displayed)) {
+                playerSelector.setValue(displayed);
+            }
+        } finally {
+            updatingSelector = false;
         }
+        boolean multiple = players.size() > 1;
+        playerSelectorBox.setVisible(multiple);
+        playerSelectorBox.setManaged(multiple);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package fr.antschw.bfv.application.orchestrator;
+
+import fr.antschw.bfv.domain.model.ScanDeadline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanScopeTest {
+
+    @Test
+    void forkAfterCancelNeverRuns() {
+        ScanScope scope = new ScanScope();
+        scope.cancel();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        Future<?> subtask = scope.fork(Runnable::run, () -> ran.getAndSet(true));
+
+        assertTrue(subtask.isCancelled());
+        assertFalse(ran.get());
+        assertEquals(0, scope.pending());
+    }
+
+    @Test
+    void queuedSubtaskCancelledBeforeStartingNeverRuns() {
+        ScanScope scope = new ScanScope();
+        Queue<Runnable> queue = new ArrayDeque<>();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        scope.fork(queue::add, () -> ran.getAndSet(true));
+        scope.cancel();
+        queue.forEach(Runnable::run);
+
+        assertFalse(ran.get());
+        assertEquals(0, scope.pending());
+    }
+
+    @Test
+    void closeWaitsForRunningBodies() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ScanScope scope = new ScanScope();
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicBoolean finished = new AtomicBoolean();
+
+            scope.fork(executor, () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    // Cancelled by close(): keep running a little, as a body cleaning up would
+                    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                }
+                finished.set(true);
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            scope.close();
+
+            assertTrue(finished.get());
+            assertEquals(0, scope.pending());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void joinUntilReturnsFalseAtTheDeadline() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ScanScope scope = new ScanScope()) {
+            CountDownLatch release = new CountDownLatch(1);
+            scope.fork(executor, () -> release.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            boolean stopped = scope.joinUntil(ScanDeadline.after(Duration.ofMillis(100)));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertFalse(stopped);
+            assertTrue(elapsedMillis >= 90, "returned after " + elapsedMillis + " ms");
+            assertEquals(1, scope.pending());
+            release.countDown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void joinUntilReturnsTrueOnceSubtasksHaveStopped() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ScanScope scope = new ScanScope();
+            scope.fork(executor, () -> "done");
+
+            assertTrue(scope.joinUntil(ScanDeadline.after(Duration.ofSeconds(5))));
+            assertEquals(0, scope.pending());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelCancelsTrackedFutures() {
+        ScanScope scope = new ScanScope();
+        CompletableFuture<String> tracked = scope.track(new CompletableFuture<>());
+
+        scope.cancel();
+
+        assertTrue(tracked.isCancelled());
+        assertEquals(0, scope.pending());
+        assertTrue(scope.track(new CompletableFuture<>()).isCancelled());
+    }
+}
@@ -0,0 +1,106 @@
+package fr.antschw.bfv.ui.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LttbTest {
+
+    private static final int SIZE = 1000;
+
+    @Test
+    void keepsEndpoints() {
+        double[] xs = xs(SIZE);
+        double[] ys = wave(SIZE);
+        double[] outX = new double[50];
+        double[] outY = new double[50];
+
+        int count = Lttb.downsample(xs, ys, 0, SIZE, 50, outX, outY);
+
+        assertEquals(xs[0], outX[0]);
+        assertEquals(ys[0], outY[0]);
+        assertEquals(xs[SIZE - 1], outX[count - 1]);
+        assertEquals(ys[SIZE - 1], outY[count - 1]);
+    }
+
+    @Test
+    void writesAtMostThresholdPointsInOrder() {
+        double[] xs = xs(SIZE);
+        double[] ys = wave(SIZE);
+        for (int threshold : new int[]{3, 4, 10, 99, 500, 999}) {
+            // Tableaux de sortie tout juste assez grands : un dépassement lèverait une exception
+            double[] outX = new double[threshold];
+            double[] outY = new double[threshold];
+
+            int count = Lttb.downsample(xs, ys, 100, SIZE, threshold, outX, outY);
+
+            assertTrue(count <= threshold, "threshold " + threshold + " gave " + count + " points");
+            assertEquals(xs[100], outX[0]);
+            for (int i = 1; i < count; i++) {
+                assertTrue(outX[i] > outX[i - 1], "points out of order for threshold " + threshold);
+            }
+        }
+    }
+
+    @Test
+    void passesSmallInputsThrough() {
+        double[] xs = {1, 2, 3, 4, 5};
+        double[] ys = {5, 3, 8, 1, 2};
+        double[] outX = new double[10];
+        double[] outY = new double[10];
+
+        int count = Lttb.downsample(xs, ys, 0, xs.length, 10, outX, outY);
+
+        assertEquals(xs.length, count);
+        assertArrayEquals(xs, Arrays.copyOf(outX, count));
+        assertArrayEquals(ys, Arrays.copyOf(outY, count));
+    }
+
+    @Test
+    void keepsAnIsolatedPeak() {
+        double[] xs = xs(SIZE);
+        double[] ys = new double[SIZE];
+        ys[537] = 100;
+        double[] outX = new double[20];
+        double[] outY = new double[20];
+
+        int count = Lttb.downsample(xs, ys, 0, SIZE, 20, outX, outY);
+
+        boolean peakKept = false;
+        for (int i = 0; i < count; i++) {
+            peakKept |= outX[i] == 537 && outY[i] == 100;
+        }
+        assertTrue(peakKept);
+    }
+
+    @Test
+    void rejectsThresholdBelowThree() {
+        double[] xs = xs(10);
+        double[] ys = wave(10);
+        double[] outX = new double[2];
+        double[] outY = new double[2];
+
+        assertThrows(IllegalArgumentException.class, () -> Lttb.downsample(xs, ys, 0, 10, 2, outX, outY));
+    }
+
+    private static double[] xs(int size) {
+        double[] xs = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = i;
+        }
+        return xs;
+    }
+
+    private static double[] wave(int size) {
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            ys[i] = Math.sin(i / 20.0) * 10 + (i % 7);
+        }
+        return ys;
+    }
+}